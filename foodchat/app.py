@@ -1,4 +1,5 @@
 import os
+import hashlib
 import numpy as np
 import pandas as pd
 import tensorflow as tf
@@ -17,19 +18,35 @@ CORS(app)
 import warnings
 warnings.filterwarnings('ignore', category=UserWarning)
 
+MODEL_FILES = ['food_recommendation_model.h5', 'label_encoder.joblib',
+               'model_columns.joblib', 'food_price_map.joblib']
+
+def compute_model_version():
+    """모델/전처리기 파일 내용으로 버전 해시를 만듭니다. (Java 쪽 추천 캐시 무효화용)"""
+    digest = hashlib.md5()
+    for path in MODEL_FILES:
+        with open(path, 'rb') as f:
+            digest.update(f.read())
+    return digest.hexdigest()[:12]
+
+model_version = None
+
 try:
     print("🧠 AI 추천 모델과 전처리기를 로딩합니다...")
     model = tf.keras.models.load_model('food_recommendation_model.h5')
     le = joblib.load('label_encoder.joblib')
     model_columns = joblib.load('model_columns.joblib')
     food_price_range_map = joblib.load('food_price_map.joblib')
-    print("✅ AI 추천 모델 로딩 완료!")
+    column_index = {column: i for i, column in enumerate(model_columns)}
+    model_version = compute_model_version()
+    print(f"✅ AI 추천 모델 로딩 완료! (버전: {model_version})")
 except Exception as e:
     print(f"❌ AI 추천 모델 로딩 중 치명적 오류 발생: {e}")
     model = None
 
 # --- 2. 추천 로직 함수 (수정됨) ---
-def recommend_food_logic(data):
+def build_feature_row(data):
+    """Java에서 받은 사용자 정보 한 건을 모델 입력(원-핫) 한 행으로 변환합니다."""
     # Java에서 받은 데이터의 키를 모델이 학습한 한글 컬럼명으로 변환
     key_map = {
         "gender": "성별", "ageGroup": "나이대", "region": "지역",
@@ -37,22 +54,25 @@ def recommend_food_logic(data):
     }
     korean_data = {key_map.get(k, k): v for k, v in data.items()}
 
-    processed_df = pd.DataFrame(0, index=[0], columns=model_columns)
+    row = np.zeros(len(model_columns), dtype=np.float32)
     
     for feature in ["성별", "나이대", "지역", "선호카테고리"]:
         value = korean_data.get(feature)
         if value:
             column_name = f"{feature}_{value}"
-            if column_name in processed_df.columns:
-                processed_df.loc[0, column_name] = 1.0
+            if column_name in column_index:
+                row[column_index[column_name]] = 1.0
     
     fav_categories = korean_data.get("좋아하는카테고리")
     if fav_categories and isinstance(fav_categories, list):
         for category in fav_categories:
-            if category in processed_df.columns:
-                processed_df.loc[0, category] = 1.0
-    
-    prediction_probs = model.predict(processed_df.astype(np.float32), verbose=0)[0]
+            if category in column_index:
+                row[column_index[category]] = 1.0
+
+    return row
+
+def build_response(prediction_probs):
+    """예측 확률 한 행을 /recommend 응답 형식으로 변환합니다."""
     top_5_indices = np.argsort(prediction_probs)[::-1][:5]
     top_5_foods = le.inverse_transform(top_5_indices)
     
@@ -79,13 +99,25 @@ def recommend_food_logic(data):
             
     return response
 
+def recommend_food_batch(profiles):
+    """여러 사용자 정보를 한 번의 model.predict로 추천합니다. (같은 프로필은 한 번만 계산)"""
+    rows = np.stack([build_feature_row(data) for data in profiles])
+    unique_rows, inverse = np.unique(rows, axis=0, return_inverse=True)
+    prediction_probs = model.predict(pd.DataFrame(unique_rows, columns=model_columns), verbose=0)
+    unique_responses = [build_response(probs) for probs in prediction_probs]
+    return [unique_responses[i] for i in np.ravel(inverse)]
+
+def recommend_food_logic(data):
+    return recommend_food_batch([data])[0]
+
 # --- 3. API 엔드포인트 ---
 @app.route('/', methods=['GET'])
 def health_check():
     return jsonify({
         'status': 'success',
         'message': 'ChatFood Python AI Server is running!',
-        'model_loaded': model is not None
+        'model_loaded': model is not None,
+        'model_version': model_version
     })
 
 @app.route('/recommend', methods=['POST'])
@@ -103,6 +135,22 @@ def recommend_api():
         print(f"❌ 추천 처리 중 오류 발생: {e}")
         return jsonify({'error': '서버 내부 오류가 발생했습니다.'}), 500
 
+@app.route('/recommend/batch', methods=['POST'])
+def recommend_batch_api():
+    if model is None:
+        return jsonify({'error': '모델이 로드되지 않았습니다.'}), 500
+    try:
+        data = request.get_json()
+        profiles = data.get('profiles') if isinstance(data, dict) else None
+        if not isinstance(profiles, list) or not profiles:
+            return jsonify({'error': '잘못된 요청입니다: profiles 목록이 없습니다.'}), 400
+
+        results = recommend_food_batch(profiles)
+        return jsonify({'status': 'success', 'results': results})
+    except Exception as e:
+        print(f"❌ 일괄 추천 처리 중 오류 발생: {e}")
+        return jsonify({'error': '서버 내부 오류가 발생했습니다.'}), 500
+
 # --- 4. 서버 실행 ---
 if __name__ == '__main__':
     port = int(os.environ.get('PORT', 5000))
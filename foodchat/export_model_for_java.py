@@ -0,0 +1,134 @@
+"""
+학습된 추천 모델을 Java(Spring) 쪽 인메모리 추론 엔진이 읽을 수 있는 형식으로 내보냅니다.
+
+출력 (기본: ./java_model/)
+- food_model.bin       : Dense 레이어 가중치 (big-endian)
+    magic "CFM1", int 레이어 수,
+    레이어마다: int 입력 수, int 출력 수, byte 활성화(0=linear, 1=relu, 2=softmax),
+               float32 가중치[입력][출력], float32 편향[출력]
+- food_model_meta.json : 입력 컬럼 순서, 라벨(음식) 목록, 가격 정보, 모델 버전
+- food_model_golden.json : 샘플 프로필별 Keras 추론 결과 (Java 추론 결과와 비교하는 테스트용)
+
+사용법: python export_model_for_java.py [출력 디렉터리]
+"""
+import os
+import sys
+import json
+import struct
+import hashlib
+
+import numpy as np
+import tensorflow as tf
+import joblib
+
+os.environ['TF_CPP_MIN_LOG_LEVEL'] = '2'
+
+MODEL_FILES = ['food_recommendation_model.h5', 'label_encoder.joblib',
+               'model_columns.joblib', 'food_price_map.joblib']
+ACTIVATIONS = {'linear': 0, 'relu': 1, 'softmax': 2}
+GOLDEN_CASES = 64
+
+
+def compute_model_version():
+    """app.py와 같은 방식으로 모델 버전 해시를 만듭니다."""
+    digest = hashlib.md5()
+    for path in MODEL_FILES:
+        with open(path, 'rb') as f:
+            digest.update(f.read())
+    return digest.hexdigest()[:12]
+
+
+def export(output_dir):
+    os.makedirs(output_dir, exist_ok=True)
+
+    model = tf.keras.models.load_model('food_recommendation_model.h5')
+    le = joblib.load('label_encoder.joblib')
+    model_columns = joblib.load('model_columns.joblib')
+    food_price_range_map = joblib.load('food_price_map.joblib')
+
+    # Dropout 등 추론 시 영향 없는 레이어는 건너뛰고 Dense만 내보냅니다.
+    dense_layers = [layer for layer in model.layers if isinstance(layer, tf.keras.layers.Dense)]
+
+    with open(os.path.join(output_dir, 'food_model.bin'), 'wb') as f:
+        f.write(b'CFM1')
+        f.write(struct.pack('>i', len(dense_layers)))
+        for layer in dense_layers:
+            weights, bias = layer.get_weights()
+            activation = layer.get_config()['activation']
+            if activation not in ACTIVATIONS:
+                raise ValueError(f"지원하지 않는 활성화 함수: {activation}")
+            f.write(struct.pack('>iib', weights.shape[0], weights.shape[1], ACTIVATIONS[activation]))
+            f.write(weights.astype('>f4').tobytes(order='C'))
+            f.write(bias.astype('>f4').tobytes(order='C'))
+
+    meta = {
+        'model_version': compute_model_version(),
+        'columns': [str(c) for c in model_columns],
+        'labels': [str(label) for label in le.classes_],
+        'price_map': {str(food): [int(p[0]), int(p[1])] for food, p in food_price_range_map.items()},
+    }
+    with open(os.path.join(output_dir, 'food_model_meta.json'), 'w', encoding='utf-8') as f:
+        json.dump(meta, f, ensure_ascii=False, indent=2)
+
+    golden = export_golden(model, le, model_columns, meta['model_version'])
+    with open(os.path.join(output_dir, 'food_model_golden.json'), 'w', encoding='utf-8') as f:
+        json.dump(golden, f, ensure_ascii=False, indent=2)
+
+    print(f"✅ 내보내기 완료: {output_dir} (레이어 {len(dense_layers)}개, 버전 {meta['model_version']}, "
+          f"골든 케이스 {len(golden['cases'])}개)")
+
+
+def golden_profiles(model_columns):
+    """컬럼 이름에서 성별/나이대/지역/선호카테고리 값을 모아 골고루 섞은 샘플 프로필을 만듭니다."""
+    values = {'성별': [], '나이대': [], '지역': [], '선호카테고리': []}
+    fav_categories = []
+    for column in map(str, model_columns):
+        prefix, _, value = column.partition('_')
+        if value and prefix in values:
+            values[prefix].append(value)
+        else:
+            fav_categories.append(column)
+
+    def pick(options, i):
+        return options[i % len(options)] if options else None
+
+    # 항목마다 다른 주기로 값을 바꿔 적은 케이스로도 값이 고르게 섞이도록
+    profiles = []
+    for i in range(GOLDEN_CASES):
+        favs = [fav_categories[(i + k) % len(fav_categories)] for k in range(i % 3)] if fav_categories else []
+        profiles.append({'gender': pick(values['성별'], i), 'ageGroup': pick(values['나이대'], i // 2),
+                         'region': pick(values['지역'], i // 3), 'prefCategory': pick(values['선호카테고리'], i // 5),
+                         'favCategories': favs})
+    return profiles
+
+
+def encode(profile, column_index, size):
+    """app.py의 build_feature_row와 같은 원-핫 인코딩"""
+    row = np.zeros(size, dtype=np.float32)
+    for feature, key in (('성별', 'gender'), ('나이대', 'ageGroup'), ('지역', 'region'), ('선호카테고리', 'prefCategory')):
+        value = profile.get(key)
+        if value and f"{feature}_{value}" in column_index:
+            row[column_index[f"{feature}_{value}"]] = 1.0
+    for category in profile.get('favCategories') or []:
+        if category in column_index:
+            row[column_index[category]] = 1.0
+    return row
+
+
+def export_golden(model, le, model_columns, model_version):
+    """샘플 프로필별 출력 확률과 app.py의 build_response와 같은 방식의 추천 음식(최대 3개)을 저장합니다."""
+    column_index = {str(column): i for i, column in enumerate(model_columns)}
+    profiles = golden_profiles(model_columns)
+    rows = np.stack([encode(p, column_index, len(model_columns)) for p in profiles])
+    probabilities = model.predict(rows, verbose=0)
+
+    cases = []
+    for profile, probs in zip(profiles, probabilities):
+        top_5 = le.inverse_transform(np.argsort(probs)[::-1][:5])
+        foods = [str(food) for food in top_5 if food != "선택안함"][:3]
+        cases.append({'profile': profile, 'probabilities': [float(p) for p in probs], 'foods': foods})
+    return {'model_version': model_version, 'cases': cases}
+
+
+if __name__ == '__main__':
+    export(sys.argv[1] if len(sys.argv) > 1 else 'java_model')
@@ -0,0 +1,62 @@
+package com.chatfood;
+
+import com.chatfood.dto.ConversationHistory;
+
+import java.util.List;
+
+/**
+ * 벤치마크용 대화 데이터
+ * 실제 채팅 로그와 비슷한 길이/형식의 한국어 메시지로 사용자/AI가 번갈아 나오는 히스토리를 만듭니다.
+ */
+public final class BenchmarkData {
+
+    public static final String PROMPT_PROFILE = "나이: 20대, 성별: 여성, 지역: 서울, 선호카테고리: 한식";
+
+    public static final String USER_MESSAGE = "오늘은 좀 가볍게 먹고 싶은데 국물 있는 걸로 추천해줄래?";
+
+    public static final String GPT_REPLY =
+            "국물이 있으면서 가벼운 음식으로는 순두부찌개, 잔치국수, 맑은 콩나물국밥이 좋아요! 어떤 게 더 끌리시나요?";
+
+    private static final String[] USER_TURNS = {
+            "점심 뭐 먹을지 고민이야",
+            "가볍게 먹고싶어",
+            "밥류가 먹고싶어",
+            "점심메뉴에 적합한걸로",
+            "찾기 쉬운 음식으로",
+            "국물이 있는걸로",
+            "매운 건 별로야",
+            "회사 근처에서 혼자 먹을 거야",
+    };
+
+    private static final String[] AI_TURNS = {
+            "점심 고민되시죠! 오늘은 한식, 분식, 양식 중에 어떤 쪽이 끌리세요?",
+            "가벼운 음식 좋네요! 샐러드, 순두부찌개, 비빔국수 중에 어떤 게 끌리시나요?",
+            "밥류로는 비빔밥, 김치볶음밥, 주먹밥이 가볍게 먹기 좋을 것 같아요. 어떤 걸 시도해보고 싶으세요?",
+            "점심에 딱 좋은 음식들이에요! 김치찌개, 비빔밥, 된장찌개 중에서 어떤 게 땡기시나요?",
+            "어디서든 쉽게 찾을 수 있는 음식들이에요! 김밥, 라면, 돈까스는 어떠세요?",
+            "국물이 시원한 음식들이에요! 김치찌개, 냉면, 우동 중에 어떤 게 좋으실까요?",
+            "맵지 않은 국물 요리로는 곰탕, 갈비탕, 잔치국수를 추천드려요!",
+            "혼밥하기 좋은 메뉴로 제육덮밥, 돈까스, 쌀국수는 어떠세요?",
+    };
+
+    public static final List<String> FOOD_NAMES = List.of("김치찌개", "비빔밥", "제육볶음");
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * 사용자/AI 메시지가 번갈아 나오는 히스토리 (messages개, 용량도 messages개)
+     */
+    public static ConversationHistory history(int messages) {
+        ConversationHistory history = new ConversationHistory(messages);
+        for (int i = 0; i < messages; i++) {
+            int turn = (i / 2) % USER_TURNS.length;
+            if (i % 2 == 0) {
+                history.add(ConversationHistory.ROLE_USER, USER_TURNS[turn]);
+            } else {
+                history.add(ConversationHistory.ROLE_ASSISTANT, AI_TURNS[turn]);
+            }
+        }
+        return history;
+    }
+}
@@ -0,0 +1,74 @@
+package com.chatfood.controller;
+
+import com.chatfood.BenchmarkData;
+import com.chatfood.dto.ChatResponse;
+import com.chatfood.dto.ConversationOption;
+import com.chatfood.dto.ConversationResponse;
+import com.chatfood.dto.Recommendation;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 채팅 응답 변환/직렬화 벤치마크
+ * - ConversationResponse → ChatResponse 변환 (convertToChatResponse)
+ * - ChatResponse JSON 직렬화 (초기 추천 응답 크기: 대화 추천 3개 + Python AI 추천 3개 + 분기 시간)
+ */
+@State(Scope.Benchmark)
+public class ChatResponseBenchmark {
+
+    private ChatFoodController controller;
+    private ConversationResponse conversationResponse;
+    private ChatResponse chatResponse;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        // 변환에는 서비스 의존성을 쓰지 않음
+        controller = new ChatFoodController(null, null, null);
+
+        conversationResponse = new ConversationResponse();
+        conversationResponse.setReply(BenchmarkData.GPT_REPLY);
+        conversationResponse.setConversationType("initial_hybrid");
+        conversationResponse.setRecommendations(recommendations("순두부찌개", "잔치국수", "콩나물국밥"));
+        conversationResponse.setPythonRecommendations(recommendations("김치찌개", "비빔밥", "제육볶음"));
+        conversationResponse.getOptions().add(new ConversationOption("대화하기", "start_conversation", "대화하기", "conversation"));
+        conversationResponse.getOptions().add(new ConversationOption("다른 음식 보기", "more_recommendations", "다른 음식 보기", "continue"));
+        Map<String, Long> branchTimings = new LinkedHashMap<>();
+        branchTimings.put("pythonAi", 42L);
+        branchTimings.put("gpt", 1210L);
+        conversationResponse.setBranchTimings(branchTimings);
+        conversationResponse.setFirstCompletedBranch("pythonAi");
+
+        chatResponse = controller.convertToChatResponse(conversationResponse);
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    @Benchmark
+    public ChatResponse convertToChatResponse() {
+        return controller.convertToChatResponse(conversationResponse);
+    }
+
+    @Benchmark
+    public byte[] serializeChatResponse() throws Exception {
+        return objectMapper.writeValueAsBytes(chatResponse);
+    }
+
+    private static List<Recommendation> recommendations(String... foodNames) {
+        List<Recommendation> recommendations = new ArrayList<>();
+        int price = 8000;
+        for (String foodName : foodNames) {
+            recommendations.add(new Recommendation(foodName, price, price + 2000));
+            price += 1000;
+        }
+        return recommendations;
+    }
+}
@@ -0,0 +1,105 @@
+package com.chatfood.service;
+
+import com.chatfood.BenchmarkData;
+import com.chatfood.dto.ConversationContext;
+import com.chatfood.dto.ConversationHistory;
+import com.chatfood.dto.Recommendation;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * GPTConversationService 내부 처리 벤치마크
+ * - 프롬프트 구성 (callGPTAPI가 요청마다 하는 buildGPTRequest, 히스토리 압축 포함)
+ * - 히스토리 링 버퍼 → GPT 메시지 변환
+ * - 히스토리 이진 직렬화/역직렬화 (DB 저장, 세션 복제용 형식)
+ * - 음식 이름 → Recommendation 변환
+ * - GPTRequest JSON 직렬화
+ * - 대화 컨텍스트 누적 (최대 히스토리 수 제한 포함)
+ *
+ * historySize: 짧은 대화(4) / 긴 대화(40 = chat.context.max-history)
+ */
+@State(Scope.Benchmark)
+public class ConversationServiceBenchmark {
+
+    @Param({"4", "40"})
+    private int historySize;
+
+    private GPTConversationService service;
+    private ConversationHistory history;
+    private byte[] serializedHistory;
+    private GPTConversationService.GPTRequest request;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        FoodNameExtractor foodNameExtractor = new FoodNameExtractor();
+        ConversationHistoryCompactor compactor = new ConversationHistoryCompactor(foodNameExtractor, 2500, 6, 600);
+        // 프롬프트 구성/변환에 쓰지 않는 원격 호출 의존성은 null
+        service = new GPTConversationService(null, foodNameExtractor, null, compactor, null,
+                null, null, null, null, 15000, 10000, null);
+        history = BenchmarkData.history(historySize);
+        serializedHistory = history.toByteArray();
+        request = service.buildGPTRequest(BenchmarkData.USER_MESSAGE, BenchmarkData.PROMPT_PROFILE, newContext());
+        // 스프링 MVC가 쓰는 것과 같은 설정의 ObjectMapper
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    @Benchmark
+    public GPTConversationService.GPTRequest buildPrompt() {
+        // 압축이 컨텍스트를 바꾸므로 매번 새 컨텍스트 사용 (히스토리 복사 비용 포함)
+        return service.buildGPTRequest(BenchmarkData.USER_MESSAGE, BenchmarkData.PROMPT_PROFILE, newContext());
+    }
+
+    @Benchmark
+    public List<GPTConversationService.GPTMessage> parseHistory() {
+        List<GPTConversationService.GPTMessage> messages = new ArrayList<>(history.size());
+        GPTConversationService.appendHistoryMessages(messages, history);
+        return messages;
+    }
+
+    @Benchmark
+    public byte[] serializeHistory() {
+        return history.toByteArray();
+    }
+
+    @Benchmark
+    public ConversationHistory deserializeHistory() {
+        return ConversationHistory.fromByteArray(serializedHistory);
+    }
+
+    @Benchmark
+    public List<Recommendation> convertToRecommendations() {
+        return service.convertToRecommendations(BenchmarkData.FOOD_NAMES);
+    }
+
+    @Benchmark
+    public byte[] serializeGptRequest() throws Exception {
+        return objectMapper.writeValueAsBytes(request);
+    }
+
+    @Benchmark
+    public ConversationContext contextGrowth() {
+        ConversationContext context = new ConversationContext("session", "user@example.com");
+        context.setMaxHistorySize(40);
+        history.forEach(context::addToHistory);
+        // 한 턴(사용자 + AI) 더 추가해 최대 크기에서 덮어쓰는 비용 포함
+        context.addToHistory(ConversationHistory.ROLE_USER, BenchmarkData.USER_MESSAGE);
+        context.addToHistory(ConversationHistory.ROLE_ASSISTANT, BenchmarkData.GPT_REPLY);
+        context.estimateSizeInBytes();
+        return context;
+    }
+
+    private ConversationContext newContext() {
+        ConversationContext context = new ConversationContext("session", "user@example.com");
+        context.setConversationHistory(history.copy(historySize));
+        return context;
+    }
+}
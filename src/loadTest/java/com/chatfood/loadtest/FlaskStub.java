@@ -0,0 +1,72 @@
+package com.chatfood.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Flask 추천 서버 스텁
+ * - GET /               : 상태 확인 (model_version 포함)
+ * - POST /recommend     : 추천 3개
+ * - POST /recommend/batch : {"profiles": [...]} 순서대로 results 응답
+ * 배치 요청도 지연은 한 번만 적용합니다 (실제 서버가 한 번의 추론으로 처리하는 것과 같게).
+ */
+class FlaskStub extends StubServer {
+
+    private static final List<String> FOODS = List.of(
+            "김치찌개", "비빔밥", "제육볶음", "순두부찌개", "된장찌개", "김밥", "라면", "돈까스", "불고기", "냉면");
+
+    private final LatencyModel latency;
+
+    FlaskStub(LatencyModel latency) throws IOException {
+        this.latency = latency;
+        handle("/", this::route);
+    }
+
+    private void route(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        if ("GET".equals(exchange.getRequestMethod()) && "/".equals(path)) {
+            sendJson(exchange, 200, Map.of("status", "ok", "model_version", "loadtest-1"));
+            return;
+        }
+        if (!"POST".equals(exchange.getRequestMethod())
+                || !("/recommend".equals(path) || "/recommend/batch".equals(path))) {
+            sendJson(exchange, 404, Map.of("status", "error", "message", "not found"));
+            return;
+        }
+
+        JsonNode request = OBJECT_MAPPER.readTree(exchange.getRequestBody());
+        sleep(latency.sampleMillis());
+        if (latency.sampleError()) {
+            sendJson(exchange, 500, Map.of("status", "error", "message", "model error"));
+            return;
+        }
+
+        if ("/recommend".equals(path)) {
+            sendJson(exchange, 200, recommend());
+            return;
+        }
+        List<Object> results = new ArrayList<>();
+        for (int i = 0; i < request.path("profiles").size(); i++) {
+            results.add(recommend());
+        }
+        sendJson(exchange, 200, Map.of("status", "success", "results", results));
+    }
+
+    private static Map<String, Object> recommend() {
+        List<String> foods = new ArrayList<>(FOODS);
+        Collections.shuffle(foods);
+        List<Object> recommendations = new ArrayList<>();
+        int price = 7000;
+        for (String food : foods.subList(0, 3)) {
+            recommendations.add(Map.of("food_name", food, "price_min", price, "price_max", price + 3000));
+            price += 1000;
+        }
+        return Map.of("status", "success", "recommendations", recommendations);
+    }
+}
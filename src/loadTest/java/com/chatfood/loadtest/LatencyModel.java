@@ -0,0 +1,42 @@
+package com.chatfood.loadtest;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 스텁 응답 지연/에러 모델
+ * 지연은 중앙값과 p99로 정한 로그정규분포를 따르며 (실제 API 지연처럼 오른쪽 꼬리가 긴 분포),
+ * errorRate 확률로 에러 응답을 보냅니다.
+ */
+public final class LatencyModel {
+
+    // 표준정규분포의 99번째 백분위수
+    private static final double Z_99 = 2.326;
+
+    private final double medianMillis;
+    private final double p99Millis;
+    private final double sigma;
+    private final double errorRate;
+
+    public LatencyModel(double medianMillis, double p99Millis, double errorRate) {
+        this.medianMillis = medianMillis;
+        this.p99Millis = Math.max(p99Millis, medianMillis);
+        this.sigma = medianMillis > 0 ? Math.log(this.p99Millis / medianMillis) / Z_99 : 0;
+        this.errorRate = errorRate;
+    }
+
+    public long sampleMillis() {
+        if (medianMillis <= 0) {
+            return 0;
+        }
+        return Math.round(medianMillis * Math.exp(sigma * ThreadLocalRandom.current().nextGaussian()));
+    }
+
+    public boolean sampleError() {
+        return errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate;
+    }
+
+    @Override
+    public String toString() {
+        return "p50=" + (long) medianMillis + "ms/p99=" + (long) p99Millis + "ms/error=" + errorRate;
+    }
+}
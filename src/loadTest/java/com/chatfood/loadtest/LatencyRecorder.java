@@ -0,0 +1,100 @@
+package com.chatfood.loadtest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 엔드포인트별 응답 시간 기록
+ * 측정 구간(start ~ stop)에 들어온 요청만 기록하고, 끝난 뒤 전체 샘플을 정렬해 정확한 백분위수를 계산합니다.
+ * (부하 테스트 한 번의 샘플 수는 수십만 건 이하라 히스토그램 없이 원본 값을 그대로 보관)
+ */
+class LatencyRecorder {
+
+    private final Map<String, EndpointSamples> endpoints = new ConcurrentHashMap<>();
+    private volatile boolean recording;
+    private volatile long startedAt;
+    private volatile long stoppedAt;
+
+    void start() {
+        startedAt = System.nanoTime();
+        recording = true;
+    }
+
+    void stop() {
+        recording = false;
+        stoppedAt = System.nanoTime();
+    }
+
+    void record(String endpoint, long elapsedNanos, boolean success) {
+        if (!recording) {
+            return;
+        }
+        endpoints.computeIfAbsent(endpoint, key -> new EndpointSamples()).add(elapsedNanos, success);
+    }
+
+    /**
+     * 엔드포인트별 결과 (이름순)
+     */
+    List<Result> results() {
+        double seconds = Math.max(1e-9, (stoppedAt - startedAt) / 1e9);
+        List<Result> results = new ArrayList<>();
+        new TreeMap<>(endpoints).forEach((endpoint, samples) -> results.add(samples.summarize(endpoint, seconds)));
+        return results;
+    }
+
+    record Result(String endpoint, int count, int errors, double throughputPerSecond,
+                  double p50Millis, double p99Millis, double p999Millis, double maxMillis) {
+
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("endpoint", endpoint);
+            map.put("count", count);
+            map.put("errors", errors);
+            map.put("throughputPerSecond", throughputPerSecond);
+            map.put("p50Ms", p50Millis);
+            map.put("p99Ms", p99Millis);
+            map.put("p999Ms", p999Millis);
+            map.put("maxMs", maxMillis);
+            return map;
+        }
+    }
+
+    private static final class EndpointSamples {
+
+        private long[] nanos = new long[1024];
+        private int count;
+        private int errors;
+
+        synchronized void add(long elapsedNanos, boolean success) {
+            if (count == nanos.length) {
+                nanos = Arrays.copyOf(nanos, count * 2);
+            }
+            nanos[count++] = elapsedNanos;
+            if (!success) {
+                errors++;
+            }
+        }
+
+        synchronized Result summarize(String endpoint, double seconds) {
+            long[] sorted = Arrays.copyOf(nanos, count);
+            Arrays.sort(sorted);
+            return new Result(endpoint, count, errors, count / seconds,
+                    percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 0.999),
+                    count == 0 ? 0 : sorted[count - 1] / 1e6);
+        }
+
+        // nearest-rank 방식
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(quantile * sorted.length);
+            return sorted[Math.max(0, rank - 1)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.chatfood.loadtest;
+
+import java.time.Duration;
+
+/**
+ * 부하 테스트 설정 (시스템 프로퍼티 loadtest.*)
+ * 예) ./gradlew loadTest -Dloadtest.users=100 -Dloadtest.duration-s=120 -Dloadtest.openai.error-rate=0.05
+ */
+public final class LoadTestConfig {
+
+    // 동시 가상 사용자 수, 측정 시간, 측정 전 워밍업 시간
+    final int users = intProperty("loadtest.users", 20);
+    final Duration duration = Duration.ofSeconds(intProperty("loadtest.duration-s", 60));
+    final Duration warmup = Duration.ofSeconds(intProperty("loadtest.warmup-s", 10));
+
+    // 세션당 대화 턴 수 범위, 턴 사이 생각 시간, 스트리밍(/chat/stream)으로 보낼 턴 비율
+    final int minTurns = intProperty("loadtest.min-turns", 3);
+    final int maxTurns = intProperty("loadtest.max-turns", 6);
+    final Duration thinkTime = Duration.ofMillis(intProperty("loadtest.think-ms", 500));
+    final double streamRatio = doubleProperty("loadtest.stream-ratio", 0.3);
+
+    // OpenAI 스텁: 응답 지연(중앙값/p99), 스트리밍 토큰 간격, 에러율(500/429)
+    final LatencyModel openAiLatency = new LatencyModel(
+            intProperty("loadtest.openai.latency-p50-ms", 800),
+            intProperty("loadtest.openai.latency-p99-ms", 3000),
+            doubleProperty("loadtest.openai.error-rate", 0.01));
+    final int openAiTokenIntervalMillis = intProperty("loadtest.openai.token-interval-ms", 30);
+
+    // Flask 스텁: 응답 지연(중앙값/p99), 에러율(500)
+    final LatencyModel flaskLatency = new LatencyModel(
+            intProperty("loadtest.flask.latency-p50-ms", 40),
+            intProperty("loadtest.flask.latency-p99-ms", 250),
+            doubleProperty("loadtest.flask.error-rate", 0.01));
+
+    // 앱을 가상 스레드 모드(spring.threads.virtual.enabled)로 기동할지 (Java 21 이상)
+    final boolean virtualThreads = Boolean.parseBoolean(System.getProperty("loadtest.virtual-threads", "false"));
+
+    // 결과(JSON) 저장 위치
+    final String reportDir = System.getProperty("loadtest.report-dir", "build/results/loadtest");
+
+    private static int intProperty(String key, int defaultValue) {
+        return Integer.parseInt(System.getProperty(key, Integer.toString(defaultValue)));
+    }
+
+    private static double doubleProperty(String key, double defaultValue) {
+        return Double.parseDouble(System.getProperty(key, Double.toString(defaultValue)));
+    }
+
+    @Override
+    public String toString() {
+        return "users=" + users + ", duration=" + duration.toSeconds() + "s, warmup=" + warmup.toSeconds()
+                + "s, turns=" + minTurns + "~" + maxTurns + ", think=" + thinkTime.toMillis()
+                + "ms, streamRatio=" + streamRatio + ", virtualThreads=" + virtualThreads + ", openai=" + openAiLatency + ", flask=" + flaskLatency;
+    }
+}
@@ -0,0 +1,156 @@
+package com.chatfood.loadtest;
+
+import com.chatfood.ChatFoodApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 오프라인 부하 테스트 실행기 - ./gradlew loadTest
+ *
+ * 1. 루프백 주소에 OpenAI/Flask 스텁 서버를 띄우고
+ * 2. 앱을 스텁 주소와 인메모리 H2로 임의 포트에 기동한 뒤
+ * 3. 가상 사용자(loadtest.users)마다 계정을 만들어 로그인 → 초기 추천 → 3~6턴 대화 흐름을 반복시킵니다.
+ * 워밍업(loadtest.warmup-s) 이후 측정 구간(loadtest.duration-s)의 엔드포인트별 처리량과 p50/p99/p999를
+ * 표로 출력하고 {report-dir}/results.json으로 저장합니다. 외부 네트워크를 쓰지 않습니다.
+ */
+public final class LoadTestRunner {
+
+    private static final String PASSWORD = "loadtest1234";
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = new LoadTestConfig();
+        System.out.println("[loadtest] " + config);
+
+        OpenAiStub openAi = new OpenAiStub(config.openAiLatency, config.openAiTokenIntervalMillis);
+        FlaskStub flask = new FlaskStub(config.flaskLatency);
+        openAi.start();
+        flask.start();
+
+        ConfigurableApplicationContext app = null;
+        try {
+            app = new SpringApplicationBuilder(ChatFoodApplication.class)
+                    .properties(appProperties(config, openAi.baseUrl(), flask.baseUrl()))
+                    .run(args);
+            String baseUrl = "http://127.0.0.1:" + app.getEnvironment().getProperty("local.server.port");
+            System.out.println("[loadtest] app=" + baseUrl + ", openai=" + openAi.baseUrl() + ", flask=" + flask.baseUrl());
+
+            List<String> emails = registerUsers(baseUrl, config.users);
+            LatencyRecorder recorder = run(baseUrl, emails, config);
+            report(config, recorder.results());
+        } finally {
+            if (app != null) {
+                app.close();
+            }
+            openAi.stop();
+            flask.stop();
+        }
+    }
+
+    private static Map<String, Object> appProperties(LoadTestConfig config, String openAiUrl, String flaskUrl) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("server.port", 0);
+        properties.put("spring.threads.virtual.enabled", config.virtualThreads);
+        properties.put("openai.api.base-url", openAiUrl + "/v1");
+        properties.put("openai.api.key", "loadtest");
+        properties.put("python.ai.server.url", flaskUrl);
+        // 로컬 모델 대신 Flask 스텁을 거치도록 원격 엔진 고정
+        properties.put("recommendation.engine", "remote");
+        properties.put("spring.datasource.url", "jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1");
+        properties.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+        properties.put("spring.jpa.show-sql", false);
+        // 가상 사용자가 모두 같은 루프백 주소에서 빠르게 요청하므로 허용 제어 예산은 사실상 무제한
+        // (필터는 그대로 거치게 두어 확인 비용은 측정에 포함)
+        for (String budget : List.of("chat", "initial")) {
+            for (String scope : List.of("session", "ip", "global")) {
+                properties.put("admission." + budget + "." + scope + ".rate-per-second", 1_000_000);
+                properties.put("admission." + budget + "." + scope + ".burst", 1_000_000);
+            }
+        }
+        // 요청 로그가 측정에 끼어들지 않도록 경고 이상만 출력
+        properties.put("logging.level.root", "WARN");
+        properties.put("logging.level.com.chatfood", "WARN");
+        return properties;
+    }
+
+    private static List<String> registerUsers(String baseUrl, int users) throws Exception {
+        HttpClient client = HttpClient.newHttpClient();
+        List<String> emails = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            String email = "loadtest" + i + "@chatfood.local";
+            String body = "{\"name\":\"부하테스트" + i + "\",\"email\":\"" + email + "\",\"password\":\"" + PASSWORD + "\","
+                    + "\"gender\":\"" + (i % 2 == 0 ? "남성" : "여성") + "\",\"likeCategory\":\"한식\","
+                    + "\"oftenCategory\":\"찌개\",\"age\":\"" + (20 + i % 40) + "\",\"region\":\"서울\","
+                    + "\"choiceFood\":\"김치찌개\"}";
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/users/register"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build(), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("회원가입 실패 (" + response.statusCode() + "): " + response.body());
+            }
+            emails.add(email);
+        }
+        return emails;
+    }
+
+    private static LatencyRecorder run(String baseUrl, List<String> emails, LoadTestConfig config) throws InterruptedException {
+        LatencyRecorder recorder = new LatencyRecorder();
+        long deadline = System.nanoTime() + config.warmup.toNanos() + config.duration.toNanos();
+        ExecutorService users = Executors.newFixedThreadPool(emails.size());
+        for (String email : emails) {
+            users.execute(new VirtualUser(baseUrl, email, PASSWORD, config, recorder, deadline));
+        }
+
+        Thread.sleep(config.warmup.toMillis());
+        System.out.println("[loadtest] 워밍업 종료, " + config.duration.toSeconds() + "초 측정 시작");
+        recorder.start();
+        Thread.sleep(config.duration.toMillis());
+        recorder.stop();
+
+        users.shutdownNow();
+        users.awaitTermination(30, TimeUnit.SECONDS);
+        return recorder;
+    }
+
+    private static void report(LoadTestConfig config, List<LatencyRecorder.Result> results) throws Exception {
+        System.out.println();
+        System.out.printf("%-30s %8s %7s %9s %10s %10s %10s %10s%n",
+                "endpoint", "count", "errors", "req/s", "p50(ms)", "p99(ms)", "p999(ms)", "max(ms)");
+        for (LatencyRecorder.Result result : results) {
+            System.out.printf("%-30s %8d %7d %9.1f %10.1f %10.1f %10.1f %10.1f%n",
+                    result.endpoint(), result.count(), result.errors(), result.throughputPerSecond(),
+                    result.p50Millis(), result.p99Millis(), result.p999Millis(), result.maxMillis());
+        }
+
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("timestamp", Instant.now().toString());
+        json.put("config", config.toString());
+        json.put("endpoints", results.stream().map(LatencyRecorder.Result::toMap).toList());
+        Path dir = Path.of(config.reportDir);
+        Files.createDirectories(dir);
+        Path file = dir.resolve("results.json");
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), json);
+        System.out.println();
+        System.out.println("[loadtest] 결과 저장: " + file.toAbsolutePath());
+    }
+}
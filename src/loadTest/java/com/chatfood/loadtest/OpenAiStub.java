@@ -0,0 +1,79 @@
+package com.chatfood.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * OpenAI /v1/chat/completions 스텁
+ * - 일반 요청: 지연 후 choices[0].message 한 번에 응답
+ * - "stream": true 요청: 첫 토큰까지 지연 후 delta 조각을 SSE(data: ...)로 보내고 data: [DONE]으로 종료
+ * - 에러: 500 또는 429 (레이트 리밋) 응답
+ * 답변에는 음식 사전에 있는 이름이 들어 있어 추천 추출 경로도 실제와 같이 동작합니다.
+ */
+class OpenAiStub extends StubServer {
+
+    private static final List<String> REPLIES = List.of(
+            "오늘같이 쌀쌀한 날에는 뜨끈한 김치찌개나 순두부찌개 어떠세요? 든든하게 드시고 싶다면 제육볶음도 좋아요.",
+            "가볍게 드시고 싶다면 비빔밥이나 김밥을 추천드려요. 국물이 당기시면 된장찌개도 괜찮습니다.",
+            "바삭한 돈까스나 간단한 라면은 어떠세요? 매콤한 게 당기시면 제육볶음도 추천드려요.",
+            "점심으로는 된장찌개와 비빔밥 조합이 좋아요. 김치찌개도 많이 찾으시는 메뉴입니다.");
+
+    private final LatencyModel latency;
+    private final int tokenIntervalMillis;
+
+    OpenAiStub(LatencyModel latency, int tokenIntervalMillis) throws IOException {
+        this.latency = latency;
+        this.tokenIntervalMillis = tokenIntervalMillis;
+        handle("/v1/chat/completions", this::chatCompletions);
+    }
+
+    private void chatCompletions(HttpExchange exchange) throws IOException {
+        JsonNode request = OBJECT_MAPPER.readTree(exchange.getRequestBody());
+        boolean stream = request.path("stream").asBoolean(false);
+        String reply = REPLIES.get(ThreadLocalRandom.current().nextInt(REPLIES.size()));
+
+        sleep(latency.sampleMillis());
+        if (latency.sampleError()) {
+            boolean rateLimited = ThreadLocalRandom.current().nextBoolean();
+            sendJson(exchange, rateLimited ? 429 : 500, Map.of("error", Map.of(
+                    "message", rateLimited ? "Rate limit reached" : "The server had an error",
+                    "type", rateLimited ? "rate_limit_error" : "server_error")));
+            return;
+        }
+
+        if (!stream) {
+            sendJson(exchange, 200, Map.of("choices", List.of(Map.of(
+                    "index", 0,
+                    "message", Map.of("role", "assistant", "content", reply),
+                    "finish_reason", "stop"))));
+            return;
+        }
+
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+        exchange.sendResponseHeaders(200, 0);
+        try (OutputStream out = exchange.getResponseBody()) {
+            // 토큰 대신 몇 글자씩 잘라 보냄
+            for (int i = 0; i < reply.length(); i += 4) {
+                String piece = reply.substring(i, Math.min(reply.length(), i + 4));
+                Map<String, Object> chunk = Map.of("choices", List.of(Map.of(
+                        "index", 0,
+                        "delta", Map.of("content", piece))));
+                writeEvent(out, OBJECT_MAPPER.writeValueAsString(chunk));
+                sleep(tokenIntervalMillis);
+            }
+            writeEvent(out, "[DONE]");
+        }
+    }
+
+    private static void writeEvent(OutputStream out, String data) throws IOException {
+        out.write(("data: " + data + "\n\n").getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+}
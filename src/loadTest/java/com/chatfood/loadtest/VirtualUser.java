@@ -0,0 +1,125 @@
+package com.chatfood.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 가상 사용자 한 명의 세션 흐름
+ * 로그인 → 초기 추천 → 3~6턴 대화 (일부는 /chat/stream)를 종료 시각까지 반복합니다.
+ * 세션마다 쿠키를 비워 서버 입장에서 매번 새 로그인 세션이 되도록 합니다.
+ */
+class VirtualUser implements Runnable {
+
+    private static final List<String> MESSAGES = List.of(
+            "오늘 점심 뭐 먹을까요?",
+            "매운 음식이 먹고 싶어요",
+            "국물 있는 걸로 추천해주세요",
+            "가볍게 먹을 만한 거 있을까요?",
+            "다른 음식도 보여주세요",
+            "혼자 먹기 좋은 메뉴 알려주세요",
+            "비 오는 날 어울리는 음식은요?");
+
+    private final String baseUrl;
+    private final String email;
+    private final String password;
+    private final LoadTestConfig config;
+    private final LatencyRecorder recorder;
+    private final long deadlineNanos;
+    private final CookieManager cookies = new CookieManager();
+    private final HttpClient client;
+
+    VirtualUser(String baseUrl, String email, String password, LoadTestConfig config,
+                LatencyRecorder recorder, long deadlineNanos) {
+        this.baseUrl = baseUrl;
+        this.email = email;
+        this.password = password;
+        this.config = config;
+        this.recorder = recorder;
+        this.deadlineNanos = deadlineNanos;
+        this.client = HttpClient.newBuilder()
+                .cookieHandler(cookies)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    @Override
+    public void run() {
+        // 사용자마다 시작 시점을 흩어 동시 로그인 몰림 방지
+        pause(ThreadLocalRandom.current().nextLong(config.thinkTime.toMillis() + 1));
+        while (!Thread.currentThread().isInterrupted() && System.nanoTime() < deadlineNanos) {
+            runSession();
+        }
+    }
+
+    private void runSession() {
+        cookies.getCookieStore().removeAll();
+        if (!send("POST /api/users/login", post("/api/users/login",
+                "{\"email\":\"" + email + "\",\"password\":\"" + password + "\"}"))) {
+            pause(config.thinkTime.toMillis());
+            return;
+        }
+        send("GET /initial-recommendations", HttpRequest.newBuilder(URI.create(baseUrl + "/initial-recommendations"))
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build());
+
+        int turns = ThreadLocalRandom.current().nextInt(config.minTurns, config.maxTurns + 1);
+        for (int turn = 0; turn < turns && System.nanoTime() < deadlineNanos; turn++) {
+            pause(config.thinkTime.toMillis());
+            String message = MESSAGES.get(ThreadLocalRandom.current().nextInt(MESSAGES.size()));
+            String body = "{\"message\":\"" + message + "\"}";
+            if (ThreadLocalRandom.current().nextDouble() < config.streamRatio) {
+                send("POST /chat/stream", post("/chat/stream", body));
+            } else {
+                send("POST /chat", post("/chat", body));
+            }
+        }
+    }
+
+    private HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(60))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    // 응답 본문(스트리밍이면 마지막 이벤트까지)을 다 읽은 시점까지를 응답 시간으로 기록
+    private boolean send(String endpoint, HttpRequest request) {
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            HttpResponse<InputStream> response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            try (InputStream body = response.body()) {
+                body.transferTo(OutputStream.nullOutputStream());
+            }
+            success = response.statusCode() < 400;
+        } catch (IOException e) {
+            // 연결 실패/타임아웃은 에러로 기록
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        recorder.record(endpoint, System.nanoTime() - start, success);
+        return success;
+    }
+
+    private static void pause(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.chatfood.config;
+
+import com.chatfood.service.AdmissionBudget;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 채팅/초기 추천 요청 허용 제어
+ * 컨트롤러와 OpenAI/Python AI 호출에 들어가기 전에 토큰 버킷 예산(AdmissionBudget)을 확인하고,
+ * 예산을 넘은 요청은 세션/프로필 조회 없이 바로 429 + Retry-After로 끝냅니다.
+ * - POST /chat, /chat/stream: 채팅 예산
+ * - GET /initial-recommendations: 초기 추천 예산 (GPT + Python AI 병렬 호출이라 비용이 커서 따로 더 작게 둠)
+ * 비동기 재디스패치(Mono/Flux 응답 완료)는 OncePerRequestFilter 기본 동작대로 다시 세지 않습니다.
+ */
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdmissionControlFilter.class);
+
+    private final AdmissionBudget chatBudget;
+    private final AdmissionBudget initialRecommendationBudget;
+
+    public AdmissionControlFilter(AdmissionBudget chatBudget, AdmissionBudget initialRecommendationBudget) {
+        this.chatBudget = chatBudget;
+        this.initialRecommendationBudget = initialRecommendationBudget;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return budgetFor(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        AdmissionBudget budget = budgetFor(request);
+        // 새 세션을 만들지 않고 이미 있는 세션만 사용 (세션이 없으면 IP/전역 예산만 적용)
+        HttpSession session = request.getSession(false);
+        String sessionId = session != null ? session.getId() : null;
+
+        long waitNanos = budget.tryAdmit(sessionId, request.getRemoteAddr(), System.nanoTime());
+        if (waitNanos == 0) {
+            chain.doFilter(request, response);
+            return;
+        }
+        reject(response, budget, waitNanos);
+    }
+
+    private AdmissionBudget budgetFor(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String method = request.getMethod();
+        if (HttpMethod.POST.matches(method) && (path.equals("/chat") || path.equals("/chat/stream"))) {
+            return chatBudget;
+        }
+        if (HttpMethod.GET.matches(method) && path.equals("/initial-recommendations")) {
+            return initialRecommendationBudget;
+        }
+        return null;
+    }
+
+    private void reject(HttpServletResponse response, AdmissionBudget budget, long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.max(1L, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+        logger.debug("요청 제한 - 예산: {}, Retry-After: {}s", budget.getName(), retryAfterSeconds);
+
+        // 채팅 화면이 reply 필드를 그대로 보여 주므로 ChatResponse와 같은 모양으로 응답
+        byte[] body = ("{\"reply\":\"요청이 너무 많아요. " + retryAfterSeconds + "초 후에 다시 시도해 주세요.\"}")
+                .getBytes(StandardCharsets.UTF_8);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+}
@@ -0,0 +1,54 @@
+package com.chatfood.config;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 버린 이벤트 수를 세는 비동기 appender
+ * 요청 스레드는 큐에 넣기만 하고, 파일 쓰기는 logback 작업 스레드가 처리합니다.
+ * - 남은 큐가 discardingThreshold 미만이면 INFO 이하 이벤트를 버림 (logback 기본 동작)
+ * - neverBlock=true면 큐가 가득 찼을 때 WARN/ERROR도 기다리지 않고 버림
+ * 버린 수는 appender 이름별로 모아 LoggingConfig가 logging.events.dropped 메트릭으로 노출합니다.
+ */
+public class DroppingAsyncAppender extends AsyncAppender {
+
+    // logback 설정이 다시 로딩되어 appender가 새로 만들어져도 같은 이름이면 같은 카운터 사용
+    private static final Map<String, AtomicLong> DROPPED = new ConcurrentHashMap<>();
+
+    private AtomicLong dropped = new AtomicLong();
+
+    public static Map<String, AtomicLong> droppedCounts() {
+        return Collections.unmodifiableMap(DROPPED);
+    }
+
+    @Override
+    public void start() {
+        dropped = DROPPED.computeIfAbsent(getName(), name -> new AtomicLong());
+        super.start();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        // 큐가 가득 찬 상태에서 임계치로 버려지지 않는 이벤트는 offer가 실패해 그대로 사라짐
+        if (isNeverBlock() && getRemainingCapacity() == 0
+                && !(getDiscardingThreshold() > 0 && super.isDiscardable(event))) {
+            dropped.incrementAndGet();
+        }
+        super.append(event);
+    }
+
+    @Override
+    protected boolean isDiscardable(ILoggingEvent event) {
+        // 남은 큐가 임계치 미만일 때만 호출됨
+        boolean discardable = super.isDiscardable(event);
+        if (discardable) {
+            dropped.incrementAndGet();
+        }
+        return discardable;
+    }
+}
@@ -0,0 +1,113 @@
+package com.chatfood.config;
+
+import io.netty.channel.ChannelOption;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * 외부 호출용 WebClient 설정
+ * 목적지(OpenAI, Python AI)별로 연결 풀을 분리하여, 한쪽이 느려져도 다른 쪽 연결을 잡아먹지 않도록 합니다.
+ * - 최대 연결 수 / 대기 큐 / 대기 타임아웃
+ * - 유휴 연결 제거, 연결 최대 수명 (백그라운드 정리)
+ * - 연결/응답 타임아웃, gzip 압축
+ * - OpenAI는 TLS ALPN으로 HTTP/2 협상 (지원하지 않으면 HTTP/1.1)
+ * - 풀 사용량/획득 대기 시간은 reactor.netty.connection.provider.* 메트릭으로 노출
+ *
+ * 목적지별 설정 키: http.client.{openai|python-ai}.*
+ */
+@Configuration
+public class HttpClientConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(HttpClientConfig.class);
+
+    private final Environment environment;
+
+    public HttpClientConfig(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider openAiConnectionProvider() {
+        return connectionProvider("openai", "http.client.openai", 100, 500);
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider pythonAiConnectionProvider() {
+        return connectionProvider("python-ai", "http.client.python-ai", 50, 1000);
+    }
+
+    @Bean
+    public WebClient openAiWebClient(WebClient.Builder builder,
+                                     ConnectionProvider openAiConnectionProvider,
+                                     @Value("${openai.api.base-url:https://api.openai.com/v1}") String baseUrl,
+                                     @Value("${openai.api.key:}") String openaiApiKey) {
+        // API 키 검증
+        if (openaiApiKey == null || openaiApiKey.trim().isEmpty() || openaiApiKey.equals("your-openai-api-key-here")) {
+            logger.warn("OpenAI API 키가 설정되지 않았습니다. GPT 기능이 제한될 수 있습니다.");
+        }
+
+        HttpClient httpClient = httpClient(openAiConnectionProvider, "http.client.openai", 60_000)
+                .protocol(HttpProtocol.H2, HttpProtocol.HTTP11);
+        return builder.clone()
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + openaiApiKey)
+                .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .build();
+    }
+
+    @Bean
+    public WebClient pythonAiWebClient(WebClient.Builder builder,
+                                       ConnectionProvider pythonAiConnectionProvider,
+                                       @Value("${python.ai.server.url:http://127.0.0.1:5000}") String pythonAiUrl) {
+        logger.info("Python AI 서버 URL: {}", pythonAiUrl);
+
+        // Flask 개발 서버는 HTTP/1.1만 지원하므로 평문 HTTP/2(h2c)는 사용하지 않음
+        HttpClient httpClient = httpClient(pythonAiConnectionProvider, "http.client.python-ai", 10_000);
+        return builder.clone()
+                .baseUrl(pythonAiUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+
+    private ConnectionProvider connectionProvider(String name, String prefix,
+                                                  int defaultMaxConnections, int defaultPendingAcquireMax) {
+        return ConnectionProvider.builder(name)
+                .maxConnections(intProperty(prefix + ".max-connections", defaultMaxConnections))
+                .pendingAcquireMaxCount(intProperty(prefix + ".pending-acquire-max", defaultPendingAcquireMax))
+                .pendingAcquireTimeout(Duration.ofMillis(intProperty(prefix + ".pending-acquire-timeout-ms", 2000)))
+                .maxIdleTime(Duration.ofMillis(intProperty(prefix + ".max-idle-ms", 30_000)))
+                .maxLifeTime(Duration.ofMillis(intProperty(prefix + ".max-life-ms", 300_000)))
+                .evictInBackground(Duration.ofMillis(intProperty(prefix + ".evict-interval-ms", 30_000)))
+                .metrics(true)
+                .build();
+    }
+
+    private HttpClient httpClient(ConnectionProvider provider, String prefix, int defaultResponseTimeoutMillis) {
+        return HttpClient.create(provider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, intProperty(prefix + ".connect-timeout-ms", 3000))
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .responseTimeout(Duration.ofMillis(intProperty(prefix + ".response-timeout-ms", defaultResponseTimeoutMillis)))
+                .compress(true)
+                // 호출 경로가 고정(/chat/completions, /recommend 등)이므로 경로를 그대로 uri 태그로 사용
+                .metrics(true, Function.identity());
+    }
+
+    private int intProperty(String key, int defaultValue) {
+        return environment.getProperty(key, Integer.class, defaultValue);
+    }
+}
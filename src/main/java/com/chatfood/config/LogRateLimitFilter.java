@@ -0,0 +1,71 @@
+package com.chatfood.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 로거별 초당 로그 수 제한 (INFO 이하만)
+ * 메시지를 포맷하거나 appender 큐에 넣기 전에 판단하므로, 한 로거가 폭주해도 다른 로그와 요청 스레드에 영향이 적습니다.
+ * - WARN/ERROR는 제한하지 않음
+ * - 로거 레벨로 이미 꺼진 이벤트와 isXxxEnabled() 확인은 세지 않음
+ * 제한된 수는 LoggingConfig가 logging.events.rate.limited 메트릭으로 노출합니다.
+ */
+public class LogRateLimitFilter extends TurboFilter {
+
+    private static final AtomicLong LIMITED = new AtomicLong();
+
+    private int maxEventsPerSecond = 100;
+
+    // 로거 이름 → 현재 1초 구간의 로그 수
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+    public static AtomicLong limitedCount() {
+        return LIMITED;
+    }
+
+    public void setMaxEventsPerSecond(int maxEventsPerSecond) {
+        this.maxEventsPerSecond = maxEventsPerSecond;
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        return decide(logger, level, format, System.currentTimeMillis());
+    }
+
+    FilterReply decide(Logger logger, Level level, String format, long nowMillis) {
+        if (!isStarted() || format == null || level == null || level.isGreaterOrEqual(Level.WARN)
+                || !level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+        Window window = windows.computeIfAbsent(logger.getName(), name -> new Window());
+        if (window.tryAcquire(nowMillis / 1000, maxEventsPerSecond)) {
+            return FilterReply.NEUTRAL;
+        }
+        LIMITED.incrementAndGet();
+        return FilterReply.DENY;
+    }
+
+    /**
+     * 1초 고정 구간 카운터 (구간이 바뀌는 순간의 경합으로 몇 건 더 허용될 수 있음)
+     */
+    private static final class Window {
+        private volatile long second;
+        private final AtomicInteger count = new AtomicInteger();
+
+        private boolean tryAcquire(long now, int max) {
+            if (second != now) {
+                second = now;
+                count.set(0);
+            }
+            return count.incrementAndGet() <= max;
+        }
+    }
+}
@@ -1,96 +1,68 @@
 package com.chatfood.config;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableScheduling;
-import org.springframework.scheduling.annotation.Scheduled;
 
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * 로깅 관련 설정 및 모니터링
+ * 로깅 관련 설정
+ * 요청/에러/단계별 지연 시간 통계는 Micrometer 메트릭(/actuator/prometheus)으로 수집합니다.
+ * 로그 파일 쓰기는 비동기 appender(DroppingAsyncAppender)가 처리하며,
+ * 큐가 차서 버린 로그와 초당 제한(LogRateLimitFilter)에 걸린 로그 수를 메트릭으로 노출합니다.
  */
 @Configuration
 @EnableScheduling
-public class LoggingConfig {
-    
+public class LoggingConfig implements MeterBinder {
+
     private static final Logger logger = LoggerFactory.getLogger(LoggingConfig.class);
-    
-    // 로그 통계를 위한 카운터들
-    private final AtomicLong totalRequests = new AtomicLong(0);
-    private final AtomicLong errorCount = new AtomicLong(0);
-    private final AtomicLong aiRecommendationCount = new AtomicLong(0);
-    private final AtomicLong userLoginCount = new AtomicLong(0);
-    
-    /**
-     * 로그 통계를 주기적으로 출력하는 스케줄러
-     * 매 5분마다 실행
-     */
-    @Scheduled(fixedRate = 300000) // 5분 = 300,000ms
-    public void logStatistics() {
-        long total = totalRequests.get();
-        long errors = errorCount.get();
-        long aiRecs = aiRecommendationCount.get();
-        long logins = userLoginCount.get();
-        
-        if (total > 0) {
-            double errorRate = (double) errors / total * 100;
-            logger.info("=== 로그 통계 (5분간) ===");
-            logger.info("총 요청 수: {}", total);
-            logger.info("에러 수: {} (에러율: {:.2f}%)", errors, errorRate);
-            logger.info("AI 추천 요청 수: {}", aiRecs);
-            logger.info("사용자 로그인 수: {}", logins);
-            logger.info("========================");
-        }
-    }
-    
+
+    // 사용자 메시지/GPT 응답 등 긴 본문을 로그에 남길 때 최대 길이
+    private static final int MAX_LOGGED_TEXT = 80;
+
     /**
      * 애플리케이션 시작 시 로그 설정 정보 출력
      */
     @Bean
     public String logStartupInfo() {
         logger.info("=== ChatFood 애플리케이션 시작 ===");
-        logger.info("로깅 시스템: SLF4J + Logback");
+        logger.info("로깅 시스템: SLF4J + Logback (비동기 appender)");
         logger.info("로그 레벨: INFO (개발환경), WARN (프로덕션)");
         logger.info("로그 파일: logs/chatfood.log");
         logger.info("에러 로그: logs/chatfood-error.log");
         logger.info("JSON 로그: logs/chatfood-json.log");
+        logger.info("메트릭: /actuator/prometheus");
         logger.info("================================");
         return "Logging initialized";
     }
-    
-    // 통계 카운터 getter/setter 메서드들
-    public void incrementTotalRequests() {
-        totalRequests.incrementAndGet();
-    }
-    
-    public void incrementErrorCount() {
-        errorCount.incrementAndGet();
-    }
-    
-    public void incrementAiRecommendationCount() {
-        aiRecommendationCount.incrementAndGet();
-    }
-    
-    public void incrementUserLoginCount() {
-        userLoginCount.incrementAndGet();
-    }
-    
-    public long getTotalRequests() {
-        return totalRequests.get();
-    }
-    
-    public long getErrorCount() {
-        return errorCount.get();
-    }
-    
-    public long getAiRecommendationCount() {
-        return aiRecommendationCount.get();
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Map.Entry<String, AtomicLong> entry : DroppingAsyncAppender.droppedCounts().entrySet()) {
+            FunctionCounter.builder("logging.events.dropped", entry.getValue(), AtomicLong::get)
+                    .description("비동기 appender 큐가 차서 버린 로그 수")
+                    .tag("appender", entry.getKey())
+                    .register(registry);
+        }
+        FunctionCounter.builder("logging.events.rate.limited", LogRateLimitFilter.limitedCount(), AtomicLong::get)
+                .description("로거별 초당 제한으로 버린 INFO 이하 로그 수")
+                .register(registry);
     }
-    
-    public long getUserLoginCount() {
-        return userLoginCount.get();
+
+    /**
+     * 로그용 긴 본문 줄임 (앞부분 + 전체 길이)
+     */
+    public static String abbreviate(String text) {
+        if (text == null || text.length() <= MAX_LOGGED_TEXT) {
+            return text;
+        }
+        return text.substring(0, MAX_LOGGED_TEXT) + "…(" + text.length() + "자)";
     }
 }
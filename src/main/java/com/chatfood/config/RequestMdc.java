@@ -0,0 +1,74 @@
+package com.chatfood.config;
+
+import org.slf4j.MDC;
+import reactor.core.publisher.Signal;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.util.function.Consumer;
+
+/**
+ * Reactor Context의 requestId를 로그를 남기는 동안만 MDC에 넣어 주는 도우미
+ * 컨트롤러는 Mono/Flux를 조립만 하고 바로 반환하므로, 실제 처리(서비스 로그, 에러 로그 등)는
+ * 다른 스레드에서 컨트롤러의 MDC가 정리된 뒤에 실행됩니다. 컨트롤러가 contextWrite(requestId(...))로 요청 ID를 실어 두면
+ * 로그를 남기는 지점에서 doOnEach(onNext/onError(...)) 또는 Mono.deferContextual + run(...)으로 MDC를 복원합니다.
+ * 연산자마다 구독자를 감싸지 않으므로 나머지 파이프라인(연산자 퓨전 포함)에는 영향이 없습니다.
+ */
+public final class RequestMdc {
+
+    public static final String REQUEST_ID = "requestId";
+
+    private RequestMdc() {
+    }
+
+    /**
+     * 요청 ID를 Reactor Context에 싣기 (contextWrite에 전달)
+     */
+    public static Context requestId(String requestId) {
+        return Context.of(REQUEST_ID, requestId);
+    }
+
+    /**
+     * Context에 requestId가 있으면 MDC에 넣고 실행한 뒤 원래 값으로 되돌림
+     */
+    public static void run(ContextView context, Runnable log) {
+        String requestId = context.getOrDefault(REQUEST_ID, null);
+        if (requestId == null) {
+            log.run();
+            return;
+        }
+        String previous = MDC.get(REQUEST_ID);
+        MDC.put(REQUEST_ID, requestId);
+        try {
+            log.run();
+        } finally {
+            if (previous != null) {
+                MDC.put(REQUEST_ID, previous);
+            } else {
+                MDC.remove(REQUEST_ID);
+            }
+        }
+    }
+
+    /**
+     * doOnEach용 - 값 신호에서만 requestId를 복원해 로그
+     */
+    public static <T> Consumer<Signal<T>> onNext(Consumer<? super T> log) {
+        return signal -> {
+            if (signal.isOnNext()) {
+                run(signal.getContextView(), () -> log.accept(signal.get()));
+            }
+        };
+    }
+
+    /**
+     * doOnEach용 - 에러 신호에서만 requestId를 복원해 로그
+     */
+    public static <T> Consumer<Signal<T>> onError(Consumer<Throwable> log) {
+        return signal -> {
+            if (signal.isOnError()) {
+                run(signal.getContextView(), () -> log.accept(signal.getThrowable()));
+            }
+        };
+    }
+}
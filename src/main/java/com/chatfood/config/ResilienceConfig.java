@@ -0,0 +1,102 @@
+package com.chatfood.config;
+
+import com.chatfood.service.CircuitBreaker;
+import com.chatfood.service.ConcurrencyLimiter;
+import com.chatfood.service.RetryBudget;
+import io.netty.handler.timeout.ReadTimeoutException;
+import io.netty.handler.timeout.WriteTimeoutException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Exceptions;
+
+import java.io.IOException;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 외부 서버(Python AI, OpenAI)와 DB 호출 보호 설정
+ * 서킷 브레이커, 재시도 예산, 동시 호출 제한은 MeterBinder이므로 Actuator 메트릭에 자동 등록됩니다.
+ */
+@Configuration
+public class ResilienceConfig {
+
+    @Bean
+    public CircuitBreaker pythonAiCircuitBreaker(
+            @Value("${recommendation.circuit-breaker.failure-rate-threshold:50}") int failureRateThreshold,
+            @Value("${recommendation.circuit-breaker.sliding-window-size:20}") int slidingWindowSize,
+            @Value("${recommendation.circuit-breaker.minimum-calls:10}") int minimumCalls,
+            @Value("${recommendation.circuit-breaker.open-duration-ms:10000}") long openDurationMillis,
+            @Value("${recommendation.circuit-breaker.half-open-calls:3}") int halfOpenCalls) {
+        return new CircuitBreaker("pythonAi", failureRateThreshold, slidingWindowSize, minimumCalls,
+                openDurationMillis, halfOpenCalls, ResilienceConfig::isServerFailure);
+    }
+
+    @Bean
+    public CircuitBreaker openAiCircuitBreaker(
+            @Value("${openai.circuit-breaker.failure-rate-threshold:50}") int failureRateThreshold,
+            @Value("${openai.circuit-breaker.sliding-window-size:20}") int slidingWindowSize,
+            @Value("${openai.circuit-breaker.minimum-calls:5}") int minimumCalls,
+            @Value("${openai.circuit-breaker.open-duration-ms:30000}") long openDurationMillis,
+            @Value("${openai.circuit-breaker.half-open-calls:2}") int halfOpenCalls) {
+        return new CircuitBreaker("openAi", failureRateThreshold, slidingWindowSize, minimumCalls,
+                openDurationMillis, halfOpenCalls, ResilienceConfig::isServerFailure);
+    }
+
+    @Bean
+    public RetryBudget pythonAiRetryBudget(
+            @Value("${recommendation.client.retry-budget-ratio:0.2}") double ratio,
+            @Value("${recommendation.client.retry-budget-max:20}") double maxTokens,
+            @Value("${recommendation.client.retry-budget-min-per-second:1}") double minRetriesPerSecond) {
+        return new RetryBudget("pythonAi", ratio, maxTokens, minRetriesPerSecond);
+    }
+
+    // 가상 스레드 모드에서는 요청 스레드 수가 동시 호출 수를 막아 주지 않으므로 의존성별로 따로 제한
+    @Bean
+    public ConcurrencyLimiter openAiConcurrencyLimiter(
+            @Value("${concurrency.openai.max-concurrent:64}") int maxConcurrent,
+            @Value("${concurrency.openai.max-queued:1000}") int maxQueued,
+            @Value("${concurrency.openai.acquire-timeout-ms:5000}") long acquireTimeoutMillis) {
+        return new ConcurrencyLimiter("openAi", maxConcurrent, maxQueued, acquireTimeoutMillis);
+    }
+
+    @Bean
+    public ConcurrencyLimiter pythonAiConcurrencyLimiter(
+            @Value("${concurrency.python-ai.max-concurrent:32}") int maxConcurrent,
+            @Value("${concurrency.python-ai.max-queued:1000}") int maxQueued,
+            @Value("${concurrency.python-ai.acquire-timeout-ms:1000}") long acquireTimeoutMillis) {
+        return new ConcurrencyLimiter("pythonAi", maxConcurrent, maxQueued, acquireTimeoutMillis);
+    }
+
+    // 기본값은 Hikari 풀 크기 - 연결을 기다리는 호출이 스레드를 잡고 Hikari에서 막히지 않고 여기서 대기
+    @Bean
+    public ConcurrencyLimiter databaseConcurrencyLimiter(
+            @Value("${concurrency.database.max-concurrent:${spring.datasource.hikari.maximum-pool-size:10}}") int maxConcurrent,
+            @Value("${concurrency.database.max-queued:1000}") int maxQueued,
+            @Value("${concurrency.database.acquire-timeout-ms:2000}") long acquireTimeoutMillis) {
+        return new ConcurrencyLimiter("database", maxConcurrent, maxQueued, acquireTimeoutMillis);
+    }
+
+    /**
+     * 서버 장애로 볼 에러 (연결 실패/끊김, 타임아웃, 5xx, 429)
+     * 그 밖의 4xx는 요청 문제이고, 응답 디코딩 실패나 NPE 같은 우리 코드의 오류도 장애로 세지 않습니다.
+     * (로컬 버그로 서킷이 열려 모든 사용자가 대체 응답을 받지 않도록)
+     * CallNotPermittedException/LimitExceededException은 호출 자체를 하지 않았으므로 역시 제외됩니다.
+     */
+    public static boolean isServerFailure(Throwable error) {
+        // 재시도를 모두 쓴 경우 마지막 에러로 판단
+        if (Exceptions.isRetryExhausted(error) && error.getCause() != null) {
+            return isServerFailure(error.getCause());
+        }
+        if (error instanceof WebClientResponseException responseError) {
+            int status = responseError.getStatusCode().value();
+            return status >= 500 || status == 429;
+        }
+        return error instanceof WebClientRequestException
+                || error instanceof IOException
+                || error instanceof TimeoutException
+                || error instanceof ReadTimeoutException
+                || error instanceof WriteTimeoutException;
+    }
+}
@@ -0,0 +1,131 @@
+package com.chatfood.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 가상 스레드 고정(pinning) 감지
+ * 가상 스레드가 synchronized 블록이나 네이티브 호출(JDBC 드라이버 내부 등) 안에서 막히면 캐리어 스레드까지 함께 묶여
+ * 가상 스레드 모드의 이점이 사라집니다. JFR jdk.VirtualThreadPinned 이벤트를 앱 안에서 스트리밍으로 받아
+ * 발생 위치(스택에서 처음 나오는 com.chatfood 프레임, 없으면 맨 위 프레임)별로 처음 한 번 WARN 로그를 남기고
+ * jvm.threads.virtual.pinned 메트릭으로 집계합니다.
+ * spring.threads.virtual.enabled=true이고 Java 21 이상에서 실행할 때만 동작합니다.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String APP_PACKAGE = "com.chatfood.";
+    // 로그에 남길 스택 프레임 수
+    private static final int LOGGED_FRAMES = 8;
+
+    private final boolean enabled;
+    private final Duration threshold;
+
+    private final AtomicLong pinned = new AtomicLong();
+    // 발생 위치별 횟수 (처음 발생한 위치만 로그)
+    private final Map<String, AtomicLong> sites = new ConcurrentHashMap<>();
+    private volatile Timer pinnedDuration;
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(@Value("${virtual-threads.pinning-monitor.enabled:true}") boolean enabled,
+                                       @Value("${virtual-threads.pinning-monitor.threshold-ms:20}") long thresholdMillis) {
+        this.enabled = enabled;
+        this.threshold = Duration.ofMillis(thresholdMillis);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        if (Runtime.version().feature() < 21) {
+            logger.warn("spring.threads.virtual.enabled=true 이지만 Java {}에서 실행 중이라 가상 스레드를 사용하지 않습니다 (Java 21 이상 필요)",
+                       Runtime.version().feature());
+            return;
+        }
+
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+        logger.info("가상 스레드 pinning 감지 시작 - 기준: {}ms 이상", threshold.toMillis());
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("jvm.threads.virtual.pinned", pinned, AtomicLong::get)
+                .description("가상 스레드가 캐리어 스레드에 고정된 채 기준 시간 이상 막힌 횟수")
+                .register(registry);
+        pinnedDuration = Timer.builder("jvm.threads.virtual.pinned.duration")
+                .description("가상 스레드 고정 시간")
+                .register(registry);
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinned.incrementAndGet();
+        Timer timer = pinnedDuration;
+        if (timer != null) {
+            timer.record(event.getDuration());
+        }
+
+        List<RecordedFrame> frames = frames(event.getStackTrace());
+        String site = siteOf(frames);
+        if (sites.computeIfAbsent(site, key -> new AtomicLong()).getAndIncrement() == 0) {
+            StringBuilder stack = new StringBuilder();
+            for (int i = 0; i < Math.min(LOGGED_FRAMES, frames.size()); i++) {
+                stack.append("\n\tat ").append(describe(frames.get(i)));
+            }
+            logger.warn("가상 스레드 pinning 감지 - 위치: {}, 고정 시간: {}ms (같은 위치는 이후 메트릭으로만 집계){}",
+                       site, event.getDuration().toMillis(), stack);
+        }
+    }
+
+    private static List<RecordedFrame> frames(RecordedStackTrace stackTrace) {
+        return stackTrace != null ? stackTrace.getFrames() : List.of();
+    }
+
+    private static String siteOf(List<RecordedFrame> frames) {
+        for (RecordedFrame frame : frames) {
+            if (frame.isJavaFrame() && frame.getMethod().getType().getName().startsWith(APP_PACKAGE)) {
+                return describe(frame);
+            }
+        }
+        return frames.isEmpty() ? "unknown" : describe(frames.get(0));
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+}
@@ -1,6 +1,15 @@
 package com.chatfood.config;
 
+import com.chatfood.service.AdmissionBudget;
+import com.chatfood.service.StripedTokenBuckets;
+import com.chatfood.service.TokenBucket;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -14,4 +23,61 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS") // 허용할 HTTP 메소드
                 .allowedHeaders("*"); // 모든 헤더를 허용
     }
+
+    // 채팅 요청 예산 (/chat, /chat/stream)
+    @Bean
+    @ConditionalOnProperty(name = "admission.enabled", havingValue = "true", matchIfMissing = true)
+    public AdmissionBudget chatAdmissionBudget(
+            @Value("${admission.chat.session.rate-per-second:1}") double sessionRate,
+            @Value("${admission.chat.session.burst:10}") int sessionBurst,
+            @Value("${admission.chat.ip.rate-per-second:5}") double ipRate,
+            @Value("${admission.chat.ip.burst:30}") int ipBurst,
+            @Value("${admission.chat.global.rate-per-second:50}") double globalRate,
+            @Value("${admission.chat.global.burst:100}") int globalBurst,
+            @Value("${admission.stripes:64}") int stripes,
+            @Value("${admission.max-keys:100000}") int maxKeys,
+            @Value("${admission.global.reserve-ratio:0.2}") double reserveRatio) {
+        return admissionBudget("chat", sessionRate, sessionBurst, ipRate, ipBurst, globalRate, globalBurst,
+                stripes, maxKeys, reserveRatio);
+    }
+
+    // 초기 추천 요청 예산 (/initial-recommendations) - 요청마다 GPT와 Python AI를 함께 호출하므로 채팅보다 작게
+    @Bean
+    @ConditionalOnProperty(name = "admission.enabled", havingValue = "true", matchIfMissing = true)
+    public AdmissionBudget initialRecommendationAdmissionBudget(
+            @Value("${admission.initial.session.rate-per-second:0.2}") double sessionRate,
+            @Value("${admission.initial.session.burst:3}") int sessionBurst,
+            @Value("${admission.initial.ip.rate-per-second:1}") double ipRate,
+            @Value("${admission.initial.ip.burst:10}") int ipBurst,
+            @Value("${admission.initial.global.rate-per-second:10}") double globalRate,
+            @Value("${admission.initial.global.burst:20}") int globalBurst,
+            @Value("${admission.stripes:64}") int stripes,
+            @Value("${admission.max-keys:100000}") int maxKeys,
+            @Value("${admission.global.reserve-ratio:0.2}") double reserveRatio) {
+        return admissionBudget("initial", sessionRate, sessionBurst, ipRate, ipBurst, globalRate, globalBurst,
+                stripes, maxKeys, reserveRatio);
+    }
+
+    // 세션/프로필 조회와 로깅보다 먼저 거절하도록 가장 앞에 등록
+    @Bean
+    @ConditionalOnProperty(name = "admission.enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilter(
+            @Qualifier("chatAdmissionBudget") AdmissionBudget chatBudget,
+            @Qualifier("initialRecommendationAdmissionBudget") AdmissionBudget initialBudget) {
+        FilterRegistrationBean<AdmissionControlFilter> registration =
+                new FilterRegistrationBean<>(new AdmissionControlFilter(chatBudget, initialBudget));
+        registration.addUrlPatterns("/chat", "/chat/stream", "/initial-recommendations");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    private static AdmissionBudget admissionBudget(String name, double sessionRate, int sessionBurst,
+                                                   double ipRate, int ipBurst, double globalRate, int globalBurst,
+                                                   int stripes, int maxKeys, double reserveRatio) {
+        return new AdmissionBudget(name,
+                new StripedTokenBuckets(sessionRate, sessionBurst, stripes, maxKeys),
+                new StripedTokenBuckets(ipRate, ipBurst, stripes, maxKeys),
+                new TokenBucket(globalRate, globalBurst, System.nanoTime()),
+                reserveRatio);
+    }
 }
@@ -1,17 +1,26 @@
 package com.chatfood.controller;
 
+import com.chatfood.config.LoggingConfig;
+import com.chatfood.config.RequestMdc;
 import com.chatfood.dto.*;
 import com.chatfood.service.GPTConversationService;
+import com.chatfood.service.RequestTracer;
+import com.chatfood.service.UserService;
 import jakarta.servlet.http.HttpSession;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.util.Optional;
 import java.util.UUID;
 
 @RestController
@@ -19,14 +28,19 @@ public class ChatFoodController {
 
     private static final Logger logger = LoggerFactory.getLogger(ChatFoodController.class);
     private final GPTConversationService gptConversationService;
+    private final UserService userService;
+    private final RequestTracer tracer;
 
     @Autowired
-    public ChatFoodController(GPTConversationService gptConversationService) {
+    public ChatFoodController(GPTConversationService gptConversationService, UserService userService,
+                              RequestTracer tracer) {
         this.gptConversationService = gptConversationService;
+        this.userService = userService;
+        this.tracer = tracer;
     }
 
     @GetMapping("/initial-recommendations")
-    public ChatResponse getInitialRecommendations(HttpSession session) {
+    public Mono<ChatResponse> getInitialRecommendations(HttpSession session) {
         // 요청 ID 생성 및 MDC 설정
         String requestId = UUID.randomUUID().toString().substring(0, 8);
         MDC.put("requestId", requestId);
@@ -38,35 +52,33 @@ public class ChatFoodController {
                    sessionId, userEmail != null ? userEmail : "비로그인");
         
         // 세션 정보 디버깅
-        logger.info("세션 정보 - ID: {}, 생성시간: {}, 최근접근시간: {}", 
+        logger.debug("세션 정보 - ID: {}, 생성시간: {}, 최근접근시간: {}", 
                    sessionId, session.getCreationTime(), session.getLastAccessedTime());
         
-        // 세션 속성들 확인
-        java.util.Enumeration<String> attributeNames = session.getAttributeNames();
-        java.util.List<String> attributeList = new java.util.ArrayList<>();
-        while (attributeNames.hasMoreElements()) {
-            attributeList.add(attributeNames.nextElement());
-        }
-        logger.info("세션 속성들: {}", attributeList);
-        
         try {
-            // GPT 기반 초기 추천 생성
-            ConversationResponse conversationResponse = gptConversationService.getInitialRecommendations(sessionId, userEmail);
-            
-            // ConversationResponse를 ChatResponse로 변환
-            ChatResponse response = convertToChatResponse(conversationResponse);
-            
-            logger.info("초기 추천 생성 완료 - 응답타입: {}, 추천수: {}", 
-                       conversationResponse.getConversationType(), 
-                       response.getRecommendations().size());
+            // GPT 기반 초기 추천 생성 (요청 전체를 requestId로 추적, 끝나면 스팬 요약 로그 1줄)
+            Mono<ChatResponse> result = resolveProfile(session)
+                    .flatMap(profile -> gptConversationService.getInitialRecommendations(sessionId, profile.orElse(null)))
+                    .flatMap(conversationResponse -> Mono.deferContextual(ctx -> {
+                        // ConversationResponse를 ChatResponse로 변환
+                        ChatResponse response = convertToChatResponse(conversationResponse);
+                        
+                        RequestMdc.run(ctx, () -> logger.debug("초기 추천 생성 완료 - 응답타입: {}, 추천수: {}", 
+                                   conversationResponse.getConversationType(), 
+                                   response.getRecommendations().size()));
+                        
+                        return Mono.just(response);
+                    }))
+                    .doOnEach(RequestMdc.onError(e -> logger.error("초기 추천 생성 중 오류 발생", e)))
+                    .onErrorResume(e -> {
+                        ChatResponse errorResponse = new ChatResponse();
+                        errorResponse.setReply("죄송합니다, 초기 추천 생성 중 오류가 발생했습니다. 다시 시도해주세요.");
+                        return Mono.just(errorResponse);
+                    });
+            // 파이프라인은 다른 스레드에서 MDC 정리 후에 실행되므로 requestId를 Reactor Context로 전달 (로그 지점에서 RequestMdc로 복원)
+            return tracer.trace("GET /initial-recommendations", requestId, result)
+                    .contextWrite(RequestMdc.requestId(requestId));
             
-            return response;
-            
-        } catch (Exception e) {
-            logger.error("초기 추천 생성 중 오류 발생", e);
-            ChatResponse errorResponse = new ChatResponse();
-            errorResponse.setReply("죄송합니다, 초기 추천 생성 중 오류가 발생했습니다. 다시 시도해주세요.");
-            return errorResponse;
         } finally {
             // MDC 정리
             MDC.clear();
@@ -74,7 +86,7 @@ public class ChatFoodController {
     }
 
     @PostMapping("/chat")
-    public ChatResponse handleChat(@RequestBody ChatRequest request, HttpSession session) {
+    public Mono<ChatResponse> handleChat(@RequestBody ChatRequest request, HttpSession session) {
         // 요청 ID 생성 및 MDC 설정
         String requestId = UUID.randomUUID().toString().substring(0, 8);
         MDC.put("requestId", requestId);
@@ -84,42 +96,94 @@ public class ChatFoodController {
         String userEmail = (String) session.getAttribute("loggedInUserEmail");
         
         logger.info("채팅 요청 수신 - 메시지: {}, 세션ID: {}, 사용자: {}", 
-                   userMessage, sessionId, userEmail != null ? userEmail : "비로그인");
+                   LoggingConfig.abbreviate(userMessage), sessionId, userEmail != null ? userEmail : "비로그인");
         
         try {
-                    // GPT 기반 대화 시스템 사용
-                    ConversationResponse conversationResponse = gptConversationService.processConversation(
-                        userMessage, sessionId, userEmail
-                    );
-            
-            // ConversationResponse를 ChatResponse로 변환
-            ChatResponse response = convertToChatResponse(conversationResponse);
+            // GPT 기반 대화 시스템 사용
+            Mono<ChatResponse> result = resolveProfile(session)
+                    .flatMap(profile -> gptConversationService.processConversation(userMessage, sessionId, profile.orElse(null)))
+                    .flatMap(conversationResponse -> Mono.deferContextual(ctx -> {
+                        // ConversationResponse를 ChatResponse로 변환
+                        ChatResponse response = convertToChatResponse(conversationResponse);
+                        
+                        RequestMdc.run(ctx, () -> logger.debug("대화 처리 완료 - 응답타입: {}, 추천수: {}", 
+                                   conversationResponse.getConversationType(), 
+                                   response.getRecommendations().size()));
+                        
+                        return Mono.just(response);
+                    }))
+                    .doOnEach(RequestMdc.onError(e -> logger.error("채팅 처리 중 오류 발생", e)))
+                    .onErrorResume(e -> {
+                        ChatResponse errorResponse = new ChatResponse();
+                        errorResponse.setReply("죄송합니다, 처리 중 오류가 발생했습니다. 다시 시도해주세요.");
+                        return Mono.just(errorResponse);
+                    });
+            return tracer.trace("POST /chat", requestId, result)
+                    .contextWrite(RequestMdc.requestId(requestId));
             
-            logger.info("대화 처리 완료 - 응답타입: {}, 추천수: {}", 
-                       conversationResponse.getConversationType(), 
-                       response.getRecommendations().size());
-            
-            return response;
+        } finally {
+            // MDC 정리
+            MDC.clear();
+        }
+    }
+
+    /**
+     * GPT 응답 스트리밍 (SSE)
+     * "token" 이벤트로 답변 조각을, 마지막 "recommendations" 이벤트로 추천 목록을 전송합니다.
+     */
+    @PostMapping(value = "/chat/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Object>> streamChat(@RequestBody ChatRequest request, HttpSession session) {
+        // 요청 ID 생성 및 MDC 설정
+        String requestId = UUID.randomUUID().toString().substring(0, 8);
+        MDC.put("requestId", requestId);
+        
+        String userMessage = request.getMessage();
+        String sessionId = session.getId();
+        String userEmail = (String) session.getAttribute("loggedInUserEmail");
+        
+        try {
+            logger.info("스트리밍 채팅 요청 수신 - 메시지: {}, 세션ID: {}, 사용자: {}", 
+                       LoggingConfig.abbreviate(userMessage), sessionId, userEmail != null ? userEmail : "비로그인");
             
-        } catch (Exception e) {
-            logger.error("채팅 처리 중 오류 발생", e);
-            ChatResponse errorResponse = new ChatResponse();
-            errorResponse.setReply("죄송합니다, 처리 중 오류가 발생했습니다. 다시 시도해주세요.");
-            return errorResponse;
+            return tracer.trace("POST /chat/stream", requestId, resolveProfile(session)
+                    .flatMapMany(profile -> gptConversationService.streamConversation(userMessage, sessionId, profile.orElse(null))))
+                    .contextWrite(RequestMdc.requestId(requestId));
         } finally {
             // MDC 정리
             MDC.clear();
         }
     }
 
+    /**
+     * 세션의 프로필 스냅샷 (비로그인이면 empty)
+     * 스냅샷 없이 이메일만 있는 세션은 프로필 캐시로 스냅샷을 만들어 세션에 저장합니다.
+     */
+    private Mono<Optional<SessionProfile>> resolveProfile(HttpSession session) {
+        SessionProfile profile = (SessionProfile) session.getAttribute(SessionProfile.SESSION_ATTRIBUTE);
+        if (profile != null) {
+            return Mono.just(Optional.of(profile));
+        }
+        
+        String userEmail = (String) session.getAttribute("loggedInUserEmail");
+        if (userEmail == null) {
+            return Mono.just(Optional.empty());
+        }
+        return userService.loadSessionProfile(userEmail)
+                .doOnNext(loaded -> session.setAttribute(SessionProfile.SESSION_ATTRIBUTE, loaded))
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty());
+    }
+
     /**
      * ConversationResponse를 ChatResponse로 변환
      */
-    private ChatResponse convertToChatResponse(ConversationResponse conversationResponse) {
+    ChatResponse convertToChatResponse(ConversationResponse conversationResponse) {
         ChatResponse chatResponse = new ChatResponse();
         chatResponse.setReply(conversationResponse.getReply());
         chatResponse.setRecommendations(conversationResponse.getRecommendations());
         chatResponse.setPythonRecommendations(conversationResponse.getPythonRecommendations());
+        chatResponse.setBranchTimings(conversationResponse.getBranchTimings());
+        chatResponse.setFirstCompletedBranch(conversationResponse.getFirstCompletedBranch());
         
         
         // 대화 옵션을 추천에 추가 (프론트엔드에서 처리할 수 있도록)
@@ -1,5 +1,7 @@
 package com.chatfood.controller;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Controller;
@@ -12,6 +14,8 @@ import java.util.Arrays;
 @Controller
 public class HomeController {
 
+    private static final Logger logger = LoggerFactory.getLogger(HomeController.class);
+
     @Value("${kakao.javascript.key}")
     private String kakaoJavaScriptKey;
     
@@ -46,9 +50,11 @@ public class HomeController {
     @GetMapping("/foodMap")
     public String foodMap(Model model) {
         // 환경 변수에서 카카오 API 키를 가져와서 JavaScript로 전달
-        System.out.println("🔑 환경 변수에서 가져온 카카오 API 키: " + kakaoJavaScriptKey);
-        System.out.println("🌍 활성 프로파일: " + Arrays.toString(environment.getActiveProfiles()));
-        System.out.println("📋 기본 프로파일: " + Arrays.toString(environment.getDefaultProfiles()));
+        // API 키 값은 로그에 남기지 않고 설정 여부만 기록
+        logger.debug("카카오 API 키 설정 여부: {}, 활성 프로파일: {}, 기본 프로파일: {}",
+                kakaoJavaScriptKey != null && !kakaoJavaScriptKey.isEmpty(),
+                Arrays.toString(environment.getActiveProfiles()),
+                Arrays.toString(environment.getDefaultProfiles()));
         
         // API 키가 null이거나 비어있으면 빈 문자열 전달
         String apiKey = (kakaoJavaScriptKey != null) ? kakaoJavaScriptKey : "";
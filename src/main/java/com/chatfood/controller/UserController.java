@@ -1,5 +1,6 @@
 package com.chatfood.controller;
 
+import com.chatfood.dto.SessionProfile;
 import com.chatfood.entity.User;
 import com.chatfood.service.UserService;
 import lombok.RequiredArgsConstructor;
@@ -122,6 +123,8 @@ public class UserController {
 
                 // ✨ 로그인 성공 시, 세션에 사용자 이메일을 저장합니다.
                 session.setAttribute("loggedInUserEmail", user.getEmail());
+                // 이후 요청에서 DB 조회 없이 쓰도록 프로필 스냅샷도 함께 저장합니다.
+                session.setAttribute(SessionProfile.SESSION_ATTRIBUTE, userService.createSessionProfile(user));
 
                 return ResponseEntity.ok(response);
             } else {
@@ -4,6 +4,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import java.util.List; // List를 import 합니다.
+import java.util.Map;
 
 @Getter
 @Setter
@@ -14,5 +15,8 @@ public class ChatResponse {
     private List<Recommendation> recommendations;
     // Python AI 개인화 추천
     private List<Recommendation> pythonRecommendations;
+    // 초기 추천 병렬 분기별 소요 시간(ms)과 가장 먼저 완료된 분기
+    private Map<String, Long> branchTimings;
+    private String firstCompletedBranch;
 }
 
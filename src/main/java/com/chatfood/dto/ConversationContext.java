@@ -2,26 +2,34 @@ package com.chatfood.dto;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.ArrayList;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * 대화 컨텍스트를 관리하는 DTO
  * 사용자의 대화 히스토리와 상태를 추적합니다.
+ *
+ * 같은 세션의 요청들이 이 객체를 함께 쓰므로 히스토리와 요약은 historyLock()을 잡고 읽고 바꿉니다.
+ * (이 클래스의 히스토리 관련 메서드는 스스로 잡고, 압축처럼 여러 단계에 걸친 작업은 호출하는 쪽에서 잡음)
  */
 public class ConversationContext {
     
+    // chat.context.max-history를 지정하지 않았을 때의 히스토리 용량
+    public static final int DEFAULT_MAX_HISTORY = 40;
+    
     private String sessionId;
     private String userId;
     private LocalDateTime startTime;
-    private List<String> conversationHistory;
+    private ConversationHistory conversationHistory;
+    private String historySummary; // 오래된 대화를 접어 넣은 누적 요약
     private String currentTopic;
     private boolean hasRecommendations;
     private List<Recommendation> lastRecommendations;
     private String lastUserMessage;
     private int conversationTurn;
+    private final ReentrantLock historyLock = new ReentrantLock();
     
     public ConversationContext() {
-        this.conversationHistory = new ArrayList<>();
+        this.conversationHistory = new ConversationHistory(DEFAULT_MAX_HISTORY);
         this.startTime = LocalDateTime.now();
         this.conversationTurn = 0;
         this.hasRecommendations = false;
@@ -35,17 +43,91 @@ public class ConversationContext {
     
     /**
      * 대화 히스토리에 메시지 추가
+     * 히스토리가 가득 차면 가장 오래된 메시지를 덮어씁니다.
+     * @param role ConversationHistory.ROLE_USER 또는 ROLE_ASSISTANT
+     */
+    public void addToHistory(byte role, String message) {
+        addToHistory(role, message, System.currentTimeMillis());
+    }
+    
+    public void addToHistory(byte role, String message, long timestamp) {
+        historyLock.lock();
+        try {
+            this.conversationHistory.add(role, message, timestamp);
+            this.conversationTurn++;
+        } finally {
+            historyLock.unlock();
+        }
+    }
+    
+    /**
+     * 대화 한 턴(사용자 메시지 + AI 답변)을 한 번에 추가 (다른 요청의 메시지가 사이에 끼지 않음)
+     */
+    public void addTurn(String userMessage, String aiReply) {
+        historyLock.lock();
+        try {
+            long now = System.currentTimeMillis();
+            addToHistory(ConversationHistory.ROLE_USER, userMessage, now);
+            addToHistory(ConversationHistory.ROLE_ASSISTANT, aiReply, now);
+        } finally {
+            historyLock.unlock();
+        }
+    }
+    
+    /**
+     * 히스토리, 요약, 턴 수를 한 번에 교체 (저장소가 다른 인스턴스의 최신 상태로 맞출 때)
+     */
+    public void replaceHistory(ConversationHistory history, String summary, int turn) {
+        historyLock.lock();
+        try {
+            this.conversationHistory = history;
+            this.historySummary = summary;
+            this.conversationTurn = turn;
+        } finally {
+            historyLock.unlock();
+        }
+    }
+    
+    /**
+     * 히스토리/요약 잠금 - 압축, 저장용 스냅샷처럼 여러 필드를 함께 다루는 동안 잡음
      */
-    public void addToHistory(String message) {
-        this.conversationHistory.add(message);
-        this.conversationTurn++;
+    public ReentrantLock historyLock() {
+        return historyLock;
+    }
+    
+    /**
+     * 메모리 사용량 추정치 (바이트)
+     * 문자열은 문자당 2바이트 + 객체 오버헤드로 대략 계산합니다.
+     */
+    public long estimateSizeInBytes() {
+        long bytes = 256;
+        historyLock.lock();
+        try {
+            if (historySummary != null) {
+                bytes += 40 + 2L * historySummary.length();
+            }
+            bytes += conversationHistory.estimateSizeInBytes();
+        } finally {
+            historyLock.unlock();
+        }
+        List<Recommendation> recommendations = lastRecommendations;
+        if (recommendations != null) {
+            bytes += 64L * recommendations.size();
+        }
+        return bytes;
     }
     
     /**
      * 대화 상태 초기화
      */
     public void reset() {
-        this.conversationHistory.clear();
+        historyLock.lock();
+        try {
+            this.conversationHistory.clear();
+            this.historySummary = null;
+        } finally {
+            historyLock.unlock();
+        }
         this.currentTopic = null;
         this.hasRecommendations = false;
         this.lastRecommendations = null;
@@ -77,12 +159,28 @@ public class ConversationContext {
         this.startTime = startTime;
     }
     
-    public List<String> getConversationHistory() {
+    /**
+     * 히스토리 버퍼 (동기화하지 않으므로 historyLock()을 잡은 상태에서 읽거나 바꿀 것)
+     */
+    public ConversationHistory getConversationHistory() {
         return conversationHistory;
     }
     
-    public void setConversationHistory(List<String> conversationHistory) {
-        this.conversationHistory = conversationHistory;
+    public void setConversationHistory(ConversationHistory conversationHistory) {
+        historyLock.lock();
+        try {
+            this.conversationHistory = conversationHistory;
+        } finally {
+            historyLock.unlock();
+        }
+    }
+    
+    public String getHistorySummary() {
+        return historySummary;
+    }
+    
+    public void setHistorySummary(String historySummary) {
+        this.historySummary = historySummary;
     }
     
     public String getCurrentTopic() {
@@ -124,4 +222,23 @@ public class ConversationContext {
     public void setConversationTurn(int conversationTurn) {
         this.conversationTurn = conversationTurn;
     }
+    
+    public int getMaxHistorySize() {
+        return conversationHistory.capacity();
+    }
+    
+    /**
+     * 히스토리 용량 변경 (줄이면 최근 메시지만 남음, 0 이하이면 기본 용량)
+     */
+    public void setMaxHistorySize(int maxHistorySize) {
+        int capacity = maxHistorySize > 0 ? maxHistorySize : DEFAULT_MAX_HISTORY;
+        historyLock.lock();
+        try {
+            if (capacity != conversationHistory.capacity()) {
+                this.conversationHistory = conversationHistory.copy(capacity);
+            }
+        } finally {
+            historyLock.unlock();
+        }
+    }
 }
@@ -0,0 +1,296 @@
+package com.chatfood.dto;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 대화 히스토리 링 버퍼
+ * 메시지 한 개를 (역할 byte, 본문, 시각) 세 배열의 같은 칸에 저장합니다.
+ * "사용자: "/"AI: " 접두사 문자열이나 메시지별 객체를 만들지 않고, 용량(capacity)을 넘으면 가장 오래된 메시지를 덮어씁니다.
+ * 배열은 처음부터 용량만큼 잡지 않고 메시지가 늘어날 때 두 배씩 키웁니다.
+ *
+ * 동기화하지 않습니다. 세션 컨텍스트의 히스토리는 ConversationContext.historyLock()을 잡은 상태에서만 읽고 바꾸므로
+ * 같은 세션에 요청이 동시에 와도 버퍼가 깨지지 않습니다. 다만 요청 전체를 순서대로 처리하지는 않으므로,
+ * 동시에 보낸 두 메시지는 서로의 턴이 프롬프트에 들어가지 않을 수 있고 턴은 응답이 끝난 순서로 쌓입니다.
+ */
+public class ConversationHistory {
+
+    public static final byte ROLE_USER = 0;
+    public static final byte ROLE_ASSISTANT = 1;
+
+    // 직렬화 형식 버전 (형식이 바뀌면 올림)
+    private static final byte FORMAT_VERSION = 1;
+    private static final int INITIAL_ARRAY_SIZE = 8;
+
+    private final int capacity;
+    private byte[] roles;
+    private String[] texts;
+    private long[] timestamps;
+    private int head; // 가장 오래된 메시지 위치
+    private int size;
+
+    public ConversationHistory(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity는 1 이상이어야 합니다: " + capacity);
+        }
+        this.capacity = capacity;
+        int initial = Math.min(capacity, INITIAL_ARRAY_SIZE);
+        this.roles = new byte[initial];
+        this.texts = new String[initial];
+        this.timestamps = new long[initial];
+    }
+
+    /**
+     * 메시지 추가 (현재 시각)
+     */
+    public void add(byte role, String text) {
+        add(role, text, System.currentTimeMillis());
+    }
+
+    /**
+     * 메시지 추가 - 가득 찼으면 가장 오래된 메시지를 덮어씀
+     */
+    public void add(byte role, String text, long timestamp) {
+        checkRole(role);
+        if (size == capacity) {
+            set(head, role, text, timestamp);
+            head = next(head);
+            return;
+        }
+        if (size == texts.length) {
+            grow();
+        }
+        set(physical(size), role, text, timestamp);
+        size++;
+    }
+
+    /**
+     * 다른 히스토리의 메시지를 오래된 순서대로 모두 추가
+     */
+    public void addAll(ConversationHistory other) {
+        for (int i = 0; i < other.size; i++) {
+            int slot = other.physical(i);
+            add(other.roles[slot], other.texts[slot], other.timestamps[slot]);
+        }
+    }
+
+    /**
+     * 가장 오래된 메시지 제거
+     */
+    public void removeOldest() {
+        if (size == 0) {
+            throw new IllegalStateException("히스토리가 비어 있습니다.");
+        }
+        texts[head] = null;
+        head = next(head);
+        size--;
+    }
+
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            texts[physical(i)] = null;
+        }
+        head = 0;
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * index번째 메시지의 역할 (0이 가장 오래된 메시지)
+     */
+    public byte role(int index) {
+        return roles[physical(checkIndex(index))];
+    }
+
+    public String text(int index) {
+        return texts[physical(checkIndex(index))];
+    }
+
+    public long timestamp(int index) {
+        return timestamps[physical(checkIndex(index))];
+    }
+
+    /**
+     * 오래된 순서대로 메시지 방문 (복사 없이 내부 배열을 그대로 읽음)
+     */
+    public void forEach(TurnVisitor visitor) {
+        for (int i = 0; i < size; i++) {
+            int slot = physical(i);
+            visitor.visit(roles[slot], texts[slot], timestamps[slot]);
+        }
+    }
+
+    /**
+     * 같은 내용의 새 히스토리 (capacity가 더 작으면 최근 메시지만 남음)
+     */
+    public ConversationHistory copy(int newCapacity) {
+        ConversationHistory copy = new ConversationHistory(newCapacity);
+        copy.addAll(this);
+        return copy;
+    }
+
+    /**
+     * 메모리 사용량 추정치 (바이트)
+     * 배열 헤더 + 칸당 역할 1 / 참조 4 / 시각 8바이트, 본문은 문자당 2바이트 + 객체 오버헤드로 대략 계산합니다.
+     */
+    public long estimateSizeInBytes() {
+        long bytes = 48 + 13L * texts.length;
+        for (int i = 0; i < size; i++) {
+            bytes += 40 + 2L * texts[physical(i)].length();
+        }
+        return bytes;
+    }
+
+    /**
+     * 이진 형식으로 쓰기
+     * [형식 버전 1B][capacity 4B][size 4B] 뒤에 메시지마다 [역할 1B][시각 8B][UTF-8 길이 4B][UTF-8 본문]
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeByte(FORMAT_VERSION);
+        out.writeInt(capacity);
+        out.writeInt(size);
+        for (int i = 0; i < size; i++) {
+            int slot = physical(i);
+            byte[] utf8 = texts[slot].getBytes(StandardCharsets.UTF_8);
+            out.writeByte(roles[slot]);
+            out.writeLong(timestamps[slot]);
+            out.writeInt(utf8.length);
+            out.write(utf8);
+        }
+    }
+
+    /**
+     * writeTo로 쓴 히스토리 읽기
+     */
+    public static ConversationHistory readFrom(DataInput in) throws IOException {
+        byte version = in.readByte();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("지원하지 않는 히스토리 형식 버전: " + version);
+        }
+        int capacity = in.readInt();
+        int size = in.readInt();
+        if (capacity <= 0 || size < 0 || size > capacity) {
+            throw new IOException("잘못된 히스토리 크기: capacity=" + capacity + ", size=" + size);
+        }
+        ConversationHistory history = new ConversationHistory(capacity);
+        for (int i = 0; i < size; i++) {
+            byte role = in.readByte();
+            long timestamp = in.readLong();
+            int length = in.readInt();
+            if (length < 0) {
+                throw new IOException("잘못된 메시지 길이: " + length);
+            }
+            byte[] utf8 = new byte[length];
+            in.readFully(utf8);
+            if (role != ROLE_USER && role != ROLE_ASSISTANT) {
+                throw new IOException("알 수 없는 역할: " + role);
+            }
+            history.add(role, new String(utf8, StandardCharsets.UTF_8), timestamp);
+        }
+        return history;
+    }
+
+    public byte[] toByteArray() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(16 + 64 * size);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writeTo(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static ConversationHistory fromByteArray(byte[] bytes) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            return readFrom(in);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("히스토리를 읽지 못했습니다: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * GPT 메시지 역할 이름 (user / assistant)
+     */
+    public static String roleName(byte role) {
+        return role == ROLE_USER ? "user" : "assistant";
+    }
+
+    /**
+     * 요약/로그용 역할 표시 (사용자 / AI)
+     */
+    public static String roleLabel(byte role) {
+        return role == ROLE_USER ? "사용자" : "AI";
+    }
+
+    private void set(int slot, byte role, String text, long timestamp) {
+        roles[slot] = role;
+        texts[slot] = text != null ? text : "";
+        timestamps[slot] = timestamp;
+    }
+
+    // 배열을 두 배(최대 capacity)로 키우고 가장 오래된 메시지가 0번 칸에 오도록 다시 배치
+    private void grow() {
+        int newLength = Math.min(capacity, texts.length * 2);
+        byte[] newRoles = new byte[newLength];
+        String[] newTexts = new String[newLength];
+        long[] newTimestamps = new long[newLength];
+        for (int i = 0; i < size; i++) {
+            int slot = physical(i);
+            newRoles[i] = roles[slot];
+            newTexts[i] = texts[slot];
+            newTimestamps[i] = timestamps[slot];
+        }
+        roles = newRoles;
+        texts = newTexts;
+        timestamps = newTimestamps;
+        head = 0;
+    }
+
+    private int physical(int index) {
+        int slot = head + index;
+        return slot < texts.length ? slot : slot - texts.length;
+    }
+
+    private int next(int slot) {
+        return slot + 1 < texts.length ? slot + 1 : 0;
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index " + index + ", size " + size);
+        }
+        return index;
+    }
+
+    private static void checkRole(byte role) {
+        if (role != ROLE_USER && role != ROLE_ASSISTANT) {
+            throw new IllegalArgumentException("알 수 없는 역할: " + role);
+        }
+    }
+
+    /**
+     * 메시지 방문자 - forEach에서 메시지마다 호출
+     */
+    @FunctionalInterface
+    public interface TurnVisitor {
+        void visit(byte role, String text, long timestamp);
+    }
+}
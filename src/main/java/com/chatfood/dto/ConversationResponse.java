@@ -2,6 +2,7 @@ package com.chatfood.dto;
 
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Map;
 
 /**
  * 대화 응답을 위한 DTO
@@ -16,6 +17,8 @@ public class ConversationResponse {
     private String conversationType; // "greeting", "recommendation", "follow_up", "food_selection"
     private boolean isEndOfConversation;
     private String nextAction; // "continue", "food_map", "restart"
+    private Map<String, Long> branchTimings; // 병렬 분기별 소요 시간(ms)
+    private String firstCompletedBranch; // 가장 먼저 완료된 분기
     
     public ConversationResponse() {
         this.recommendations = new ArrayList<>();
@@ -82,4 +85,20 @@ public class ConversationResponse {
     public void setNextAction(String nextAction) {
         this.nextAction = nextAction;
     }
+    
+    public Map<String, Long> getBranchTimings() {
+        return branchTimings;
+    }
+    
+    public void setBranchTimings(Map<String, Long> branchTimings) {
+        this.branchTimings = branchTimings;
+    }
+    
+    public String getFirstCompletedBranch() {
+        return firstCompletedBranch;
+    }
+    
+    public void setFirstCompletedBranch(String firstCompletedBranch) {
+        this.firstCompletedBranch = firstCompletedBranch;
+    }
 }
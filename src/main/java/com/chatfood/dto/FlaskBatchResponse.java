@@ -0,0 +1,26 @@
+package com.chatfood.dto;
+
+import java.util.List;
+
+// Python Flask 서버의 /recommend/batch 응답 (요청한 profiles 순서대로 결과가 담김)
+public class FlaskBatchResponse {
+    private String status;
+    private List<FlaskResponse> results;
+
+    // Getters and Setters
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public List<FlaskResponse> getResults() {
+        return results;
+    }
+
+    public void setResults(List<FlaskResponse> results) {
+        this.results = results;
+    }
+}
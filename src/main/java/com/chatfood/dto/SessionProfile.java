@@ -0,0 +1,43 @@
+package com.chatfood.dto;
+
+import java.io.Serializable;
+
+/**
+ * 로그인 세션에 저장하는 사용자 프로필 스냅샷
+ * 로그인 시 한 번 만들어 두고, 요청마다 DB 조회나 문자열 조립 없이 그대로 사용합니다.
+ * - promptProfile: GPT 시스템 프롬프트에 넣을 사용자 정보 문자열
+ * - userInfo: Python AI(또는 로컬 모델) 추천 요청 본문
+ */
+public final class SessionProfile implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    // HttpSession 속성 이름
+    public static final String SESSION_ATTRIBUTE = "loggedInUserProfile";
+
+    // 이름은 제외: 같은 프로필 유형의 사용자끼리 GPT 응답 캐시를 공유하므로 개인 식별 정보를 넣지 않음
+    private static final String PROMPT_PROFILE_FORMAT = "나이: %s, 성별: %s, 지역: %s, 선호카테고리: %s";
+
+    private final String email;
+    private final String name;
+    private final String promptProfile;
+    private final UserInfo userInfo;
+
+    private SessionProfile(String email, String name, String promptProfile, UserInfo userInfo) {
+        this.email = email;
+        this.name = name;
+        this.promptProfile = promptProfile;
+        this.userInfo = userInfo;
+    }
+
+    public static SessionProfile of(String email, UserProfile profile) {
+        String promptProfile = String.format(PROMPT_PROFILE_FORMAT,
+                profile.getAgeGroup(), profile.getGender(), profile.getRegion(), profile.getPrefCategory());
+        return new SessionProfile(email, profile.getName(), promptProfile, profile.toUserInfo());
+    }
+
+    public String getEmail() { return email; }
+    public String getName() { return name; }
+    public String getPromptProfile() { return promptProfile; }
+    public UserInfo getUserInfo() { return userInfo; }
+}
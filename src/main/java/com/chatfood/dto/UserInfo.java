@@ -1,9 +1,12 @@
 package com.chatfood.dto;
 
+import java.io.Serializable;
 import java.util.List;
 
-// ChatRequest에 포함될 사용자 정보 DTO
-public class UserInfo {
+// ChatRequest에 포함될 사용자 정보 DTO (로그인 세션 스냅샷에도 저장되므로 Serializable)
+public class UserInfo implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     private String name;
     private String gender;
     private String ageGroup;
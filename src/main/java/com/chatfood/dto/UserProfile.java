@@ -0,0 +1,54 @@
+package com.chatfood.dto;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 추천/대화에 필요한 사용자 프로필 (불변)
+ * users 테이블에서 비밀번호 등을 제외한 컬럼만 조회한 결과로, 프로필 캐시에 저장됩니다.
+ */
+public final class UserProfile {
+    private final String name;
+    private final String gender;
+    private final String ageGroup;
+    private final String region;
+    private final String prefCategory;
+    private final List<String> favCategories;
+
+    // JPQL 생성자 표현식에서 사용 (likeCategory는 쉼표로 구분된 문자열)
+    public UserProfile(String name, String gender, String ageGroup, String region,
+                       String prefCategory, String likeCategory) {
+        this.name = name;
+        this.gender = gender;
+        this.ageGroup = ageGroup;
+        this.region = region;
+        this.prefCategory = prefCategory;
+        this.favCategories = likeCategory != null && !likeCategory.isEmpty()
+                ? List.copyOf(Arrays.asList(likeCategory.split(",")))
+                : Collections.emptyList();
+    }
+
+    public String getName() { return name; }
+    public String getGender() { return gender; }
+    public String getAgeGroup() { return ageGroup; }
+    public String getRegion() { return region; }
+    public String getPrefCategory() { return prefCategory; }
+    public List<String> getFavCategories() { return favCategories; }
+
+    /**
+     * Python AI 요청용 UserInfo로 변환
+     */
+    public UserInfo toUserInfo() {
+        UserInfo userInfo = new UserInfo();
+        userInfo.setName(name);
+        userInfo.setGender(gender);
+        userInfo.setAgeGroup(ageGroup);
+        userInfo.setRegion(region);
+        userInfo.setPrefCategory(prefCategory);
+        if (!favCategories.isEmpty()) {
+            userInfo.setFavCategories(favCategories);
+        }
+        return userInfo;
+    }
+}
@@ -21,8 +21,11 @@ package com.chatfood.repository;
  * - existsByEmail(String email) : email 중복 체크
  */
 
+import com.chatfood.dto.UserProfile;
 import com.chatfood.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -37,6 +40,15 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     Optional<User> findByEmail(String email);
     
+    /**
+     * 이메일로 추천/대화용 프로필만 조회 (비밀번호 등 나머지 컬럼은 읽지 않음)
+     * @param email 이메일
+     * @return 사용자 프로필 (Optional)
+     */
+    @Query("select new com.chatfood.dto.UserProfile(u.name, u.gender, u.age, u.region, u.oftenCategory, u.likeCategory) "
+            + "from User u where u.email = :email")
+    Optional<UserProfile> findProfileByEmail(@Param("email") String email);
+    
     /**
      * 이메일 중복 체크
      * @param email 이메일
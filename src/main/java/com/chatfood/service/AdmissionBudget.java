@@ -0,0 +1,114 @@
+package com.chatfood.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 요청 허용 예산 (세션별 → 클라이언트 IP별 → 전역 토큰 버킷 순서로 확인)
+ * 한 단계라도 토큰이 없으면 거절하고, 앞 단계에서 쓴 토큰은 돌려줍니다.
+ *
+ * 전역 버킷이 바닥나면 모든 사용자가 함께 거절되므로, 전역 버킷의 마지막 reserveRatio만큼은
+ * 자기 버킷(세션 또는 IP)을 절반 넘게 남긴 클라이언트만 쓸 수 있게 둡니다.
+ * 과부하 때 요청을 많이 보내는 소수의 클라이언트가 먼저 거절되고 일반 사용자는 계속 처리됩니다.
+ */
+public class AdmissionBudget implements MeterBinder {
+
+    // 이 비율 미만으로 자기 버킷을 남긴 클라이언트는 전역 예비분을 쓰지 못함
+    private static final double HEAVY_CLIENT_FILL_RATIO = 0.5;
+
+    private final String name;
+    private final StripedTokenBuckets sessions;
+    private final StripedTokenBuckets clients;
+    private final TokenBucket global;
+    private final double reserveTokens;
+
+    private final AtomicLong admitted = new AtomicLong();
+    private final AtomicLong rejectedSession = new AtomicLong();
+    private final AtomicLong rejectedClient = new AtomicLong();
+    private final AtomicLong rejectedGlobal = new AtomicLong();
+
+    public AdmissionBudget(String name, StripedTokenBuckets sessions, StripedTokenBuckets clients,
+                           TokenBucket global, double reserveRatio) {
+        this.name = name;
+        this.sessions = sessions;
+        this.clients = clients;
+        this.global = global;
+        this.reserveTokens = global.getBurst() * Math.min(1.0, Math.max(0.0, reserveRatio));
+    }
+
+    /**
+     * 요청 1건 허용 여부
+     * @param sessionId 세션 ID (아직 세션이 없으면 null - IP와 전역 예산만 확인)
+     * @return 허용하면 0, 아니면 다시 시도할 수 있을 때까지의 시간(나노초)
+     */
+    public long tryAdmit(String sessionId, String clientAddress, long nowNanos) {
+        TokenBucket session = sessionId != null ? sessions.bucket(sessionId, nowNanos) : null;
+        if (session != null) {
+            long wait = session.tryAcquire(nowNanos, 0);
+            if (wait > 0) {
+                rejectedSession.incrementAndGet();
+                return wait;
+            }
+        }
+
+        TokenBucket client = clients.bucket(clientAddress, nowNanos);
+        long wait = client.tryAcquire(nowNanos, 0);
+        if (wait > 0) {
+            refund(session);
+            rejectedClient.incrementAndGet();
+            return wait;
+        }
+
+        boolean heavy = client.fillRatio(nowNanos) < HEAVY_CLIENT_FILL_RATIO
+                || (session != null && session.fillRatio(nowNanos) < HEAVY_CLIENT_FILL_RATIO);
+        wait = global.tryAcquire(nowNanos, heavy ? reserveTokens : 0);
+        if (wait > 0) {
+            refund(session);
+            client.refund();
+            rejectedGlobal.incrementAndGet();
+            return wait;
+        }
+
+        admitted.incrementAndGet();
+        return 0;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        counter(registry, admitted, "admitted");
+        counter(registry, rejectedSession, "rejected_session");
+        counter(registry, rejectedClient, "rejected_ip");
+        counter(registry, rejectedGlobal, "rejected_global");
+        Gauge.builder("admission.tracked.keys", sessions, StripedTokenBuckets::size)
+                .description("토큰 버킷을 유지 중인 키 수")
+                .tags("budget", name, "scope", "session")
+                .register(registry);
+        Gauge.builder("admission.tracked.keys", clients, StripedTokenBuckets::size)
+                .tags("budget", name, "scope", "ip")
+                .register(registry);
+        Gauge.builder("admission.global.fill", global, bucket -> bucket.fillRatio(System.nanoTime()))
+                .description("전역 버킷에 남은 토큰 비율")
+                .tag("budget", name)
+                .register(registry);
+    }
+
+    private void counter(MeterRegistry registry, AtomicLong count, String result) {
+        FunctionCounter.builder("admission.requests", count, AtomicLong::get)
+                .tags("budget", name, "result", result)
+                .register(registry);
+    }
+
+    private static void refund(TokenBucket bucket) {
+        if (bucket != null) {
+            bucket.refund();
+        }
+    }
+}
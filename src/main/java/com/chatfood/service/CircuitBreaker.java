@@ -0,0 +1,317 @@
+package com.chatfood.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+/**
+ * 외부 서버 호출용 서킷 브레이커
+ * - CLOSED: 최근 slidingWindowSize개 호출의 실패율이 임계치를 넘으면 OPEN
+ * - OPEN: openDuration 동안 호출하지 않고 즉시 CallNotPermittedException
+ * - HALF_OPEN: halfOpenCalls개만 시험 호출, 모두 성공하면 CLOSED, 하나라도 실패하면 다시 OPEN
+ */
+public class CircuitBreaker implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final String name;
+    private final int failureRateThreshold;
+    private final int minimumCalls;
+    private final long openDurationMillis;
+    private final int halfOpenCalls;
+    private final Predicate<Throwable> recordFailure;
+
+    // 최근 호출 결과 (원형 버퍼, true = 실패)
+    private final boolean[] window;
+    private int windowIndex;
+    private int windowCount;
+    private int windowFailures;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Map<State, AtomicLong> transitions = new EnumMap<>(State.class);
+    private final AtomicLong notPermitted = new AtomicLong();
+
+    /**
+     * @param failureRateThreshold OPEN으로 바꿀 실패율(%)
+     * @param slidingWindowSize 실패율을 계산할 최근 호출 수
+     * @param minimumCalls 실패율을 계산하기 시작할 최소 호출 수
+     * @param openDurationMillis OPEN 상태 유지 시간
+     * @param halfOpenCalls HALF_OPEN에서 허용할 시험 호출 수
+     * @param recordFailure 실패로 셀 에러 (예: 4xx 요청 오류는 제외)
+     */
+    public CircuitBreaker(String name, int failureRateThreshold, int slidingWindowSize, int minimumCalls,
+                          long openDurationMillis, int halfOpenCalls, Predicate<Throwable> recordFailure) {
+        this.name = name;
+        this.failureRateThreshold = failureRateThreshold;
+        this.window = new boolean[Math.max(1, slidingWindowSize)];
+        this.minimumCalls = Math.max(1, Math.min(minimumCalls, window.length));
+        this.openDurationMillis = openDurationMillis;
+        this.halfOpenCalls = Math.max(1, halfOpenCalls);
+        this.recordFailure = recordFailure;
+        for (State s : State.values()) {
+            transitions.put(s, new AtomicLong());
+        }
+    }
+
+    /**
+     * 호출을 서킷 브레이커로 감쌈
+     * 허용되지 않으면 호출하지 않고 바로 CallNotPermittedException으로 끝납니다.
+     */
+    public <T> Mono<T> protect(Mono<T> call) {
+        return Mono.defer(() -> {
+            if (!tryAcquirePermission()) {
+                notPermitted.incrementAndGet();
+                return Mono.error(new CallNotPermittedException(name));
+            }
+            CallRecorder recorder = new CallRecorder();
+            return call
+                    .doOnSuccess(value -> recorder.success())
+                    .doOnError(recorder::error)
+                    .doOnCancel(recorder::cancel);
+        });
+    }
+
+    /**
+     * 스트리밍 호출을 서킷 브레이커로 감쌈 (정상 완료 시 성공으로 기록)
+     */
+    public <T> Flux<T> protect(Flux<T> call) {
+        return Flux.defer(() -> {
+            if (!tryAcquirePermission()) {
+                notPermitted.incrementAndGet();
+                return Flux.error(new CallNotPermittedException(name));
+            }
+            CallRecorder recorder = new CallRecorder();
+            return call
+                    .doOnComplete(recorder::success)
+                    .doOnError(recorder::error)
+                    .doOnCancel(recorder::cancel);
+        });
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public State getState() {
+        lock.lock();
+        try {
+            return currentState(System.currentTimeMillis());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isCallPermitted() {
+        return getState() != State.OPEN;
+    }
+
+    /**
+     * 현재 윈도우의 실패율(%) (최소 호출 수 미만이면 0)
+     */
+    public double getFailureRate() {
+        lock.lock();
+        try {
+            return windowCount < minimumCalls ? 0.0 : windowFailures * 100.0 / windowCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getNotPermittedCount() {
+        return notPermitted.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("circuit.breaker.state", this, breaker -> breaker.getState().ordinal())
+                .description("0=CLOSED, 1=OPEN, 2=HALF_OPEN")
+                .tag("name", name)
+                .register(registry);
+        Gauge.builder("circuit.breaker.failure.rate", this, CircuitBreaker::getFailureRate)
+                .tag("name", name)
+                .baseUnit("percent")
+                .register(registry);
+        for (Map.Entry<State, AtomicLong> entry : transitions.entrySet()) {
+            FunctionCounter.builder("circuit.breaker.transitions", entry.getValue(), AtomicLong::get)
+                    .tag("name", name)
+                    .tag("to", entry.getKey().name().toLowerCase())
+                    .register(registry);
+        }
+        FunctionCounter.builder("circuit.breaker.not.permitted", notPermitted, AtomicLong::get)
+                .description("OPEN 상태라 호출하지 않고 바로 실패시킨 요청 수")
+                .tag("name", name)
+                .register(registry);
+    }
+
+    private boolean tryAcquirePermission() {
+        lock.lock();
+        try {
+            State current = currentState(System.currentTimeMillis());
+            if (current == State.CLOSED) {
+                return true;
+            }
+            if (current == State.HALF_OPEN && halfOpenPermits > 0) {
+                halfOpenPermits--;
+                return true;
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onSuccess() {
+        lock.lock();
+        try {
+            if (state == State.HALF_OPEN) {
+                halfOpenSuccesses++;
+                if (halfOpenSuccesses >= halfOpenCalls) {
+                    transitionTo(State.CLOSED);
+                }
+                return;
+            }
+            if (state == State.CLOSED) {
+                record(false);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onFailure() {
+        lock.lock();
+        try {
+            if (state == State.HALF_OPEN) {
+                transitionTo(State.OPEN);
+                return;
+            }
+            if (state == State.CLOSED) {
+                record(true);
+                if (windowCount >= minimumCalls && windowFailures * 100 >= failureRateThreshold * windowCount) {
+                    transitionTo(State.OPEN);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void releasePermission() {
+        lock.lock();
+        try {
+            if (state == State.HALF_OPEN && halfOpenPermits < halfOpenCalls) {
+                halfOpenPermits++;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // lock을 잡은 상태에서 호출 - OPEN 유지 시간이 지났으면 HALF_OPEN으로 전환
+    private State currentState(long now) {
+        if (state == State.OPEN && now - openedAt >= openDurationMillis) {
+            transitionTo(State.HALF_OPEN);
+        }
+        return state;
+    }
+
+    // lock을 잡은 상태에서 호출
+    private void record(boolean failure) {
+        if (windowCount == window.length) {
+            if (window[windowIndex]) {
+                windowFailures--;
+            }
+        } else {
+            windowCount++;
+        }
+        window[windowIndex] = failure;
+        if (failure) {
+            windowFailures++;
+        }
+        windowIndex = (windowIndex + 1) % window.length;
+    }
+
+    // lock을 잡은 상태에서 호출
+    private void transitionTo(State next) {
+        State previous = state;
+        state = next;
+        transitions.get(next).incrementAndGet();
+
+        if (next == State.OPEN) {
+            openedAt = System.currentTimeMillis();
+        } else if (next == State.HALF_OPEN) {
+            halfOpenPermits = halfOpenCalls;
+            halfOpenSuccesses = 0;
+        } else {
+            windowIndex = 0;
+            windowCount = 0;
+            windowFailures = 0;
+        }
+
+        if (next == State.OPEN) {
+            logger.warn("서킷 브레이커 [{}] {} → {} ({}ms 동안 호출 차단)", name, previous, next, openDurationMillis);
+        } else {
+            logger.info("서킷 브레이커 [{}] {} → {}", name, previous, next);
+        }
+    }
+
+    /**
+     * 허용된 호출 한 건의 결과를 한 번만 기록
+     */
+    private final class CallRecorder {
+        private final AtomicBoolean recorded = new AtomicBoolean();
+
+        private void success() {
+            if (recorded.compareAndSet(false, true)) {
+                onSuccess();
+            }
+        }
+
+        private void error(Throwable error) {
+            if (recorded.compareAndSet(false, true)) {
+                if (recordFailure.test(error)) {
+                    onFailure();
+                } else {
+                    onSuccess();
+                }
+            }
+        }
+
+        // 취소된 호출은 결과 없이 허용 수만 돌려줌
+        private void cancel() {
+            if (recorded.compareAndSet(false, true)) {
+                releasePermission();
+            }
+        }
+    }
+
+    /**
+     * 서킷이 열려 있어 호출하지 않았음을 알리는 예외
+     */
+    public static class CallNotPermittedException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        public CallNotPermittedException(String name) {
+            super("서킷 브레이커 [" + name + "]가 열려 있어 호출하지 않았습니다.");
+        }
+    }
+}
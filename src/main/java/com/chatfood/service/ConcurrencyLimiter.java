@@ -0,0 +1,209 @@
+package com.chatfood.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 외부 의존성별 동시 호출 수 제한 (비동기 세마포어)
+ * 허용 수(maxConcurrent)를 넘는 호출은 스레드를 막지 않고 대기열에서 순서대로 기다리며,
+ * 대기열이 가득 찼거나 acquireTimeout 안에 차례가 오지 않으면 호출하지 않고 바로 LimitExceededException으로 끝납니다.
+ * 가상 스레드처럼 요청 스레드 수가 사실상 무제한일 때 OpenAI/Flask/DB로 나가는 동시 호출을 여기서 묶어 둡니다.
+ */
+public class ConcurrencyLimiter implements MeterBinder {
+
+    private final String name;
+    private final int maxConcurrent;
+    private final int maxQueued;
+    private final Duration acquireTimeout;
+
+    private int available;
+    private final ArrayDeque<Waiter> waiters = new ArrayDeque<>();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong rejected = new AtomicLong();
+
+    /**
+     * @param maxConcurrent 동시에 진행할 수 있는 호출 수
+     * @param maxQueued 허용 수를 넘었을 때 기다릴 수 있는 호출 수
+     * @param acquireTimeoutMillis 대기열에서 기다릴 최대 시간
+     */
+    public ConcurrencyLimiter(String name, int maxConcurrent, int maxQueued, long acquireTimeoutMillis) {
+        this.name = name;
+        this.maxConcurrent = Math.max(1, maxConcurrent);
+        this.maxQueued = Math.max(0, maxQueued);
+        this.acquireTimeout = Duration.ofMillis(acquireTimeoutMillis);
+        this.available = this.maxConcurrent;
+    }
+
+    /**
+     * 허용 수 안에서만 호출을 구독 (완료/에러/취소 시 허용 수 반환)
+     */
+    public <T> Mono<T> limit(Mono<T> call) {
+        return acquire().flatMap(permit -> call.doFinally(signal -> permit.release()));
+    }
+
+    /**
+     * 스트리밍 호출을 허용 수 안에서만 구독 (스트림이 끝날 때까지 허용 수 하나를 점유)
+     */
+    public <T> Flux<T> limit(Flux<T> call) {
+        return acquire().flatMapMany(permit -> call.doFinally(signal -> permit.release()));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public int getQueued() {
+        lock.lock();
+        try {
+            return waiters.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("concurrency.limiter.in.flight", inFlight, AtomicInteger::get)
+                .description("진행 중인 호출 수")
+                .tag("name", name)
+                .register(registry);
+        Gauge.builder("concurrency.limiter.queued", this, ConcurrencyLimiter::getQueued)
+                .description("허용 수를 기다리는 호출 수")
+                .tag("name", name)
+                .register(registry);
+        Gauge.builder("concurrency.limiter.max", this, limiter -> limiter.maxConcurrent)
+                .tag("name", name)
+                .register(registry);
+        FunctionCounter.builder("concurrency.limiter.rejected", rejected, AtomicLong::get)
+                .description("대기열이 가득 찼거나 대기 시간을 넘겨 호출하지 않은 요청 수")
+                .tag("name", name)
+                .register(registry);
+    }
+
+    private Mono<Permit> acquire() {
+        Mono<Permit> acquire = Mono.create(sink -> {
+            Waiter waiter = new Waiter(sink);
+            lock.lock();
+            try {
+                if (available > 0) {
+                    available--;
+                    waiter.state.set(Waiter.GRANTED);
+                } else if (waiters.size() < maxQueued) {
+                    waiters.addLast(waiter);
+                } else {
+                    waiter.state.set(Waiter.CANCELLED);
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            switch (waiter.state.get()) {
+                case Waiter.GRANTED -> grant(waiter);
+                case Waiter.CANCELLED -> {
+                    rejected.incrementAndGet();
+                    sink.error(new LimitExceededException(name, "대기열이 가득 찼습니다"));
+                }
+                default -> sink.onCancel(() -> {
+                    // 차례가 오기 전에 취소(타임아웃 포함)되면 대기열에서 빼고, 이미 받은 허용 수는 돌려줌
+                    if (waiter.state.compareAndSet(Waiter.WAITING, Waiter.CANCELLED)) {
+                        lock.lock();
+                        try {
+                            waiters.remove(waiter);
+                        } finally {
+                            lock.unlock();
+                        }
+                    } else {
+                        waiter.permit.release();
+                    }
+                });
+            }
+        });
+        return acquire.timeout(acquireTimeout, Mono.defer(() -> {
+            rejected.incrementAndGet();
+            return Mono.error(new LimitExceededException(name, acquireTimeout.toMillis() + "ms 안에 차례가 오지 않았습니다"));
+        }));
+    }
+
+    private void grant(Waiter waiter) {
+        inFlight.incrementAndGet();
+        waiter.sink.success(waiter.permit);
+    }
+
+    // 기다리는 호출이 있으면 허용 수를 바로 넘기고, 없으면 반환
+    private void releasePermit() {
+        while (true) {
+            Waiter next;
+            lock.lock();
+            try {
+                next = waiters.pollFirst();
+                if (next == null) {
+                    available++;
+                    return;
+                }
+            } finally {
+                lock.unlock();
+            }
+            if (next.state.compareAndSet(Waiter.WAITING, Waiter.GRANTED)) {
+                grant(next);
+                return;
+            }
+        }
+    }
+
+    private final class Waiter {
+        static final int WAITING = 0;
+        static final int GRANTED = 1;
+        static final int CANCELLED = 2;
+
+        private final MonoSink<Permit> sink;
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+        private final Permit permit = new Permit();
+
+        private Waiter(MonoSink<Permit> sink) {
+            this.sink = sink;
+        }
+    }
+
+    /**
+     * 받은 허용 수 하나 (취소와 호출 종료가 겹쳐도 한 번만 반환)
+     */
+    private final class Permit {
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                inFlight.decrementAndGet();
+                releasePermit();
+            }
+        }
+    }
+
+    /**
+     * 동시 호출 수 제한으로 호출하지 않았음을 알리는 예외
+     */
+    public static class LimitExceededException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        public LimitExceededException(String name, String reason) {
+            super("동시 호출 제한 [" + name + "] - " + reason);
+        }
+    }
+}
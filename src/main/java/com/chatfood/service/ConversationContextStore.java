@@ -0,0 +1,242 @@
+package com.chatfood.service;
+
+import com.chatfood.dto.ConversationContext;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 세션별 대화 컨텍스트 메모리 저장소 (chat.store.type=memory, 기본값)
+ * - 마지막 접근 후 idle TTL이 지나면 만료
+ * - 최대 세션 수 / 최대 메모리(추정치)를 넘으면 가장 오래 사용하지 않은 세션부터 제거 (LRU)
+ * - 만료 정리는 배치 단위로 잠금을 짧게 잡고 반복하여 전체 스캔으로 요청이 멈추지 않게 합니다.
+ */
+@Component
+@ConditionalOnProperty(name = "chat.store.type", havingValue = "memory", matchIfMissing = true)
+public class ConversationContextStore implements ConversationStore, MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConversationContextStore.class);
+
+    // 한 번 잠금을 잡았을 때 정리할 최대 항목 수
+    private static final int CLEANUP_BATCH_SIZE = 256;
+
+    private final int maxEntries;
+    private final long maxBytes;
+    private final long idleTtlMillis;
+    private final int maxHistorySize;
+
+    // 접근 순서(access-order) LinkedHashMap: 맨 앞이 가장 오래 접근하지 않은 세션
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private final ReentrantLock lock = new ReentrantLock();
+    private long estimatedBytes;
+
+    private final AtomicLong expiredEvictions = new AtomicLong();
+    private final AtomicLong capacityEvictions = new AtomicLong();
+
+    public ConversationContextStore(@Value("${chat.context.max-entries:10000}") int maxEntries,
+                                    @Value("${chat.context.max-bytes:67108864}") long maxBytes,
+                                    @Value("${chat.context.idle-ttl-minutes:30}") long idleTtlMinutes,
+                                    @Value("${chat.context.max-history:40}") int maxHistorySize) {
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        this.idleTtlMillis = idleTtlMinutes * 60_000L;
+        this.maxHistorySize = maxHistorySize;
+    }
+
+    @Override
+    public Mono<ConversationContext> getOrCreate(String sessionId, String userEmail) {
+        return Mono.fromSupplier(() -> getOrCreateNow(sessionId, userEmail));
+    }
+
+    // 같은 객체를 계속 쓰므로 히스토리만 추가하면 저장 끝 (메모리 추정치는 다음 접근 때 갱신)
+    @Override
+    public Mono<Void> appendTurn(ConversationContext context, String userMessage, String aiReply) {
+        return Mono.fromRunnable(() -> context.addTurn(userMessage, aiReply));
+    }
+
+    @Override
+    public Mono<Void> save(ConversationContext context) {
+        return Mono.empty();
+    }
+
+    @Override
+    public Mono<Void> remove(String sessionId) {
+        return Mono.fromRunnable(() -> removeNow(sessionId));
+    }
+
+    /**
+     * 대화 컨텍스트 가져오기 또는 생성
+     * 만료된 컨텍스트는 새로 만듭니다.
+     */
+    private ConversationContext getOrCreateNow(String sessionId, String userEmail) {
+        long now = System.currentTimeMillis();
+        lock.lock();
+        try {
+            Entry entry = entries.get(sessionId);
+            if (entry != null && now - entry.lastAccess > idleTtlMillis) {
+                removeEntry(sessionId, entry);
+                expiredEvictions.incrementAndGet();
+                entry = null;
+            }
+
+            if (entry == null) {
+                ConversationContext context = new ConversationContext(sessionId, userEmail);
+                context.setMaxHistorySize(maxHistorySize);
+                entry = new Entry(context);
+                entries.put(sessionId, entry);
+            }
+
+            // 마지막 턴 이후 늘어난 히스토리를 반영하여 메모리 추정치 갱신
+            entry.lastAccess = now;
+            long bytes = entry.context.estimateSizeInBytes();
+            estimatedBytes += bytes - entry.bytes;
+            entry.bytes = bytes;
+
+            evictOverCapacity(sessionId);
+            return entry.context;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void removeNow(String sessionId) {
+        lock.lock();
+        try {
+            Entry entry = entries.get(sessionId);
+            if (entry != null) {
+                removeEntry(sessionId, entry);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 만료된 컨텍스트 정리 (백그라운드)
+     * 접근 순서로 정렬되어 있으므로 앞에서부터 만료되지 않은 항목을 만나면 중단합니다.
+     */
+    @Scheduled(fixedDelayString = "${chat.context.cleanup-interval-ms:30000}")
+    public void evictExpired() {
+        long evicted = 0;
+        boolean more = true;
+        while (more) {
+            long now = System.currentTimeMillis();
+            lock.lock();
+            try {
+                more = false;
+                int processed = 0;
+                Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+                while (iterator.hasNext()) {
+                    Entry entry = iterator.next().getValue();
+                    if (now - entry.lastAccess <= idleTtlMillis) {
+                        break;
+                    }
+                    iterator.remove();
+                    estimatedBytes -= entry.bytes;
+                    evicted++;
+                    if (++processed >= CLEANUP_BATCH_SIZE) {
+                        // 다음 배치 전에 잠금을 풀어 요청 처리에 양보
+                        more = true;
+                        break;
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        if (evicted > 0) {
+            expiredEvictions.addAndGet(evicted);
+            logger.info("만료된 대화 컨텍스트 정리 - 제거: {}, 남은 세션: {}", evicted, size());
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getEstimatedBytes() {
+        lock.lock();
+        try {
+            return estimatedBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getExpiredEvictions() {
+        return expiredEvictions.get();
+    }
+
+    public long getCapacityEvictions() {
+        return capacityEvictions.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("chat.context.size", this, ConversationContextStore::size)
+                .description("저장된 대화 컨텍스트(세션) 수")
+                .register(registry);
+        Gauge.builder("chat.context.bytes", this, ConversationContextStore::getEstimatedBytes)
+                .description("대화 컨텍스트 메모리 추정치")
+                .baseUnit("bytes")
+                .register(registry);
+        FunctionCounter.builder("chat.context.evictions", expiredEvictions, AtomicLong::get)
+                .tag("reason", "expired")
+                .register(registry);
+        FunctionCounter.builder("chat.context.evictions", capacityEvictions, AtomicLong::get)
+                .tag("reason", "capacity")
+                .register(registry);
+    }
+
+    /**
+     * 최대 세션 수 / 최대 메모리를 넘으면 LRU 순서로 제거 (잠금 보유 상태에서 호출)
+     * 방금 접근한 세션은 제거하지 않습니다.
+     */
+    private void evictOverCapacity(String currentSessionId) {
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while ((entries.size() > maxEntries || estimatedBytes > maxBytes) && iterator.hasNext()) {
+            Map.Entry<String, Entry> eldest = iterator.next();
+            if (eldest.getKey().equals(currentSessionId)) {
+                break;
+            }
+            iterator.remove();
+            estimatedBytes -= eldest.getValue().bytes;
+            capacityEvictions.incrementAndGet();
+        }
+    }
+
+    private void removeEntry(String sessionId, Entry entry) {
+        entries.remove(sessionId);
+        estimatedBytes -= entry.bytes;
+    }
+
+    private static final class Entry {
+        private final ConversationContext context;
+        private long lastAccess;
+        private long bytes;
+
+        private Entry(ConversationContext context) {
+            this.context = context;
+        }
+    }
+}
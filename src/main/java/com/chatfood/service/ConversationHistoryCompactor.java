@@ -0,0 +1,151 @@
+package com.chatfood.service;
+
+import com.chatfood.dto.ConversationContext;
+import com.chatfood.dto.ConversationHistory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 대화 히스토리 압축기
+ * 최근 N개의 메시지는 그대로 두고, 오래된 메시지는 컨텍스트의 누적 요약으로 옮겨
+ * GPT 프롬프트가 토큰 예산을 넘지 않도록 합니다.
+ */
+@Component
+public class ConversationHistoryCompactor {
+
+    // 요약에 남길 메시지 한 줄의 최대 길이
+    private static final int SUMMARY_LINE_MAX_CHARS = 40;
+
+    private final FoodNameExtractor foodNameExtractor;
+    private final int tokenBudget;
+    private final int recentMessages;
+    private final int summaryMaxChars;
+
+    public ConversationHistoryCompactor(FoodNameExtractor foodNameExtractor,
+                                        @Value("${chat.history.token-budget:2500}") int tokenBudget,
+                                        @Value("${chat.history.recent-messages:6}") int recentMessages,
+                                        @Value("${chat.history.summary-max-chars:600}") int summaryMaxChars) {
+        this.foodNameExtractor = foodNameExtractor;
+        this.tokenBudget = tokenBudget;
+        this.recentMessages = recentMessages;
+        this.summaryMaxChars = summaryMaxChars;
+    }
+
+    /**
+     * 히스토리 압축
+     * @param context 대화 컨텍스트 (오래된 메시지가 요약으로 옮겨짐)
+     * @param reservedTokens 시스템 프롬프트, 현재 메시지 등 히스토리 외에 이미 사용한 토큰
+     * @return 프롬프트에 넣을 요약과 그대로 보낼 최근 메시지 (컨텍스트의 히스토리를 복사하지 않고 그대로 가리키므로
+     *         최근 메시지를 읽는 동안에도 context.historyLock()을 잡고 있어야 함)
+     */
+    public CompactedHistory compact(ConversationContext context, int reservedTokens) {
+        context.historyLock().lock();
+        try {
+            return compactLocked(context, reservedTokens);
+        } finally {
+            context.historyLock().unlock();
+        }
+    }
+
+    private CompactedHistory compactLocked(ConversationContext context, int reservedTokens) {
+        ConversationHistory history = context.getConversationHistory();
+
+        // 1) 최근 N개를 넘는 오래된 메시지는 요약으로 이동
+        if (history.size() > recentMessages) {
+            fold(context, history.size() - recentMessages);
+        }
+
+        // 2) 토큰 예산을 넘으면 가장 오래된 메시지부터 요약으로 이동
+        int available = Math.max(0, tokenBudget - reservedTokens);
+        int historyTokens = 0;
+        for (int i = 0; i < history.size(); i++) {
+            historyTokens += TokenCounter.estimateMessage(history.text(i));
+        }
+        while (!history.isEmpty() && TokenCounter.estimate(context.getHistorySummary()) + historyTokens > available) {
+            historyTokens -= TokenCounter.estimateMessage(history.text(0));
+            fold(context, 1);
+        }
+
+        // 3) 요약만으로도 예산을 넘으면 오래된 부분부터 잘라냄
+        String summary = context.getHistorySummary();
+        while (summary != null && !summary.isEmpty() && TokenCounter.estimate(summary) > available) {
+            int newline = summary.indexOf('\n');
+            summary = newline >= 0 ? summary.substring(newline + 1) : "";
+        }
+        context.setHistorySummary(summary);
+
+        return new CompactedHistory(summary, history);
+    }
+
+    /**
+     * 가장 오래된 메시지 count개를 요약 문장으로 바꿔 누적 요약 뒤에 붙임
+     */
+    private void fold(ConversationContext context, int count) {
+        ConversationHistory history = context.getConversationHistory();
+        StringBuilder summary = new StringBuilder();
+        if (context.getHistorySummary() != null) {
+            summary.append(context.getHistorySummary());
+        }
+
+        for (int i = 0; i < count && !history.isEmpty(); i++) {
+            String line = condense(history.role(0), history.text(0));
+            history.removeOldest();
+            if (!line.isEmpty()) {
+                if (summary.length() > 0) {
+                    summary.append('\n');
+                }
+                summary.append(line);
+            }
+        }
+
+        // 요약 최대 길이를 넘으면 최근 내용이 남도록 앞쪽 줄부터 제거
+        while (summary.length() > summaryMaxChars) {
+            int newline = summary.indexOf("\n");
+            if (newline < 0) {
+                summary.delete(0, summary.length() - summaryMaxChars);
+                break;
+            }
+            summary.delete(0, newline + 1);
+        }
+        context.setHistorySummary(summary.toString());
+    }
+
+    /**
+     * 메시지 한 개를 요약 한 줄로 축약
+     * AI 응답은 언급된 음식 이름만 남깁니다.
+     */
+    private String condense(byte role, String text) {
+        if (role == ConversationHistory.ROLE_ASSISTANT) {
+            List<String> foods = foodNameExtractor.extract(text);
+            if (!foods.isEmpty()) {
+                return "AI 추천: " + String.join(", ", foods.subList(0, Math.min(foods.size(), 3)));
+            }
+        }
+        return ConversationHistory.roleLabel(role) + ": " + abbreviate(text.trim());
+    }
+
+    private String abbreviate(String text) {
+        String singleLine = text.replace('\n', ' ');
+        return singleLine.length() <= SUMMARY_LINE_MAX_CHARS
+                ? singleLine
+                : singleLine.substring(0, SUMMARY_LINE_MAX_CHARS) + "…";
+    }
+
+    /**
+     * 압축 결과 - 누적 요약과 그대로 보낼 최근 메시지
+     */
+    public static class CompactedHistory {
+        private final String summary;
+        private final ConversationHistory recentHistory;
+
+        public CompactedHistory(String summary, ConversationHistory recentHistory) {
+            this.summary = summary;
+            this.recentHistory = recentHistory;
+        }
+
+        public String getSummary() { return summary; }
+        public ConversationHistory getRecentHistory() { return recentHistory; }
+    }
+}
@@ -0,0 +1,38 @@
+package com.chatfood.service;
+
+import com.chatfood.dto.ConversationContext;
+import reactor.core.publisher.Mono;
+
+/**
+ * 세션별 대화 컨텍스트 저장소
+ * chat.store.type으로 구현을 고릅니다.
+ * - memory (기본): 프로세스 메모리에만 보관 (ConversationContextStore) - 단일 인스턴스 또는 sticky 세션용
+ * - jdbc: DB에 보관하고 로컬 near-cache를 버전으로 검증 (JdbcConversationStore) - 여러 인스턴스가 상태를 공유
+ *
+ * 구현에 따라 DB를 쓰므로 모든 메서드는 Mono로 반환합니다. 저장 실패는 대화를 막지 않도록 구현 안에서 처리합니다.
+ */
+public interface ConversationStore {
+
+    /**
+     * 대화 컨텍스트 가져오기 또는 생성 (만료된 컨텍스트는 새로 만듦)
+     */
+    Mono<ConversationContext> getOrCreate(String sessionId, String userEmail);
+
+    /**
+     * 대화 한 턴(사용자 메시지 + AI 답변)을 히스토리에 추가하고 저장
+     * 히스토리 압축으로 바뀐 요약/히스토리 범위도 함께 저장합니다.
+     * @param userMessage 사용자 메시지 본문 (역할 접두사 없이)
+     * @param aiReply AI 답변 본문
+     */
+    Mono<Void> appendTurn(ConversationContext context, String userMessage, String aiReply);
+
+    /**
+     * 히스토리 외 상태(추천 목록 등) 변경 저장
+     */
+    Mono<Void> save(ConversationContext context);
+
+    /**
+     * 세션 컨텍스트 제거
+     */
+    Mono<Void> remove(String sessionId);
+}
@@ -0,0 +1,182 @@
+package com.chatfood.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * 로컬 음식 사전 기반 음식 이름 추출기
+ * GPT 응답 문자열을 Aho-Corasick 오토마톤으로 한 번만 훑어서 사전에 있는 음식 이름을 찾습니다.
+ * (두 번째 GPT 호출 없이 음식 목록을 얻기 위한 용도)
+ */
+@Component
+public class FoodNameExtractor {
+
+    private static final Logger logger = LoggerFactory.getLogger(FoodNameExtractor.class);
+
+    // 음식 사전 파일 (Python 모델의 food_price_map 라벨 + 자주 쓰는 한식/외식 메뉴)
+    private static final String LEXICON_RESOURCE = "food/food-lexicon.txt";
+
+    // 어미와 모양이 같은 이름 - 바로 앞 글자가 한글 음절이면 음식으로 보지 않음 (예: "한식이라면", "점심이라면")
+    private static final Set<String> BOUNDARY_REQUIRED = Set.of("라면");
+
+    // 오토마톤 노드 정보 (인덱스 = 노드 번호, 0번은 루트)
+    private final List<Map<Character, Integer>> transitions = new ArrayList<>();
+    private final List<Integer> failureLinks = new ArrayList<>();
+    // 노드에서 끝나는 단어의 길이 중 가장 긴 값 (실패 링크를 따라 합친 결과, 없으면 0)
+    private final List<Integer> matchLengths = new ArrayList<>();
+
+    private final int lexiconSize;
+
+    public FoodNameExtractor() {
+        this(loadLexicon());
+    }
+
+    public FoodNameExtractor(Collection<String> foodNames) {
+        addNode();
+        int count = 0;
+        for (String foodName : foodNames) {
+            String name = foodName.trim();
+            if (!name.isEmpty()) {
+                insert(name);
+                count++;
+            }
+        }
+        buildFailureLinks();
+        this.lexiconSize = count;
+        logger.info("음식 사전 로딩 완료 - 단어 수: {}, 노드 수: {}", lexiconSize, transitions.size());
+    }
+
+    /**
+     * 텍스트에 등장한 음식 이름을 등장 순서대로 중복 없이 반환
+     * 겹치는 후보는 더 앞에서 시작하고 더 긴 이름을 우선합니다. (예: "김치찌개" > "김치")
+     */
+    public List<String> extract(String text) {
+        if (text == null || text.isEmpty() || lexiconSize == 0) {
+            return new ArrayList<>();
+        }
+
+        // 각 시작 위치별로 가장 긴 매칭 길이를 기록
+        int[] longestAt = new int[text.length()];
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            Integer next = transitions.get(state).get(c);
+            while (next == null && state != 0) {
+                state = failureLinks.get(state);
+                next = transitions.get(state).get(c);
+            }
+            state = next != null ? next : 0;
+
+            int length = matchLengths.get(state);
+            if (length > 0) {
+                int start = i - length + 1;
+                longestAt[start] = Math.max(longestAt[start], length);
+            }
+        }
+
+        // 왼쪽부터 겹치지 않게 선택
+        LinkedHashSet<String> foods = new LinkedHashSet<>();
+        int i = 0;
+        while (i < longestAt.length) {
+            if (longestAt[i] > 0) {
+                String food = text.substring(i, i + longestAt[i]);
+                if (!BOUNDARY_REQUIRED.contains(food) || !isHangulSyllable(text, i - 1)) {
+                    foods.add(food);
+                    i += longestAt[i];
+                    continue;
+                }
+            }
+            i++;
+        }
+        return new ArrayList<>(foods);
+    }
+
+    private static boolean isHangulSyllable(String text, int index) {
+        if (index < 0) {
+            return false;
+        }
+        char c = text.charAt(index);
+        return c >= '\uAC00' && c <= '\uD7A3';
+    }
+
+    public int getLexiconSize() {
+        return lexiconSize;
+    }
+
+    private int addNode() {
+        transitions.add(new HashMap<>());
+        failureLinks.add(0);
+        matchLengths.add(0);
+        return transitions.size() - 1;
+    }
+
+    private void insert(String word) {
+        int state = 0;
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            Integer next = transitions.get(state).get(c);
+            if (next == null) {
+                next = addNode();
+                transitions.get(state).put(c, next);
+            }
+            state = next;
+        }
+        matchLengths.set(state, Math.max(matchLengths.get(state), word.length()));
+    }
+
+    /**
+     * BFS로 실패 링크를 만들고, 실패 링크 쪽에서 끝나는 단어 길이도 함께 합칩니다.
+     */
+    private void buildFailureLinks() {
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int child : transitions.get(0).values()) {
+            failureLinks.set(child, 0);
+            queue.add(child);
+        }
+
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (Map.Entry<Character, Integer> edge : transitions.get(state).entrySet()) {
+                char c = edge.getKey();
+                int child = edge.getValue();
+
+                int fallback = failureLinks.get(state);
+                while (fallback != 0 && !transitions.get(fallback).containsKey(c)) {
+                    fallback = failureLinks.get(fallback);
+                }
+                Integer target = transitions.get(fallback).get(c);
+                int failure = (target != null && target != child) ? target : 0;
+
+                failureLinks.set(child, failure);
+                matchLengths.set(child, Math.max(matchLengths.get(child), matchLengths.get(failure)));
+                queue.add(child);
+            }
+        }
+    }
+
+    private static List<String> loadLexicon() {
+        List<String> foodNames = new ArrayList<>();
+        ClassPathResource resource = new ClassPathResource(LEXICON_RESOURCE);
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String trimmed = line.trim();
+                if (!trimmed.isEmpty() && !trimmed.startsWith("#")) {
+                    foodNames.add(trimmed);
+                }
+            }
+        } catch (IOException e) {
+            logger.error("음식 사전 로딩 실패 - 리소스: {}", LEXICON_RESOURCE, e);
+        }
+        return foodNames;
+    }
+}
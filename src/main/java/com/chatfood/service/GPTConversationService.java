@@ -1,218 +1,62 @@
 package com.chatfood.service;
 
+import com.chatfood.config.LoggingConfig;
+import com.chatfood.config.RequestMdc;
+import com.chatfood.config.ResilienceConfig;
 import com.chatfood.dto.*;
-import com.chatfood.entity.User;
-import com.chatfood.repository.UserRepository;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
 
+import java.time.Duration;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * GPT API를 활용한 간결한 대화 서비스
  * 복잡한 Java 로직을 GPT의 자연스러운 대화 능력으로 대체
  */
 @Service
-public class GPTConversationService {
+public class GPTConversationService implements MeterBinder {
     
     private static final Logger logger = LoggerFactory.getLogger(GPTConversationService.class);
     
-    private final UserRepository userRepository;
-    private final WebClient webClient;
-    private final RecommendationService recommendationService;
+    // 초기 진입 시 GPT에 보내는 인사 프롬프트
+    private static final String INITIAL_PROMPT = "안녕하세요! 오늘의 점심은 어떤 걸로 정해볼까요?";
     
-    // 세션별 대화 컨텍스트 저장
-    private final Map<String, ConversationContext> conversationContexts = new ConcurrentHashMap<>();
+    // 초기 추천 병렬 분기 이름 (응답의 branchTimings 키)
+    private static final String BRANCH_PYTHON_AI = "pythonAi";
+    private static final String BRANCH_GPT = "gpt";
     
-    // 음식 이름 추출용 패턴 제거 - GPT 직접 추출 방식 사용
-    
-    @Autowired
-    public GPTConversationService(UserRepository userRepository, 
-                                 RecommendationService recommendationService,
-                                 @Value("${openai.api.key:}") String openaiApiKey) {
-        this.userRepository = userRepository;
-        this.recommendationService = recommendationService;
-        
-        // API 키 검증
-        if (openaiApiKey == null || openaiApiKey.trim().isEmpty() || openaiApiKey.equals("your-openai-api-key-here")) {
-            logger.warn("OpenAI API 키가 설정되지 않았습니다. GPT 기능이 제한될 수 있습니다.");
-        }
-        
-        this.webClient = WebClient.builder()
-                .baseUrl("https://api.openai.com/v1")
-                .defaultHeader("Authorization", "Bearer " + openaiApiKey)
-                .defaultHeader("Content-Type", "application/json")
-                .build();
-    }
+    // OpenAI 장애 시 로컬에서 만드는 대체 응답 (%s = 추천 음식 목록)
+    private static final List<String> DEGRADED_REPLY_TEMPLATES = List.of(
+            "지금은 대화 연결이 잠시 원활하지 않아요. 대신 취향에 맞춘 %s 중에서 골라보시는 건 어떨까요?",
+            "잠시 AI 대화가 지연되고 있어요. 그동안 %s 추천드려요!",
+            "연결이 조금 느려서 바로 추천드릴게요. %s 중에 끌리는 메뉴가 있으신가요?");
+    private static final String DEGRADED_INITIAL_REPLY =
+            "지금은 대화형 추천이 잠시 지연되고 있어요. 취향에 맞춘 추천 메뉴를 먼저 확인해보세요!";
     
-    /**
-     * GPT API를 활용한 대화 처리 - 간결한 메인 메서드
-     */
-    public ConversationResponse processConversation(String message, String sessionId, String userEmail) {
-        logger.info("GPT 대화 처리 시작 - 메시지: {}, 세션: {}", message, sessionId);
-        
-        try {
-            // 대화 컨텍스트 가져오기
-            ConversationContext context = getOrCreateContext(sessionId, userEmail);
-            context.addToHistory("사용자: " + message);
-            
-            
-            // 사용자 정보 가져오기
-            String userProfile = getUserProfile(userEmail);
-            
-            // GPT API 호출
-            String gptResponse = callGPTAPI(message, userProfile, context);
-            
-            // GPT 응답에서 음식 추천 추출
-            List<String> foodRecommendations = extractFoodFromGPT(gptResponse);
-            
-            // 응답 생성
-            ConversationResponse response = createResponse(gptResponse, foodRecommendations, context);
-            
-            // 컨텍스트에 저장
-            context.addToHistory("AI: " + gptResponse);
-            
-            logger.info("GPT 대화 처리 완료 - 추천수: {}", foodRecommendations.size());
-            return response;
-            
-        } catch (Exception e) {
-            logger.error("GPT 대화 처리 중 오류", e);
-            return createErrorResponse();
-        }
-    }
-    
-    /**
-     * 초기 진입 시 Python AI 개인화 추천 + GPT 대화
-     */
-    public ConversationResponse getInitialRecommendations(String sessionId, String userEmail) {
-        logger.info("초기 추천 생성 - 세션: {}, 사용자: {}", sessionId, userEmail);
-        
-        try {
-            String userProfile = getUserProfile(userEmail);
-            ConversationResponse response = new ConversationResponse();
-            
-            // 1단계: Python AI 개인화 추천 가져오기
-            List<Recommendation> pythonRecommendations = new ArrayList<>();
-            
-            if (userEmail != null) {
-                logger.info("로그인 사용자 감지 - 이메일: {}", userEmail);
-                try {
-                    Optional<User> userOpt = userRepository.findByEmail(userEmail);
-                    if (userOpt.isPresent()) {
-                        User user = userOpt.get();
-                        logger.info("사용자 정보 조회 성공 - 이름: {}, 성별: {}, 나이: {}, 지역: {}, 선호카테고리: {}", 
-                                   user.getName(), user.getGender(), user.getAge(), user.getRegion(), user.getOftenCategory());
-                        
-                        UserInfo userInfo = convertUserToUserInfo(user);
-                        logger.info("UserInfo 변환 완료 - 성별: {}, 나이대: {}, 지역: {}, 선호카테고리: {}, 좋아하는카테고리: {}", 
-                                   userInfo.getGender(), userInfo.getAgeGroup(), userInfo.getRegion(), 
-                                   userInfo.getPrefCategory(), userInfo.getFavCategories());
-                        
-                        // Python AI 서버 헬스체크 먼저 수행
-                        try {
-                            logger.info("Python AI 서버 헬스체크 시작...");
-                            
-                            // 1단계: 헬스체크
-                            try {
-                                String healthResponse = recommendationService.healthCheck().block();
-                                logger.info("Python AI 서버 헬스체크 성공: {}", healthResponse);
-                            } catch (Exception e) {
-                                logger.warn("Python AI 서버 헬스체크 실패, 추천 요청 시도: {}", e.getMessage());
-                            }
-                            
-                            // 2단계: 추천 요청
-                            FlaskResponse flaskResponse = recommendationService.getRecommendations(userInfo).block();
-                            logger.info("Python AI 서버 응답 - 상태: {}, 추천수: {}", 
-                                       flaskResponse != null ? flaskResponse.getStatus() : "null", 
-                                       flaskResponse != null && flaskResponse.getRecommendations() != null ? flaskResponse.getRecommendations().size() : 0);
-                            
-                            if (flaskResponse != null && !flaskResponse.getRecommendations().isEmpty()) {
-                                pythonRecommendations = flaskResponse.getRecommendations();
-                                logger.info("Python AI 개인화 추천 성공 - 추천 음식: {}", 
-                                           pythonRecommendations.stream().map(r -> r.getFoodName()).collect(java.util.stream.Collectors.toList()));
-                            } else {
-                                logger.warn("Python AI 추천 결과가 비어있음");
-                            }
-                        } catch (org.springframework.web.reactive.function.client.WebClientResponseException e) {
-                            if (e.getStatusCode().value() == 502) {
-                                logger.error("Python AI 서버 502 Bad Gateway - 서버가 응답하지 않음. 기본 추천 사용", e);
-                            } else {
-                                logger.error("Python AI 서버 HTTP 오류 ({}): 기본 추천 사용", e.getStatusCode(), e);
-                            }
-                        } catch (Exception e) {
-                            logger.error("Python AI 서버 기타 오류 - 기본 추천 사용", e);
-                        }
-                    } else {
-                        logger.warn("사용자 정보를 찾을 수 없음 - 이메일: {}", userEmail);
-                    }
-                } catch (Exception e) {
-                    logger.error("Python AI 추천 실패, 기본 추천 사용", e);
-                }
-            } else {
-                logger.info("비로그인 사용자 - 기본 추천 사용");
-            }
-            
-            // 기본 추천 생성 (Python AI 실패 시)
-            if (pythonRecommendations.isEmpty()) {
-                pythonRecommendations.add(new Recommendation("김치찌개", 8000, 10000));
-                pythonRecommendations.add(new Recommendation("비빔밥", 9000, 11000));
-                pythonRecommendations.add(new Recommendation("제육볶음", 10000, 12000));
-            }
-            
-            // 2단계: GPT 대화 응답 생성
-            String initialPrompt = "안녕하세요! 오늘의 점심은 어떤 걸로 정해볼까요?";
-            String gptResponse = callGPTAPI(initialPrompt, userProfile, null);
-            List<String> gptFoodRecommendations = extractFoodFromGPT(gptResponse);
-            
-            // 3단계: 응답 구성
-            response.setReply(gptResponse);
-            response.setConversationType("initial_hybrid");
-            
-            // GPT 대화 추천 (오른쪽 영역용)
-            if (!gptFoodRecommendations.isEmpty()) {
-                response.setRecommendations(convertToRecommendations(gptFoodRecommendations));
-            }
-            
-            // Python AI 개인화 추천 (하단 고정 영역용) - 별도 필드로 전달
-            response.setPythonRecommendations(pythonRecommendations);
-            
-            // 대화 옵션 추가
-            response.getOptions().add(new ConversationOption("대화하기", "start_conversation", "대화하기", "conversation"));
-            response.getOptions().add(new ConversationOption("다른 음식 보기", "more_recommendations", "다른 음식 보기", "continue"));
-            
-            // 컨텍스트에 저장
-            ConversationContext context = getOrCreateContext(sessionId, userEmail);
-            context.setHasRecommendations(true);
-            context.setLastRecommendations(convertToRecommendations(gptFoodRecommendations));
-            
-            return response;
-            
-        } catch (Exception e) {
-            logger.error("초기 추천 생성 중 오류", e);
-            return createErrorResponse();
-        }
-    }
-    
-    /**
-     * GPT API 호출
-     */
-    private String callGPTAPI(String message, String userProfile, ConversationContext context) {
-        // 대화 히스토리 구성
-        StringBuilder conversationHistory = new StringBuilder();
-        if (context != null && context.getConversationHistory() != null && !context.getConversationHistory().isEmpty()) {
-            conversationHistory.append("이전 대화:\n");
-            for (String history : context.getConversationHistory()) {
-                conversationHistory.append(history).append("\n");
-            }
-        }
-        
-        // GPT 프롬프트 구성
-        String systemPrompt = """
+    // GPT 시스템 프롬프트 (사용자 정보, 이전 대화 요약)
+    private static final String SYSTEM_PROMPT_TEMPLATE = """
             당신은 친근하고 자연스러운 음식 추천 챗봇입니다.
             
             대화 스타일:
@@ -252,137 +96,604 @@ public class GPTConversationService {
             
             사용자 정보: %s
             
-            이전 대화:
+            이전 대화 요약:
             %s
-            """.formatted(userProfile, conversationHistory.toString());
+            """;
+    
+    private final WebClient webClient;
+    private final RecommendationService recommendationService;
+    private final FoodNameExtractor foodNameExtractor;
+    
+    // 세션별 대화 컨텍스트 저장 (TTL + 용량 제한)
+    private final ConversationStore conversationStore;
+    private final ConversationHistoryCompactor historyCompactor;
+    private final GptResponseCache gptResponseCache;
+    
+    // 단계별 지연 시간 (GPT 대화, 음식 추출, 응답 구성) 및 요청 추적
+    private final StageMetrics stageMetrics;
+    private final RequestTracer tracer;
+    
+    // OpenAI 호출 보호: 서킷 브레이커 + 타임아웃 (응답 전체 / 스트리밍 청크 간격)
+    private final CircuitBreaker openAiCircuitBreaker;
+    private final ConcurrencyLimiter openAiLimiter;
+    private final Duration gptTimeout;
+    private final Duration gptStreamTimeout;
+    
+    // 대체 응답 사용 횟수 (원인별)
+    private final AtomicLong fallbackCircuitOpen = new AtomicLong();
+    private final AtomicLong fallbackRejected = new AtomicLong();
+    private final AtomicLong fallbackTimeout = new AtomicLong();
+    private final AtomicLong fallbackError = new AtomicLong();
+    
+    // 스트리밍 청크(JSON) 파싱용
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    
+    @Autowired
+    public GPTConversationService(RecommendationService recommendationService,
+                                 FoodNameExtractor foodNameExtractor,
+                                 ConversationStore conversationStore,
+                                 ConversationHistoryCompactor historyCompactor,
+                                 GptResponseCache gptResponseCache,
+                                 StageMetrics stageMetrics,
+                                 RequestTracer tracer,
+                                 @Qualifier("openAiCircuitBreaker") CircuitBreaker openAiCircuitBreaker,
+                                 @Qualifier("openAiConcurrencyLimiter") ConcurrencyLimiter openAiLimiter,
+                                 @Value("${openai.api.timeout-ms:15000}") long gptTimeoutMillis,
+                                 @Value("${openai.api.stream-timeout-ms:10000}") long gptStreamTimeoutMillis,
+                                 @Qualifier("openAiWebClient") WebClient openAiWebClient) {
+        this.recommendationService = recommendationService;
+        this.foodNameExtractor = foodNameExtractor;
+        this.conversationStore = conversationStore;
+        this.historyCompactor = historyCompactor;
+        this.gptResponseCache = gptResponseCache;
+        this.stageMetrics = stageMetrics;
+        this.tracer = tracer;
+        this.openAiCircuitBreaker = openAiCircuitBreaker;
+        this.openAiLimiter = openAiLimiter;
+        this.gptTimeout = Duration.ofMillis(gptTimeoutMillis);
+        this.gptStreamTimeout = Duration.ofMillis(gptStreamTimeoutMillis);
         
-        // GPT API 요청 - 대화 히스토리 포함
-        List<GPTMessage> messages = new ArrayList<>();
-        messages.add(new GPTMessage("system", systemPrompt));
+        this.webClient = openAiWebClient;
+    }
+    
+    /**
+     * GPT API를 활용한 대화 처리 - 간결한 메인 메서드
+     * 모든 원격 호출을 Mono로 조합하여 요청 스레드를 점유하지 않습니다.
+     */
+    public Mono<ConversationResponse> processConversation(String message, String sessionId, SessionProfile profile) {
+        return Mono.defer(() -> {
+            logger.debug("GPT 대화 처리 시작 - 메시지: {}, 세션: {}", LoggingConfig.abbreviate(message), sessionId);
+            
+            // 대화 컨텍스트 가져오기 → GPT API 호출 → 음식 추출 → 응답 생성
+            return getOrCreateContext(sessionId, profile).flatMap(context ->
+                    stageMetrics.time(StageMetrics.GPT_CHAT, callGPTAPI(message, promptProfileOf(profile), context))
+                            .flatMap(gptResponse -> extractFoodFromGPT(gptResponse)
+                                    .flatMap(foodRecommendations -> {
+                                        ConversationResponse response = stageMetrics.time(StageMetrics.RESPONSE_ASSEMBLY,
+                                                () -> createResponse(gptResponse, foodRecommendations, context));
+                                        
+                                        logger.debug("GPT 대화 처리 완료 - 추천수: {}", foodRecommendations.size());
+                                        // 컨텍스트에 저장 (현재 메시지는 요청에 별도로 포함되므로 응답 후에 기록)
+                                        return conversationStore.appendTurn(context, message, gptResponse)
+                                                .thenReturn(response);
+                                    }))
+                            // OpenAI 장애(서킷 열림, 타임아웃, 429/5xx)면 로컬 대체 응답
+                            .onErrorResume(GPTConversationService::isOpenAiUnavailable,
+                                    e -> createDegradedResponse(message, profile, context, e)));
+        }).doOnEach(RequestMdc.onError(e -> logger.error("GPT 대화 처리 중 오류", e)))
+                .onErrorResume(e -> Mono.just(createErrorResponse()));
+    }
+    
+    /**
+     * GPT 스트리밍 대화 처리 (SSE)
+     * 토큰이 도착하는 대로 "token" 이벤트로 전달하고, 마지막에 "recommendations" 이벤트로 추천 목록을 보냅니다.
+     */
+    public Flux<ServerSentEvent<Object>> streamConversation(String message, String sessionId, SessionProfile profile) {
+        logger.debug("GPT 스트리밍 대화 시작 - 메시지: {}, 세션: {}", LoggingConfig.abbreviate(message), sessionId);
         
-        // 이전 대화 히스토리 추가
-        if (context != null && context.getConversationHistory() != null && !context.getConversationHistory().isEmpty()) {
-            for (String history : context.getConversationHistory()) {
-                if (history.startsWith("사용자:")) {
-                    messages.add(new GPTMessage("user", history.substring(4).trim()));
-                } else if (history.startsWith("AI:")) {
-                    messages.add(new GPTMessage("assistant", history.substring(3).trim()));
-                }
-            }
-        }
+        return getOrCreateContext(sessionId, profile)
+                .flatMapMany(context -> streamConversation(message, profile, context));
+    }
+    
+    private Flux<ServerSentEvent<Object>> streamConversation(String message, SessionProfile profile, ConversationContext context) {
+        StringBuilder reply = new StringBuilder();
         
-        // 현재 사용자 메시지 추가
-        messages.add(new GPTMessage("user", message));
+        Mono<GPTRequest> requestMono = Mono.fromSupplier(() -> {
+            GPTRequest request = buildGPTRequest(message, promptProfileOf(profile), context);
+            request.setStream(true);
+            return request;
+        });
         
-        GPTRequest request = new GPTRequest();
-        request.setModel("gpt-3.5-turbo");
-        request.setMessages(messages);
+        Flux<ServerSentEvent<Object>> tokens = requestMono
+                .flatMapMany(request -> stageMetrics.time(StageMetrics.GPT_CHAT_STREAM,
+                        openAiLimiter.limit(openAiCircuitBreaker.protect(webClient.post()
+                                .uri("/chat/completions")
+                                .accept(MediaType.TEXT_EVENT_STREAM)
+                                .bodyValue(request)
+                                .retrieve()
+                                .bodyToFlux(new ParameterizedTypeReference<ServerSentEvent<String>>() {})
+                                .mapNotNull(ServerSentEvent::data)
+                                .takeWhile(data -> !"[DONE]".equals(data.trim()))
+                                // 첫 청크와 이후 청크 사이 간격 제한
+                                .timeout(gptStreamTimeout)))))
+                .map(this::parseStreamToken)
+                .filter(token -> !token.isEmpty())
+                .doOnNext(reply::append)
+                .map(token -> ServerSentEvent.<Object>builder(token).event("token").build());
         
+        // 스트림이 끝나면 전체 응답으로 음식 추출 후 추천 이벤트 전송
+        Mono<ServerSentEvent<Object>> recommendations = Mono.defer(() -> {
+            String gptResponse = reply.toString();
+            return extractFoodFromGPT(gptResponse)
+                    .flatMap(foodRecommendations -> {
+                        logger.debug("GPT 스트리밍 대화 완료 - 응답길이: {}, 추천수: {}", gptResponse.length(), foodRecommendations.size());
+                        ServerSentEvent<Object> event = ServerSentEvent.<Object>builder(convertToRecommendations(foodRecommendations))
+                                .event("recommendations")
+                                .build();
+                        return conversationStore.appendTurn(context, message, gptResponse)
+                                .thenReturn(event);
+                    });
+        });
+        
+        return tokens
+                .concatWith(recommendations)
+                .onErrorResume(e -> {
+                    // 아직 토큰을 하나도 보내지 않았고 OpenAI 장애면 로컬 대체 응답을 한 번에 전송
+                    if (reply.length() == 0 && isOpenAiUnavailable(e)) {
+                        return createDegradedResponse(message, profile, context, e)
+                                .flatMapMany(response -> Flux.just(
+                                        ServerSentEvent.<Object>builder(response.getReply()).event("token").build(),
+                                        ServerSentEvent.<Object>builder(response.getRecommendations())
+                                                .event("recommendations")
+                                                .build()));
+                    }
+                    return Flux.deferContextual(ctx -> {
+                        RequestMdc.run(ctx, () -> logger.error("GPT 스트리밍 대화 처리 중 오류", e));
+                        return Flux.just(ServerSentEvent.<Object>builder("죄송합니다, AI 서비스에 연결할 수 없습니다.")
+                                .event("error")
+                                .build());
+                    });
+                });
+    }
+    
+    /**
+     * 스트리밍 청크에서 토큰 텍스트 추출
+     */
+    private String parseStreamToken(String data) {
         try {
-            GPTResponse response = webClient.post()
-                    .uri("/chat/completions")
-                    .bodyValue(request)
-                    .retrieve()
-                    .bodyToMono(GPTResponse.class)
-                    .block();
-            
-            if (response != null && response.getChoices() != null && !response.getChoices().isEmpty()) {
-                return response.getChoices().get(0).getMessage().getContent();
-            } else {
-                return "죄송합니다, 답변을 생성할 수 없습니다.";
+            GPTStreamChunk chunk = objectMapper.readValue(data, GPTStreamChunk.class);
+            if (chunk.getChoices() != null && !chunk.getChoices().isEmpty()) {
+                GPTMessage delta = chunk.getChoices().get(0).getDelta();
+                if (delta != null && delta.getContent() != null) {
+                    return delta.getContent();
+                }
             }
         } catch (Exception e) {
-            logger.error("GPT API 호출 실패", e);
-            if (e.getMessage() != null && e.getMessage().contains("401")) {
-                return "OpenAI API 키가 올바르지 않습니다. 설정을 확인해주세요.";
-            } else if (e.getMessage() != null && e.getMessage().contains("403")) {
-                return "OpenAI API 사용 권한이 없습니다. 계정을 확인해주세요.";
+            logger.warn("GPT 스트리밍 청크 파싱 실패: {}", data);
+        }
+        return "";
+    }
+    
+    /**
+     * 초기 진입 시 Python AI 개인화 추천 + GPT 대화
+     * 두 작업은 서로 독립적이므로 병렬로 실행하고, 각 분기별로 실패 시 기본값을 사용합니다.
+     */
+    public Mono<ConversationResponse> getInitialRecommendations(String sessionId, SessionProfile profile) {
+        return Mono.defer(() -> {
+            logger.debug("초기 추천 생성 - 세션: {}, 사용자: {}", sessionId, profile != null ? profile.getEmail() : null);
+            
+            // 분기 1: Python AI 개인화 추천 (내부에서 기본 추천으로 폴백)
+            Mono<Tuple2<Long, List<Recommendation>>> pythonBranch = tracer.span(BRANCH_PYTHON_AI,
+                    getPythonRecommendations(profile))
+                    .elapsed();
+            
+            // 분기 2: GPT 인사 응답 + 음식 추출
+            Mono<Tuple2<Long, Tuple2<String, List<String>>>> gptBranch = tracer.span(BRANCH_GPT,
+                    getInitialGPTReply(profile))
+                    .elapsed();
+            
+            // 두 분기를 동시에 구독하고, 둘 다 끝나면 응답 구성
+            return Mono.zip(pythonBranch, gptBranch)
+                    .map(result -> {
+                        long pythonElapsed = result.getT1().getT1();
+                        long gptElapsed = result.getT2().getT1();
+                        String gptResponse = result.getT2().getT2().getT1();
+                        List<String> gptFoodRecommendations = result.getT2().getT2().getT2();
+                        if (gptFoodRecommendations.isEmpty()) {
+                            // GPT 분기가 대체 응답이면 Python AI 추천을 대화 추천으로도 사용
+                            gptFoodRecommendations = foodNames(result.getT1().getT2());
+                        }
+                        
+                        List<String> conversationFoods = gptFoodRecommendations;
+                        ConversationResponse response = stageMetrics.time(StageMetrics.RESPONSE_ASSEMBLY,
+                                () -> createInitialResponse(gptResponse, conversationFoods, result.getT1().getT2()));
+                        
+                        // 분기별 소요 시간 기록
+                        Map<String, Long> branchTimings = new LinkedHashMap<>();
+                        branchTimings.put(BRANCH_PYTHON_AI, pythonElapsed);
+                        branchTimings.put(BRANCH_GPT, gptElapsed);
+                        response.setBranchTimings(branchTimings);
+                        response.setFirstCompletedBranch(pythonElapsed <= gptElapsed ? BRANCH_PYTHON_AI : BRANCH_GPT);
+                        
+                        logger.debug("초기 추천 병렬 처리 완료 - 먼저 완료: {}, 소요시간(ms): {}", 
+                                   response.getFirstCompletedBranch(), branchTimings);
+                        return Tuples.of(response, conversationFoods);
+                    })
+                    // 컨텍스트에 추천 상태 저장
+                    .flatMap(result -> rememberRecommendations(sessionId, profile, result.getT2())
+                            .thenReturn(result.getT1()));
+        }).doOnEach(RequestMdc.onError(e -> logger.error("초기 추천 생성 중 오류", e)))
+                .onErrorResume(e -> Mono.just(createErrorResponse()));
+    }
+    
+    /**
+     * 초기 진입용 GPT 인사 응답과 추천 음식 (실패 시 기본 인사 + 기본 음식)
+     */
+    private Mono<Tuple2<String, List<String>>> getInitialGPTReply(SessionProfile profile) {
+        return stageMetrics.time(StageMetrics.GPT_CHAT, callGPTAPI(INITIAL_PROMPT, promptProfileOf(profile), null))
+                .flatMap(gptResponse -> extractFoodFromGPT(gptResponse)
+                        .map(foods -> Tuples.of(gptResponse, foods)))
+                .onErrorResume(GPTConversationService::isOpenAiUnavailable, e -> Mono.deferContextual(ctx -> {
+                    recordFallback(e);
+                    RequestMdc.run(ctx, () -> logger.warn("OpenAI 사용 불가 - 초기 대체 인사 사용: {}", e.getMessage()));
+                    return Mono.just(Tuples.of(DEGRADED_INITIAL_REPLY, List.<String>of()));
+                }))
+                .doOnEach(RequestMdc.onError(e -> logger.error("GPT 초기 응답 생성 실패, 기본 인사 사용", e)))
+                .onErrorResume(e -> Mono.just(Tuples.of(INITIAL_PROMPT, List.of("김치찌개", "비빔밥", "제육볶음"))));
+    }
+    
+    /**
+     * Python AI 개인화 추천 조회 (실패 시 기본 추천)
+     */
+    private Mono<List<Recommendation>> getPythonRecommendations(SessionProfile profile) {
+        if (profile == null) {
+            logger.debug("비로그인 사용자 - 기본 추천 사용");
+            return Mono.just(createDefaultPythonRecommendations());
+        }
+        
+        // 로그인 시 만들어 둔 추천 요청 정보를 그대로 사용
+        UserInfo userInfo = profile.getUserInfo();
+        logger.debug("로그인 사용자 Python AI 추천 요청 - 이메일: {}", profile.getEmail());
+        
+        return requestPythonRecommendations(userInfo)
+                .doOnEach(RequestMdc.onError(e -> logger.error("Python AI 추천 실패, 기본 추천 사용", e)))
+                .onErrorResume(e -> Mono.just(new ArrayList<Recommendation>()))
+                .map(recommendations -> recommendations.isEmpty() ? createDefaultPythonRecommendations() : recommendations);
+    }
+    
+    /**
+     * Python AI 추천 요청
+     * 서버 상태/모델 버전은 RecommendationService가 주기적으로 확인하므로 요청마다 헬스체크하지 않습니다.
+     */
+    private Mono<List<Recommendation>> requestPythonRecommendations(UserInfo userInfo) {
+        return recommendationService.getRecommendations(userInfo)
+                .map(flaskResponse -> {
+                    List<Recommendation> recommendations = flaskResponse.getRecommendations() != null
+                            ? flaskResponse.getRecommendations() : new ArrayList<>();
+                    logger.debug("Python AI 서버 응답 - 상태: {}, 추천수: {}", flaskResponse.getStatus(), recommendations.size());
+                    return recommendations;
+                })
+                .doOnEach(RequestMdc.onNext(recommendations -> {
+                    if (recommendations.isEmpty()) {
+                        logger.warn("Python AI 추천 결과가 비어있음");
+                    }
+                }))
+                .defaultIfEmpty(new ArrayList<>())
+                .doOnEach(RequestMdc.onError(this::logPythonFailure))
+                .onErrorResume(e -> Mono.just(new ArrayList<Recommendation>()));
+    }
+    
+    /**
+     * Python AI 호출 실패 로그 (실패 종류와 관계없이 호출자는 기본 추천 사용)
+     */
+    private void logPythonFailure(Throwable e) {
+        if (e instanceof org.springframework.web.reactive.function.client.WebClientResponseException responseException) {
+            if (responseException.getStatusCode().value() == 502) {
+                logger.error("Python AI 서버 502 Bad Gateway - 서버가 응답하지 않음. 기본 추천 사용", e);
             } else {
-                return "죄송합니다, AI 서비스에 연결할 수 없습니다.";
+                logger.error("Python AI 서버 HTTP 오류 ({}): 기본 추천 사용", responseException.getStatusCode(), e);
             }
+        } else if (e instanceof CircuitBreaker.CallNotPermittedException) {
+            // 서킷이 열려 있는 동안은 요청마다 스택 트레이스를 남기지 않고 바로 기본 추천 사용
+            logger.warn("Python AI 서킷 열림 - 기본 추천 사용");
+        } else if (e instanceof ConcurrencyLimiter.LimitExceededException) {
+            logger.warn("Python AI 동시 호출 제한 초과 - 기본 추천 사용");
+        } else {
+            logger.error("Python AI 서버 기타 오류 - 기본 추천 사용", e);
         }
     }
     
     /**
-     * GPT 응답에서 음식 이름 추출
+     * 기본 추천 생성 (Python AI 실패 시)
+     */
+    private List<Recommendation> createDefaultPythonRecommendations() {
+        List<Recommendation> recommendations = new ArrayList<>();
+        recommendations.add(new Recommendation("김치찌개", 8000, 10000));
+        recommendations.add(new Recommendation("비빔밥", 9000, 11000));
+        recommendations.add(new Recommendation("제육볶음", 10000, 12000));
+        return recommendations;
+    }
+    
+    /**
+     * 초기 추천 응답 구성
      */
-    private List<String> extractFoodFromGPT(String gptResponse) {
-        logger.info("GPT 응답에서 음식 추출 시도: {}", gptResponse);
-        
-        // GPT에게 직접 음식 목록 요청
-        List<String> foods = requestFoodListFromGPT(gptResponse);
-        
-        // 음식이 추출되지 않았을 때 기본 추천 제공
-        if (foods.isEmpty()) {
-            logger.warn("GPT 응답에서 음식을 추출하지 못함, 기본 추천 제공");
-            foods.add("김치찌개");
-            foods.add("비빔밥");
-            foods.add("제육볶음");
+    private ConversationResponse createInitialResponse(String gptResponse, List<String> gptFoodRecommendations,
+                                                       List<Recommendation> pythonRecommendations) {
+        ConversationResponse response = new ConversationResponse();
+        response.setReply(gptResponse);
+        response.setConversationType("initial_hybrid");
+        
+        // GPT 대화 추천 (오른쪽 영역용)
+        if (!gptFoodRecommendations.isEmpty()) {
+            response.setRecommendations(convertToRecommendations(gptFoodRecommendations));
         }
         
-        // 최대 3개까지만 반환
-        List<String> result = foods.subList(0, Math.min(foods.size(), 3));
-        logger.info("최종 추천 음식: {}", result);
-        return result;
+        // Python AI 개인화 추천 (하단 고정 영역용) - 별도 필드로 전달
+        response.setPythonRecommendations(pythonRecommendations);
+        
+        // 대화 옵션 추가
+        response.getOptions().add(new ConversationOption("대화하기", "start_conversation", "대화하기", "conversation"));
+        response.getOptions().add(new ConversationOption("다른 음식 보기", "more_recommendations", "다른 음식 보기", "continue"));
+        
+        return response;
     }
     
     /**
-     * GPT에게 직접 음식 목록 요청
+     * 초기 추천 결과를 대화 컨텍스트에 저장
      */
-    private List<String> requestFoodListFromGPT(String originalResponse) {
-        try {
-            String prompt = String.format("""
-                다음 응답에서 추천된 음식 이름만 3개 추출해주세요.
-                음식 이름만 쉼표로 구분해서 답변하세요.
-                사용자의 요구사항에 맞는 음식을 우선적으로 추출하세요.
-                
-                응답: %s
-                
-                예시: 김치찌개, 비빔밥, 순두부찌개
-                """, originalResponse);
-            
-            String gptFoodResponse = callGPTAPI(prompt, "음식 추출", null);
-            
-            // 쉼표로 분리하여 음식 목록 추출
-            List<String> foods = new ArrayList<>();
-            if (gptFoodResponse != null && !gptFoodResponse.trim().isEmpty()) {
-                String[] foodArray = gptFoodResponse.split(",");
-                for (String food : foodArray) {
-                    String trimmedFood = food.trim();
-                    if (!trimmedFood.isEmpty()) {
-                        foods.add(trimmedFood);
+    private Mono<Void> rememberRecommendations(String sessionId, SessionProfile profile, List<String> gptFoodRecommendations) {
+        return getOrCreateContext(sessionId, profile).flatMap(context -> {
+            context.setHasRecommendations(true);
+            context.setLastRecommendations(convertToRecommendations(gptFoodRecommendations));
+            return conversationStore.save(context);
+        });
+    }
+    
+    /**
+     * GPT API 호출
+     */
+    private Mono<String> callGPTAPI(String message, String userProfile, ConversationContext context) {
+        return Mono.fromSupplier(() -> buildGPTRequest(message, userProfile, context))
+                // 같은 메시지/프로필/대화 흐름이면 캐시된 응답 사용 (동시 요청은 한 번만 호출)
+                .flatMap(request -> gptResponseCache.get(request.getMessages(), () -> sendGPTRequest(request)))
+                .defaultIfEmpty("죄송합니다, 답변을 생성할 수 없습니다.")
+                .onErrorResume(e -> {
+                    if (isOpenAiUnavailable(e)) {
+                        // 서버 장애는 호출자가 로컬 대체 응답을 만들 수 있도록 그대로 전달
+                        return Mono.error(e);
                     }
-                }
-            }
-            
-            return foods;
-        } catch (Exception e) {
-            logger.error("GPT 음식 목록 요청 실패", e);
-            return new ArrayList<>();
+                    return Mono.deferContextual(ctx -> {
+                        RequestMdc.run(ctx, () -> logger.error("GPT API 호출 실패", e));
+                        if (e.getMessage() != null && e.getMessage().contains("401")) {
+                            return Mono.just("OpenAI API 키가 올바르지 않습니다. 설정을 확인해주세요.");
+                        } else if (e.getMessage() != null && e.getMessage().contains("403")) {
+                            return Mono.just("OpenAI API 사용 권한이 없습니다. 계정을 확인해주세요.");
+                        } else {
+                            return Mono.just("죄송합니다, AI 서비스에 연결할 수 없습니다.");
+                        }
+                    });
+                });
+    }
+    
+    /**
+     * GPT API 전송 후 첫 번째 응답 본문 반환 (응답이 없으면 empty)
+     */
+    private Mono<String> sendGPTRequest(GPTRequest request) {
+        // 응답 캐시에 없어 실제로 OpenAI를 호출한 경우만 스팬으로 남음
+        // 동시 호출 제한 대기는 스팬 밖(허용 수를 받은 뒤부터 스팬 시작)
+        return openAiLimiter.limit(tracer.span("openai.chat_completions", openAiCircuitBreaker.protect(webClient.post()
+                .uri("/chat/completions")
+                .bodyValue(request)
+                .retrieve()
+                .bodyToMono(GPTResponse.class)
+                .timeout(gptTimeout))))
+                .mapNotNull(response -> {
+                    if (response.getChoices() != null && !response.getChoices().isEmpty()) {
+                        return response.getChoices().get(0).getMessage().getContent();
+                    }
+                    return null;
+                });
+    }
+    
+    /**
+     * OpenAI 장애로 볼 에러 (서킷 열림, 동시 호출 제한 초과, 타임아웃, 연결 실패, 429/5xx)
+     */
+    private static boolean isOpenAiUnavailable(Throwable e) {
+        return e instanceof CircuitBreaker.CallNotPermittedException
+                || e instanceof ConcurrencyLimiter.LimitExceededException
+                || ResilienceConfig.isServerFailure(e);
+    }
+    
+    private void recordFallback(Throwable e) {
+        if (e instanceof CircuitBreaker.CallNotPermittedException) {
+            fallbackCircuitOpen.incrementAndGet();
+        } else if (e instanceof ConcurrencyLimiter.LimitExceededException) {
+            fallbackRejected.incrementAndGet();
+        } else if (e instanceof TimeoutException) {
+            fallbackTimeout.incrementAndGet();
+        } else {
+            fallbackError.incrementAndGet();
         }
     }
     
     /**
-     * 사용자 프로필 정보 생성
+     * OpenAI 장애 시 대체 응답
+     * Python AI(또는 로컬 모델) 개인화 추천과 준비된 문구로 GPT 없이 응답을 만듭니다.
      */
-    private String getUserProfile(String userEmail) {
-        if (userEmail == null) {
-            return "비로그인 사용자";
+    private Mono<ConversationResponse> createDegradedResponse(String message, SessionProfile profile,
+                                                              ConversationContext context, Throwable cause) {
+        recordFallback(cause);
+        
+        return Mono.deferContextual(ctx -> {
+                    RequestMdc.run(ctx, () -> logger.warn("OpenAI 사용 불가 - 로컬 대체 응답 사용: {}", cause.getMessage()));
+                    return getPythonRecommendations(profile);
+                })
+                .flatMap(recommendations -> {
+                    String template = DEGRADED_REPLY_TEMPLATES.get(
+                            new Random().nextInt(DEGRADED_REPLY_TEMPLATES.size()));
+                    String reply = template.formatted(String.join(", ", foodNames(recommendations)));
+                    
+                    ConversationResponse response = new ConversationResponse();
+                    response.setReply(reply);
+                    response.setConversationType("degraded");
+                    response.setRecommendations(recommendations);
+                    response.getOptions().add(new ConversationOption("다른 음식 추천", "continue", "다른 음식 추천", "continue"));
+                    
+                    return conversationStore.appendTurn(context, message, reply)
+                            .thenReturn(response);
+                });
+    }
+    
+    private static List<String> foodNames(List<Recommendation> recommendations) {
+        List<String> names = new ArrayList<>();
+        for (Recommendation recommendation : recommendations) {
+            names.add(recommendation.getFoodName());
         }
+        return names;
+    }
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("chat.gpt.fallbacks", fallbackCircuitOpen, AtomicLong::get)
+                .description("OpenAI 장애로 로컬 대체 응답을 사용한 횟수")
+                .tag("reason", "circuit_open")
+                .register(registry);
+        FunctionCounter.builder("chat.gpt.fallbacks", fallbackRejected, AtomicLong::get)
+                .tag("reason", "rejected")
+                .register(registry);
+        FunctionCounter.builder("chat.gpt.fallbacks", fallbackTimeout, AtomicLong::get)
+                .tag("reason", "timeout")
+                .register(registry);
+        FunctionCounter.builder("chat.gpt.fallbacks", fallbackError, AtomicLong::get)
+                .tag("reason", "error")
+                .register(registry);
+    }
+    
+    /**
+     * GPT 요청 구성 (시스템 프롬프트 + 대화 요약 + 최근 대화 + 현재 메시지)
+     * 대화 히스토리는 토큰 예산에 맞게 압축되며, 최근 대화는 메시지로만 한 번 포함됩니다.
+     */
+    GPTRequest buildGPTRequest(String message, String userProfile, ConversationContext context) {
+        String summary = "";
+        List<GPTMessage> historyMessages = new ArrayList<>();
         
-        try {
-            Optional<User> userOpt = userRepository.findByEmail(userEmail);
-            if (userOpt.isPresent()) {
-                User user = userOpt.get();
-                return String.format("이름: %s, 나이: %s, 성별: %s, 지역: %s, 선호카테고리: %s", 
-                    user.getName(), user.getAge(), user.getGender(), 
-                    user.getRegion(), user.getOftenCategory());
+        if (context != null) {
+            // 시스템 프롬프트(요약 제외)와 현재 메시지가 차지하는 토큰을 제외한 나머지를 히스토리에 배정
+            int reservedTokens = TokenCounter.estimateMessage(SYSTEM_PROMPT_TEMPLATE.formatted(userProfile, ""))
+                    + TokenCounter.estimateMessage(message);
+            // 같은 세션의 다른 요청이 턴을 추가하는 중에 버퍼를 읽지 않도록 압축과 메시지 변환을 한 번에 처리
+            context.historyLock().lock();
+            try {
+                ConversationHistoryCompactor.CompactedHistory compacted = historyCompactor.compact(context, reservedTokens);
+                summary = compacted.getSummary() != null ? compacted.getSummary() : "";
+                appendHistoryMessages(historyMessages, compacted.getRecentHistory());
+            } finally {
+                context.historyLock().unlock();
             }
-        } catch (Exception e) {
-            logger.error("사용자 프로필 생성 중 오류", e);
         }
         
-        return "비로그인 사용자";
+        // GPT 프롬프트 구성
+        String systemPrompt = SYSTEM_PROMPT_TEMPLATE.formatted(userProfile, summary.isEmpty() ? "없음" : summary);
+        
+        // GPT API 요청 - 최근 대화 히스토리 포함
+        List<GPTMessage> messages = new ArrayList<>();
+        messages.add(new GPTMessage("system", systemPrompt));
+        
+        // 최근 대화 히스토리 추가
+        messages.addAll(historyMessages);
+        
+        // 현재 사용자 메시지 추가
+        messages.add(new GPTMessage("user", message));
+        
+        GPTRequest request = new GPTRequest();
+        request.setModel("gpt-3.5-turbo");
+        request.setMessages(messages);
+        return request;
+    }
+    
+    /**
+     * 히스토리 메시지를 역할 그대로 user/assistant 메시지로 추가 (본문 문자열을 복사하지 않음)
+     */
+    static void appendHistoryMessages(List<GPTMessage> messages, ConversationHistory history) {
+        history.forEach((role, text, timestamp) -> messages.add(new GPTMessage(ConversationHistory.roleName(role), text)));
+    }
+    
+    /**
+     * GPT 응답에서 음식 이름 추출 (로컬 사전 또는 GPT 추출 요청, gpt_extraction 단계로 기록)
+     */
+    private Mono<List<String>> extractFoodFromGPT(String gptResponse) {
+        return stageMetrics.time(StageMetrics.GPT_EXTRACTION, Mono.deferContextual(ctx -> {
+            logger.debug("GPT 응답에서 음식 추출 시도: {}", LoggingConfig.abbreviate(gptResponse));
+            
+            // 1차: 로컬 음식 사전으로 추출 (추가 네트워크 호출 없음)
+            Mono<List<String>> foodsMono;
+            List<String> localFoods = foodNameExtractor.extract(gptResponse);
+            if (!localFoods.isEmpty()) {
+                logger.debug("로컬 음식 사전 추출 성공: {}", localFoods);
+                foodsMono = Mono.just(localFoods);
+            } else {
+                // 2차: 사전에 없는 음식일 때만 GPT에게 직접 음식 목록 요청
+                logger.debug("로컬 음식 사전 매칭 없음, GPT 추출 요청");
+                foodsMono = requestFoodListFromGPT(gptResponse);
+            }
+            
+            return foodsMono
+                    .map(foods -> {
+                        // 음식이 추출되지 않았을 때 기본 추천 제공
+                        if (foods.isEmpty()) {
+                            RequestMdc.run(ctx, () -> logger.warn("GPT 응답에서 음식을 추출하지 못함, 기본 추천 제공"));
+                            foods.add("김치찌개");
+                            foods.add("비빔밥");
+                            foods.add("제육볶음");
+                        }
+                    
+                        // 최대 3개까지만 반환
+                        List<String> result = foods.subList(0, Math.min(foods.size(), 3));
+                        logger.debug("최종 추천 음식: {}", result);
+                        return result;
+                    });
+        }));
+    }
+    
+    /**
+     * GPT에게 직접 음식 목록 요청
+     */
+    private Mono<List<String>> requestFoodListFromGPT(String originalResponse) {
+        String prompt = String.format("""
+            다음 응답에서 추천된 음식 이름만 3개 추출해주세요.
+            음식 이름만 쉼표로 구분해서 답변하세요.
+            사용자의 요구사항에 맞는 음식을 우선적으로 추출하세요.
+            
+            응답: %s
+            
+            예시: 김치찌개, 비빔밥, 순두부찌개
+            """, originalResponse);
+        
+        return callGPTAPI(prompt, "음식 추출", null)
+                .map(gptFoodResponse -> {
+                    // 쉼표로 분리하여 음식 목록 추출
+                    List<String> foods = new ArrayList<>();
+                    if (!gptFoodResponse.trim().isEmpty()) {
+                        String[] foodArray = gptFoodResponse.split(",");
+                        for (String food : foodArray) {
+                            String trimmedFood = food.trim();
+                            if (!trimmedFood.isEmpty()) {
+                                foods.add(trimmedFood);
+                            }
+                        }
+                    }
+                    return foods;
+                })
+                .doOnEach(RequestMdc.onError(e -> logger.error("GPT 음식 목록 요청 실패", e)))
+                .onErrorResume(e -> Mono.just(new ArrayList<String>()));
+    }
+    
+    /**
+     * GPT 프롬프트용 사용자 정보 (로그인 시 만들어 둔 문자열)
+     */
+    private static String promptProfileOf(SessionProfile profile) {
+        return profile != null ? profile.getPromptProfile() : "비로그인 사용자";
     }
     
     /**
@@ -407,7 +718,7 @@ public class GPTConversationService {
     /**
      * 음식 이름을 Recommendation 객체로 변환
      */
-    private List<Recommendation> convertToRecommendations(List<String> foodNames) {
+    List<Recommendation> convertToRecommendations(List<String> foodNames) {
         List<Recommendation> recommendations = new ArrayList<>();
         int[] prices = {8000, 10000, 12000, 15000};
         
@@ -429,46 +740,35 @@ public class GPTConversationService {
         return response;
     }
     
-    /**
-     * UserInfo 변환 (Python AI 서비스용)
-     */
-    private UserInfo convertUserToUserInfo(User user) {
-        UserInfo userInfo = new UserInfo();
-        userInfo.setName(user.getName());
-        userInfo.setGender(user.getGender());
-        userInfo.setAgeGroup(user.getAge());
-        userInfo.setRegion(user.getRegion());
-        userInfo.setPrefCategory(user.getOftenCategory());
-        if (user.getLikeCategory() != null && !user.getLikeCategory().isEmpty()) {
-            userInfo.setFavCategories(Arrays.asList(user.getLikeCategory().split(",")));
-        }
-        return userInfo;
-    }
-    
     /**
      * 대화 컨텍스트 가져오기 또는 생성
      */
-    private ConversationContext getOrCreateContext(String sessionId, String userEmail) {
-        return conversationContexts.computeIfAbsent(sessionId, 
-            k -> new ConversationContext(sessionId, userEmail));
+    private Mono<ConversationContext> getOrCreateContext(String sessionId, SessionProfile profile) {
+        return conversationStore.getOrCreate(sessionId, profile != null ? profile.getEmail() : null);
     }
     
     // GPT API 요청/응답 DTO 클래스들
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     public static class GPTRequest {
         private String model;
         private List<GPTMessage> messages;
+        private Boolean stream;
         
         // getters and setters
         public String getModel() { return model; }
         public void setModel(String model) { this.model = model; }
         public List<GPTMessage> getMessages() { return messages; }
         public void setMessages(List<GPTMessage> messages) { this.messages = messages; }
+        public Boolean getStream() { return stream; }
+        public void setStream(Boolean stream) { this.stream = stream; }
     }
     
     public static class GPTMessage {
         private String role;
         private String content;
         
+        public GPTMessage() {}
+        
         public GPTMessage(String role, String content) {
             this.role = role;
             this.content = content;
@@ -491,9 +791,21 @@ public class GPTConversationService {
     
     public static class GPTChoice {
         private GPTMessage message;
+        private GPTMessage delta; // 스트리밍 응답용
         
         // getters and setters
         public GPTMessage getMessage() { return message; }
         public void setMessage(GPTMessage message) { this.message = message; }
+        public GPTMessage getDelta() { return delta; }
+        public void setDelta(GPTMessage delta) { this.delta = delta; }
+    }
+    
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class GPTStreamChunk {
+        private List<GPTChoice> choices;
+        
+        // getters and setters
+        public List<GPTChoice> getChoices() { return choices; }
+        public void setChoices(List<GPTChoice> choices) { this.choices = choices; }
     }
 }
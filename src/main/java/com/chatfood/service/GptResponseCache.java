@@ -0,0 +1,219 @@
+package com.chatfood.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * GPT 응답 캐시
+ * - 키: 정규화한 현재 메시지 + 이전 메시지(시스템 프롬프트의 프로필/요약, 최근 대화) 해시
+ * - LRU + TTL 만료
+ * - 같은 키로 동시에 들어온 요청은 진행 중인 하나의 GPT 호출 결과를 함께 사용 (single-flight)
+ */
+@Component
+public class GptResponseCache implements MeterBinder {
+
+    private final int maxEntries;
+    private final long ttlMillis;
+
+    // 접근 순서(access-order) LinkedHashMap: 맨 앞이 가장 오래 사용하지 않은 항목
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // 진행 중인 GPT 호출 (키별 하나)
+    private final Map<String, Mono<String>> inFlight = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong savedMillis = new AtomicLong();
+
+    public GptResponseCache(@Value("${chat.gpt.cache.max-entries:5000}") int maxEntries,
+                            @Value("${chat.gpt.cache.ttl-minutes:10}") long ttlMinutes) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlMinutes * 60_000L;
+    }
+
+    /**
+     * 캐시 조회, 없으면 loader로 GPT 호출
+     * 에러나 빈 응답은 캐시하지 않습니다.
+     */
+    public Mono<String> get(List<GPTConversationService.GPTMessage> messages, Supplier<Mono<String>> loader) {
+        return Mono.defer(() -> {
+            String key = keyOf(messages);
+
+            Entry cached = lookup(key);
+            if (cached != null) {
+                hits.incrementAndGet();
+                savedMillis.addAndGet(cached.loadMillis);
+                return Mono.just(cached.response);
+            }
+
+            Mono<String> call = inFlight.get(key);
+            if (call != null) {
+                coalesced.incrementAndGet();
+                return call;
+            }
+
+            long start = System.currentTimeMillis();
+            AtomicReference<Mono<String>> self = new AtomicReference<>();
+            Mono<String> newCall = loader.get()
+                    .doOnNext(response -> store(key, response, System.currentTimeMillis() - start))
+                    // 결과를 받은 쪽이 바로 다시 요청해도(에러 후 재시도 등) 끝난 호출을 재사용하지 않도록
+                    // 신호를 전달하기 전에 제거하고, 그 사이 같은 키로 등록된 다른 호출은 건드리지 않음
+                    .doOnTerminate(() -> inFlight.remove(key, self.get()))
+                    .cache();
+            self.set(newCall);
+
+            Mono<String> existing = inFlight.putIfAbsent(key, newCall);
+            if (existing != null) {
+                coalesced.incrementAndGet();
+                return existing;
+            }
+            misses.incrementAndGet();
+            return newCall;
+        });
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * 캐시 적중률 (single-flight로 합쳐진 요청도 적중으로 계산)
+     */
+    public double getHitRatio() {
+        long saved = hits.get() + coalesced.get();
+        long total = saved + misses.get();
+        return total == 0 ? 0.0 : (double) saved / total;
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("chat.gpt.cache.requests", hits, AtomicLong::get)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("chat.gpt.cache.requests", misses, AtomicLong::get)
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("chat.gpt.cache.requests", coalesced, AtomicLong::get)
+                .tag("result", "coalesced")
+                .register(registry);
+        FunctionCounter.builder("chat.gpt.cache.saved.latency", savedMillis, AtomicLong::get)
+                .description("캐시 적중으로 절약한 GPT 호출 시간 합계")
+                .baseUnit("milliseconds")
+                .register(registry);
+        Gauge.builder("chat.gpt.cache.hit.ratio", this, GptResponseCache::getHitRatio)
+                .register(registry);
+        Gauge.builder("chat.gpt.cache.size", this, GptResponseCache::size)
+                .register(registry);
+    }
+
+    private Entry lookup(String key) {
+        lock.lock();
+        try {
+            Entry entry = entries.get(key);
+            if (entry != null && System.currentTimeMillis() - entry.createdAt > ttlMillis) {
+                entries.remove(key);
+                return null;
+            }
+            return entry;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void store(String key, String response, long loadMillis) {
+        lock.lock();
+        try {
+            entries.put(key, new Entry(response, System.currentTimeMillis(), loadMillis));
+            while (entries.size() > maxEntries) {
+                String eldest = entries.keySet().iterator().next();
+                entries.remove(eldest);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 캐시 키 생성
+     * 마지막(현재) 사용자 메시지는 공백/문장부호/대소문자를 무시하도록 정규화하고,
+     * 그 앞의 메시지(시스템 프롬프트, 최근 대화)는 SHA-256 해시로 요약합니다.
+     */
+    static String keyOf(List<GPTConversationService.GPTMessage> messages) {
+        MessageDigest digest = sha256();
+        for (int i = 0; i < messages.size() - 1; i++) {
+            GPTConversationService.GPTMessage message = messages.get(i);
+            digest.update(message.getRole().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(message.getContent().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+        String current = messages.isEmpty() ? "" : messages.get(messages.size() - 1).getContent();
+        return normalize(current) + "|" + HexFormat.of().formatHex(digest.digest());
+    }
+
+    static String normalize(String message) {
+        String normalized = Normalizer.normalize(message, Normalizer.Form.NFKC).toLowerCase();
+        StringBuilder sb = new StringBuilder(normalized.length());
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 사용할 수 없습니다.", e);
+        }
+    }
+
+    private static final class Entry {
+        private final String response;
+        private final long createdAt;
+        private final long loadMillis;
+
+        private Entry(String response, long createdAt, long loadMillis) {
+            this.response = response;
+            this.createdAt = createdAt;
+            this.loadMillis = loadMillis;
+        }
+    }
+}
@@ -0,0 +1,619 @@
+package com.chatfood.service;
+
+import com.chatfood.dto.ConversationContext;
+import com.chatfood.dto.ConversationHistory;
+import com.chatfood.dto.Recommendation;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * DB 기반 대화 컨텍스트 저장소 (chat.store.type=jdbc)
+ * 여러 인스턴스가 같은 DB를 보므로 sticky 세션 없이 어느 인스턴스로 요청이 가도 대화가 이어지고, 재배포에도 남습니다.
+ *
+ * - chat_conversation: 세션당 1행 (버전, 다음 턴 순번, 히스토리 시작 순번, 요약, 추천 목록 등)
+ * - chat_turn: 히스토리 메시지 한 개당 1행 (역할, 본문, 시각) - 턴마다 새 행 2개만 배치 INSERT하고 히스토리 전체를 다시 쓰지 않음
+ * - near-cache: 최근 세션의 컨텍스트를 메모리에 두고, 요청마다 PK로 버전만 조회해 같으면 그대로 사용
+ * - 쓰기는 버전 조건부 UPDATE (낙관적 잠금) - 다른 인스턴스가 먼저 썼으면 다시 읽어 그 위에 이번 턴을 추가
+ * - DB 오류로 저장하지 못한 항목은 near-cache 항목에 남겨 두고 같은 세션의 다음 쓰기에서 함께 저장
+ *
+ * 세션 ID가 인스턴스 간에 같아야 의미가 있으므로 HttpSession도 공유 저장소(Spring Session 등)를 쓸 때 사용합니다.
+ *
+ * 스키마는 시작 시 CREATE TABLE IF NOT EXISTS로 만들며 PostgreSQL과 H2 모두에서 동작하는 타입만 사용합니다.
+ * 만료는 마지막 저장 시각(updated_at) 기준입니다.
+ */
+@Component
+@ConditionalOnProperty(name = "chat.store.type", havingValue = "jdbc")
+public class JdbcConversationStore implements ConversationStore, MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(JdbcConversationStore.class);
+
+    // 히스토리 한 항목 / 요약 / 추천 JSON 최대 길이 (컬럼 크기)
+    private static final int MAX_TEXT_LENGTH = 65535;
+    // 버전 충돌 시 다시 읽고 재시도할 최대 횟수
+    private static final int MAX_WRITE_ATTEMPTS = 3;
+
+    private static final List<String> SCHEMA = List.of(
+            "CREATE TABLE IF NOT EXISTS chat_conversation ("
+                    + "session_id VARCHAR(128) PRIMARY KEY, "
+                    + "user_email VARCHAR(255), "
+                    + "version BIGINT NOT NULL, "
+                    + "next_seq BIGINT NOT NULL, "
+                    + "history_start_seq BIGINT NOT NULL, "
+                    + "conversation_turn INT NOT NULL, "
+                    + "history_summary VARCHAR(65535), "
+                    + "has_recommendations BOOLEAN NOT NULL, "
+                    + "last_recommendations VARCHAR(65535), "
+                    + "started_at TIMESTAMP NOT NULL, "
+                    + "updated_at BIGINT NOT NULL)",
+            "CREATE INDEX IF NOT EXISTS idx_chat_conversation_updated_at ON chat_conversation (updated_at)",
+            "CREATE TABLE IF NOT EXISTS chat_turn ("
+                    + "session_id VARCHAR(128) NOT NULL, "
+                    + "seq BIGINT NOT NULL, "
+                    + "role SMALLINT NOT NULL, "
+                    + "content VARCHAR(65535) NOT NULL, "
+                    + "created_at BIGINT NOT NULL, "
+                    + "PRIMARY KEY (session_id, seq))");
+
+    private static final String SELECT_VERSION =
+            "SELECT version, updated_at FROM chat_conversation WHERE session_id = ?";
+    private static final String SELECT_CONVERSATION =
+            "SELECT user_email, version, next_seq, history_start_seq, conversation_turn, history_summary, "
+                    + "has_recommendations, last_recommendations, started_at FROM chat_conversation WHERE session_id = ?";
+    private static final String SELECT_TURNS =
+            "SELECT role, content, created_at FROM chat_turn WHERE session_id = ? AND seq >= ? ORDER BY seq";
+    private static final String INSERT_CONVERSATION =
+            "INSERT INTO chat_conversation (session_id, user_email, version, next_seq, history_start_seq, conversation_turn, "
+                    + "history_summary, has_recommendations, last_recommendations, started_at, updated_at) "
+                    + "VALUES (?, ?, 1, ?, 0, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_CONVERSATION =
+            "UPDATE chat_conversation SET version = version + 1, next_seq = ?, history_start_seq = ?, conversation_turn = ?, "
+                    + "history_summary = ?, has_recommendations = ?, last_recommendations = ?, updated_at = ? "
+                    + "WHERE session_id = ? AND version = ?";
+    private static final String INSERT_TURN =
+            "INSERT INTO chat_turn (session_id, seq, role, content, created_at) VALUES (?, ?, ?, ?, ?)";
+    private static final String DELETE_OLD_TURNS = "DELETE FROM chat_turn WHERE session_id = ? AND seq < ?";
+    private static final String DELETE_TURNS = "DELETE FROM chat_turn WHERE session_id = ?";
+    private static final String DELETE_CONVERSATION = "DELETE FROM chat_conversation WHERE session_id = ?";
+    private static final String DELETE_EXPIRED_CONVERSATIONS = "DELETE FROM chat_conversation WHERE updated_at < ?";
+    private static final String DELETE_ORPHAN_TURNS =
+            "DELETE FROM chat_turn WHERE NOT EXISTS "
+                    + "(SELECT 1 FROM chat_conversation c WHERE c.session_id = chat_turn.session_id)";
+
+    private static final TypeReference<List<Recommendation>> RECOMMENDATIONS_TYPE = new TypeReference<>() {};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ConcurrencyLimiter databaseLimiter;
+    private final StageMetrics stageMetrics;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final int nearCacheMaxEntries;
+    private final long idleTtlMillis;
+    private final int maxHistorySize;
+
+    // 접근 순서(access-order) LinkedHashMap: 맨 앞이 가장 오래 접근하지 않은 세션
+    private final LinkedHashMap<String, Cached> nearCache = new LinkedHashMap<>(256, 0.75f, true);
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final AtomicLong nearCacheHits = new AtomicLong();
+    private final AtomicLong nearCacheStale = new AtomicLong();
+    private final AtomicLong nearCacheMisses = new AtomicLong();
+    private final AtomicLong writeConflicts = new AtomicLong();
+    private final AtomicLong writeFailures = new AtomicLong();
+
+    public JdbcConversationStore(JdbcTemplate jdbcTemplate,
+                                 TransactionTemplate transactionTemplate,
+                                 @Qualifier("databaseConcurrencyLimiter") ConcurrencyLimiter databaseLimiter,
+                                 StageMetrics stageMetrics,
+                                 @Value("${chat.store.near-cache.max-entries:10000}") int nearCacheMaxEntries,
+                                 @Value("${chat.context.idle-ttl-minutes:30}") long idleTtlMinutes,
+                                 @Value("${chat.context.max-history:40}") int maxHistorySize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.databaseLimiter = databaseLimiter;
+        this.stageMetrics = stageMetrics;
+        this.nearCacheMaxEntries = nearCacheMaxEntries;
+        this.idleTtlMillis = idleTtlMinutes * 60_000L;
+        this.maxHistorySize = maxHistorySize;
+
+        SCHEMA.forEach(jdbcTemplate::execute);
+        logger.info("DB 대화 저장소 사용 - near-cache 최대 {}개, 유휴 만료 {}분", nearCacheMaxEntries, idleTtlMinutes);
+    }
+
+    @Override
+    public Mono<ConversationContext> getOrCreate(String sessionId, String userEmail) {
+        return jdbc(StageMetrics.DB_CONVERSATION_LOAD, () -> getOrCreateNow(sessionId, userEmail));
+    }
+
+    @Override
+    public Mono<Void> appendTurn(ConversationContext context, String userMessage, String aiReply) {
+        ConversationHistory turn = new ConversationHistory(2);
+        turn.add(ConversationHistory.ROLE_USER, userMessage);
+        turn.add(ConversationHistory.ROLE_ASSISTANT, aiReply);
+        return write(context, turn);
+    }
+
+    @Override
+    public Mono<Void> save(ConversationContext context) {
+        return write(context, new ConversationHistory(1));
+    }
+
+    @Override
+    public Mono<Void> remove(String sessionId) {
+        return jdbc(StageMetrics.DB_CONVERSATION_WRITE, () -> {
+            evict(sessionId);
+            transactionTemplate.executeWithoutResult(status -> deleteConversation(sessionId));
+            return Boolean.TRUE;
+        }).then();
+    }
+
+    /**
+     * 만료된 대화 정리 (백그라운드)
+     * 여러 인스턴스가 동시에 실행해도 같은 조건의 DELETE라 결과가 같습니다.
+     */
+    @Scheduled(fixedDelayString = "${chat.context.cleanup-interval-ms:30000}")
+    public void evictExpired() {
+        long cutoff = System.currentTimeMillis() - idleTtlMillis;
+        lock.lock();
+        try {
+            nearCache.values().removeIf(cached -> cached.lastAccess < cutoff);
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            Integer deleted = transactionTemplate.execute(status -> {
+                int conversations = jdbcTemplate.update(DELETE_EXPIRED_CONVERSATIONS, cutoff);
+                if (conversations > 0) {
+                    jdbcTemplate.update(DELETE_ORPHAN_TURNS);
+                }
+                return conversations;
+            });
+            if (deleted != null && deleted > 0) {
+                logger.info("만료된 대화 정리 (DB) - 제거: {}", deleted);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("만료된 대화 정리 실패: {}", e.getMessage());
+        }
+    }
+
+    public int nearCacheSize() {
+        lock.lock();
+        try {
+            return nearCache.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("chat.store.near.cache.size", this, JdbcConversationStore::nearCacheSize)
+                .register(registry);
+        FunctionCounter.builder("chat.store.near.cache", nearCacheHits, AtomicLong::get)
+                .description("near-cache 조회 결과 (hit: 버전 일치, stale: 다른 인스턴스가 갱신해 다시 읽음, miss: 캐시에 없음)")
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("chat.store.near.cache", nearCacheStale, AtomicLong::get)
+                .tag("result", "stale")
+                .register(registry);
+        FunctionCounter.builder("chat.store.near.cache", nearCacheMisses, AtomicLong::get)
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("chat.store.write.conflicts", writeConflicts, AtomicLong::get)
+                .description("다른 인스턴스가 먼저 저장해 다시 읽고 재시도한 횟수")
+                .register(registry);
+        FunctionCounter.builder("chat.store.write.failures", writeFailures, AtomicLong::get)
+                .description("DB 오류로 저장하지 못한 쓰기 수 (near-cache에 남은 항목은 다음 쓰기에서 다시 저장)")
+                .register(registry);
+    }
+
+    // JDBC 호출은 블로킹이므로 boundedElastic에서 DB 동시 호출 제한 안에서 실행
+    private <T> Mono<T> jdbc(String stage, Callable<T> call) {
+        return stageMetrics.time(stage,
+                databaseLimiter.limit(Mono.fromCallable(call).subscribeOn(Schedulers.boundedElastic())));
+    }
+
+    // 저장 실패는 대화를 막지 않음 - 저장하지 못한 항목은 near-cache 항목에 남아 다음 쓰기에서 함께 저장됨
+    // (그 전에 near-cache에서 밀려나거나 인스턴스가 내려가면 해당 항목은 잃음)
+    private Mono<Void> write(ConversationContext context, ConversationHistory newEntries) {
+        return jdbc(StageMetrics.DB_CONVERSATION_WRITE, () -> {
+            writeNow(context, newEntries);
+            return Boolean.TRUE;
+        }).onErrorResume(e -> {
+            writeFailures.incrementAndGet();
+            logger.warn("대화 저장 실패 - 세션: {}, 원인: {}", context.getSessionId(), e.getMessage());
+            return Mono.empty();
+        }).then();
+    }
+
+    private ConversationContext getOrCreateNow(String sessionId, String userEmail) {
+        long now = System.currentTimeMillis();
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(SELECT_VERSION, sessionId);
+        Cached cached = cacheGet(sessionId);
+
+        if (rows.isEmpty()) {
+            return create(sessionId, userEmail, now);
+        }
+        long version = ((Number) rows.get(0).get("version")).longValue();
+        long updatedAt = ((Number) rows.get(0).get("updated_at")).longValue();
+        if (now - updatedAt > idleTtlMillis) {
+            evict(sessionId);
+            transactionTemplate.executeWithoutResult(status -> deleteConversation(sessionId));
+            return create(sessionId, userEmail, now);
+        }
+
+        if (cached != null) {
+            cached.lock.lock();
+            try {
+                if (cached.version == version) {
+                    nearCacheHits.incrementAndGet();
+                    cached.lastAccess = now;
+                    return cached.context;
+                }
+                // 다른 인스턴스가 갱신함 - 같은 객체에 최신 상태를 덮어써 진행 중인 요청과 공유
+                nearCacheStale.incrementAndGet();
+                Cached fresh = load(sessionId);
+                if (fresh == null) {
+                    return create(sessionId, userEmail, now);
+                }
+                cached.copyFrom(fresh);
+                if (cached.unsaved != null) {
+                    // 아직 저장하지 못한 이번 인스턴스의 항목은 최신 상태 위에 다시 얹음
+                    addEntries(cached.context, cached.unsaved);
+                }
+                cached.lastAccess = now;
+                return cached.context;
+            } finally {
+                cached.lock.unlock();
+            }
+        }
+
+        nearCacheMisses.incrementAndGet();
+        Cached loaded = load(sessionId);
+        if (loaded == null) {
+            return create(sessionId, userEmail, now);
+        }
+        return cachePut(loaded).context;
+    }
+
+    private ConversationContext create(String sessionId, String userEmail, long now) {
+        ConversationContext context = new ConversationContext(sessionId, userEmail);
+        context.setMaxHistorySize(maxHistorySize);
+        try {
+            jdbcTemplate.update(INSERT_CONVERSATION, sessionId, userEmail, 0L, 0, null, false, null,
+                    Timestamp.valueOf(context.getStartTime()), now);
+        } catch (DuplicateKeyException e) {
+            // 다른 인스턴스가 같은 세션을 동시에 만든 경우 그쪽 행을 사용
+            Cached loaded = load(sessionId);
+            if (loaded != null) {
+                return cachePut(loaded).context;
+            }
+            throw e;
+        }
+        return cachePut(new Cached(context, 1L, 0L)).context;
+    }
+
+    private void writeNow(ConversationContext context, ConversationHistory newEntries) {
+        String sessionId = context.getSessionId();
+        Cached cached = cacheGet(sessionId);
+        if (cached == null || cached.context != context) {
+            // near-cache에서 밀려난 컨텍스트 - DB 상태를 기준으로 다시 맞춤
+            Cached loaded = load(sessionId);
+            cached = loaded != null ? cachePut(loaded) : null;
+            if (cached != null) {
+                cached.lock.lock();
+                try {
+                    mergeInto(cached, context);
+                } finally {
+                    cached.lock.unlock();
+                }
+            }
+        }
+
+        if (cached == null) {
+            // 만료 정리로 행이 사라진 경우 현재 컨텍스트로 새로 저장
+            addEntries(context, newEntries);
+            insertWithHistory(context);
+            return;
+        }
+
+        cached.lock.lock();
+        try {
+            addEntries(cached.context, newEntries);
+            // 이전 쓰기에서 저장하지 못한 항목이 있으면 이번 항목과 함께 저장
+            ConversationHistory entries = newEntries;
+            if (cached.unsaved != null) {
+                cached.unsaved.addAll(newEntries);
+                entries = cached.unsaved;
+            }
+            try {
+                writeEntries(cached, entries);
+                cached.unsaved = null;
+            } catch (RuntimeException e) {
+                if (cached.unsaved == null) {
+                    // 히스토리 최대 수보다 오래된 항목은 어차피 저장 범위 밖이므로 그만큼만 보관
+                    cached.unsaved = newEntries.copy(maxHistorySize);
+                }
+                throw e;
+            }
+        } finally {
+            cached.lock.unlock();
+        }
+    }
+
+    private void writeEntries(Cached cached, ConversationHistory entries) {
+        String sessionId = cached.context.getSessionId();
+        for (int attempt = 1; ; attempt++) {
+            if (tryWrite(cached, entries)) {
+                cached.lastAccess = System.currentTimeMillis();
+                return;
+            }
+            writeConflicts.incrementAndGet();
+            if (attempt >= MAX_WRITE_ATTEMPTS) {
+                throw new IllegalStateException("버전 충돌이 계속되어 저장하지 못했습니다.");
+            }
+            // 다른 인스턴스의 변경을 읽어 오고, 이번 쓰기 내용(새 항목, 추천 상태)을 그 위에 다시 적용
+            Cached fresh = load(sessionId);
+            if (fresh == null) {
+                evict(sessionId);
+                insertWithHistory(cached.context);
+                return;
+            }
+            ConversationContext mine = cached.context;
+            boolean hasRecommendations = mine.isHasRecommendations();
+            List<Recommendation> lastRecommendations = mine.getLastRecommendations();
+            cached.copyFrom(fresh);
+            addEntries(mine, entries);
+            mine.setHasRecommendations(hasRecommendations);
+            mine.setLastRecommendations(lastRecommendations);
+        }
+    }
+
+    /**
+     * 버전 조건부 UPDATE + 새 항목 배치 INSERT + 범위 밖 항목 삭제를 한 트랜잭션으로 실행
+     * @return 다른 인스턴스가 먼저 갱신해 버전이 맞지 않으면 false
+     */
+    private boolean tryWrite(Cached cached, ConversationHistory newEntries) {
+        ConversationContext context = cached.context;
+        long firstNewSeq = cached.nextSeq;
+        long nextSeq = firstNewSeq + newEntries.size();
+        long historyStartSeq;
+        int conversationTurn;
+        String historySummary;
+        // 같은 세션의 압축이 히스토리를 바꾸는 중일 수 있으므로 잠금 안에서 값만 읽고 DB 호출은 잠금 밖에서
+        context.historyLock().lock();
+        try {
+            // 최대 히스토리 수 제한이나 압축으로 앞쪽이 빠졌으면 시작 순번도 그만큼 뒤로
+            historyStartSeq = nextSeq - context.getConversationHistory().size();
+            conversationTurn = context.getConversationTurn();
+            historySummary = truncate(context.getHistorySummary());
+        } finally {
+            context.historyLock().unlock();
+        }
+        long now = System.currentTimeMillis();
+
+        Boolean written = transactionTemplate.execute(status -> {
+            int updated = jdbcTemplate.update(UPDATE_CONVERSATION, nextSeq, historyStartSeq, conversationTurn,
+                    historySummary, context.isHasRecommendations(),
+                    toJson(context.getLastRecommendations()), now, context.getSessionId(), cached.version);
+            if (updated == 0) {
+                return false;
+            }
+            if (!newEntries.isEmpty()) {
+                List<Object[]> rows = new ArrayList<>(newEntries.size());
+                for (int i = 0; i < newEntries.size(); i++) {
+                    rows.add(turnRow(context.getSessionId(), firstNewSeq + i, newEntries, i));
+                }
+                jdbcTemplate.batchUpdate(INSERT_TURN, rows);
+            }
+            jdbcTemplate.update(DELETE_OLD_TURNS, context.getSessionId(), historyStartSeq);
+            return true;
+        });
+        if (!Boolean.TRUE.equals(written)) {
+            return false;
+        }
+        cached.version++;
+        cached.nextSeq = nextSeq;
+        return true;
+    }
+
+    private void insertWithHistory(ConversationContext context) {
+        String sessionId = context.getSessionId();
+        ConversationHistory history;
+        int conversationTurn;
+        String historySummary;
+        context.historyLock().lock();
+        try {
+            history = context.getConversationHistory().copy(context.getMaxHistorySize());
+            conversationTurn = context.getConversationTurn();
+            historySummary = truncate(context.getHistorySummary());
+        } finally {
+            context.historyLock().unlock();
+        }
+        long now = System.currentTimeMillis();
+        transactionTemplate.executeWithoutResult(status -> {
+            deleteConversation(sessionId);
+            jdbcTemplate.update(INSERT_CONVERSATION, sessionId, context.getUserId(), (long) history.size(),
+                    conversationTurn, historySummary, context.isHasRecommendations(),
+                    toJson(context.getLastRecommendations()), Timestamp.valueOf(context.getStartTime()), now);
+            List<Object[]> rows = new ArrayList<>(history.size());
+            for (int i = 0; i < history.size(); i++) {
+                rows.add(turnRow(sessionId, i, history, i));
+            }
+            jdbcTemplate.batchUpdate(INSERT_TURN, rows);
+        });
+        cachePut(new Cached(context, 1L, history.size()));
+    }
+
+    // 저장할 새 메시지를 시각 그대로 컨텍스트 히스토리에 추가 (재시도 시에도 같은 시각 유지)
+    private static void addEntries(ConversationContext context, ConversationHistory entries) {
+        context.historyLock().lock();
+        try {
+            for (int i = 0; i < entries.size(); i++) {
+                context.addToHistory(entries.role(i), entries.text(i), entries.timestamp(i));
+            }
+        } finally {
+            context.historyLock().unlock();
+        }
+    }
+
+    private static Object[] turnRow(String sessionId, long seq, ConversationHistory history, int index) {
+        return new Object[]{sessionId, seq, (int) history.role(index), truncate(history.text(index)), history.timestamp(index)};
+    }
+
+    // near-cache에서 밀려났던 컨텍스트 객체를 DB 최신 상태로 맞추고 캐시 항목이 그 객체를 가리키게 함
+    private void mergeInto(Cached cached, ConversationContext context) {
+        ConversationContext loaded = cached.context;
+        context.replaceHistory(loaded.getConversationHistory(), loaded.getHistorySummary(), loaded.getConversationTurn());
+        cached.context = context;
+    }
+
+    /**
+     * DB에서 세션 컨텍스트 읽기 (없으면 null)
+     */
+    private Cached load(String sessionId) {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(SELECT_CONVERSATION, sessionId);
+        if (rows.isEmpty()) {
+            return null;
+        }
+        Map<String, Object> row = rows.get(0);
+        long historyStartSeq = ((Number) row.get("history_start_seq")).longValue();
+        ConversationContext context = new ConversationContext(sessionId, (String) row.get("user_email"));
+        context.setMaxHistorySize(maxHistorySize);
+        ConversationHistory history = context.getConversationHistory();
+        jdbcTemplate.query(SELECT_TURNS, rs -> {
+            history.add((byte) rs.getInt("role"), rs.getString("content"), rs.getLong("created_at"));
+        }, sessionId, historyStartSeq);
+        context.setConversationTurn(((Number) row.get("conversation_turn")).intValue());
+        context.setHistorySummary((String) row.get("history_summary"));
+        context.setHasRecommendations(Boolean.TRUE.equals(row.get("has_recommendations")));
+        context.setLastRecommendations(fromJson((String) row.get("last_recommendations")));
+        if (row.get("started_at") instanceof Timestamp startedAt) {
+            context.setStartTime(startedAt.toLocalDateTime());
+        }
+        return new Cached(context, ((Number) row.get("version")).longValue(), ((Number) row.get("next_seq")).longValue());
+    }
+
+    private void deleteConversation(String sessionId) {
+        jdbcTemplate.update(DELETE_TURNS, sessionId);
+        jdbcTemplate.update(DELETE_CONVERSATION, sessionId);
+    }
+
+    private Cached cacheGet(String sessionId) {
+        lock.lock();
+        try {
+            return nearCache.get(sessionId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Cached cachePut(Cached cached) {
+        lock.lock();
+        try {
+            nearCache.put(cached.context.getSessionId(), cached);
+            Iterator<Map.Entry<String, Cached>> iterator = nearCache.entrySet().iterator();
+            while (nearCache.size() > nearCacheMaxEntries && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+            return cached;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void evict(String sessionId) {
+        lock.lock();
+        try {
+            nearCache.remove(sessionId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private String toJson(List<Recommendation> recommendations) {
+        if (recommendations == null) {
+            return null;
+        }
+        try {
+            String json = objectMapper.writeValueAsString(recommendations);
+            return json.length() <= MAX_TEXT_LENGTH ? json : null;
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private List<Recommendation> fromJson(String json) {
+        if (json == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(json, RECOMMENDATIONS_TYPE);
+        } catch (JsonProcessingException e) {
+            logger.warn("저장된 추천 목록을 읽지 못했습니다: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static String truncate(String text) {
+        return text != null && text.length() > MAX_TEXT_LENGTH ? text.substring(0, MAX_TEXT_LENGTH) : text;
+    }
+
+    /**
+     * near-cache 항목 - 컨텍스트와 마지막으로 확인한 DB 버전, 다음 턴 순번, 아직 저장하지 못한 항목
+     * 같은 세션의 동시 쓰기는 항목별 락으로 순서를 맞춥니다.
+     */
+    private static final class Cached {
+        private ConversationContext context;
+        private long version;
+        private long nextSeq;
+        private long lastAccess = System.currentTimeMillis();
+        private ConversationHistory unsaved;
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private Cached(ConversationContext context, long version, long nextSeq) {
+            this.context = context;
+            this.version = version;
+            this.nextSeq = nextSeq;
+        }
+
+        // 진행 중인 요청이 들고 있는 컨텍스트 객체는 유지하고 내용만 최신으로 교체
+        private void copyFrom(Cached fresh) {
+            ConversationContext latest = fresh.context;
+            context.replaceHistory(latest.getConversationHistory(), latest.getHistorySummary(), latest.getConversationTurn());
+            context.setHasRecommendations(latest.isHasRecommendations());
+            context.setLastRecommendations(latest.getLastRecommendations());
+            version = fresh.version;
+            nextSeq = fresh.nextSeq;
+        }
+    }
+}
@@ -0,0 +1,509 @@
+package com.chatfood.service;
+
+import com.chatfood.dto.FlaskResponse;
+import com.chatfood.dto.Recommendation;
+import com.chatfood.dto.UserInfo;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * JVM 내 음식 추천 모델 추론 엔진
+ * foodchat/export_model_for_java.py로 내보낸 Dense 가중치(food_model.bin)와
+ * 메타데이터(food_model_meta.json)를 읽어 Flask 서버와 같은 추천 결과를 계산합니다.
+ * - 원-핫 입력의 0인 항목은 건너뛰는 float[] 행렬 연산
+ * - 스레드별 작업 버퍼를 재사용하여 추론마다 배열을 새로 만들지 않음
+ * - Top 5 선택 후 "선택안함" 제외, 최대 3개 (app.py의 recommend_food_logic과 동일)
+ */
+@Component
+public class LocalRecommendationModel {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalRecommendationModel.class);
+
+    static final String WEIGHTS_FILE = "food_model.bin";
+    static final String META_FILE = "food_model_meta.json";
+
+    private static final int MAGIC = 0x43464D31; // "CFM1"
+    private static final byte ACTIVATION_RELU = 1;
+    private static final byte ACTIVATION_SOFTMAX = 2;
+
+    private static final String NO_CHOICE_LABEL = "선택안함";
+    private static final int TOP_K = 5;
+    private static final int MAX_RECOMMENDATIONS = 3;
+
+    private final Path modelDir;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // 현재 사용 중인 모델 (불변 스냅샷, 로딩 전이면 null)
+    private volatile Model model;
+    private long loadedWeightsModified;
+    private long loadedMetaModified;
+    // 파일 I/O를 하는 동안 잡는 락 - synchronized는 가상 스레드를 캐리어 스레드에 고정(pinning)시키므로 사용하지 않음
+    private final ReentrantLock reloadLock = new ReentrantLock();
+
+    // 스레드별 추론 작업 버퍼
+    private final ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(Scratch::new);
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public LocalRecommendationModel(@Value("${recommendation.local-model.dir:foodchat/java_model}") String modelDir,
+                                    ApplicationEventPublisher eventPublisher) {
+        this.modelDir = Paths.get(modelDir);
+        this.eventPublisher = eventPublisher;
+        reloadIfChanged();
+    }
+
+    public boolean isAvailable() {
+        return model != null;
+    }
+
+    public String getModelVersion() {
+        Model current = model;
+        return current != null ? current.version : null;
+    }
+
+    /**
+     * 모델 파일이 바뀌었으면 다시 로딩 (최초 로딩 포함)
+     * @return 새 모델을 로딩했으면 true
+     */
+    @Scheduled(fixedDelayString = "${recommendation.local-model.reload-check-interval-ms:60000}")
+    public boolean reloadIfChanged() {
+        reloadLock.lock();
+        try {
+            return reloadIfChangedLocked();
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private boolean reloadIfChangedLocked() {
+        Path weightsPath = modelDir.resolve(WEIGHTS_FILE);
+        Path metaPath = modelDir.resolve(META_FILE);
+        if (!Files.isRegularFile(weightsPath) || !Files.isRegularFile(metaPath)) {
+            if (model == null && loadedWeightsModified == 0) {
+                logger.info("로컬 추천 모델 파일 없음 - 경로: {}, Python AI 서버 사용", modelDir.toAbsolutePath());
+                loadedWeightsModified = -1;
+            }
+            return false;
+        }
+
+        try {
+            long weightsModified = Files.getLastModifiedTime(weightsPath).toMillis();
+            long metaModified = Files.getLastModifiedTime(metaPath).toMillis();
+            if (model != null && weightsModified == loadedWeightsModified && metaModified == loadedMetaModified) {
+                return false;
+            }
+
+            Model loaded = load(weightsPath, metaPath);
+            model = loaded;
+            loadedWeightsModified = weightsModified;
+            loadedMetaModified = metaModified;
+            logger.info("로컬 추천 모델 로딩 완료 - 버전: {}, 입력: {}, 레이어: {}, 라벨: {}",
+                       loaded.version, loaded.inputSize, loaded.weights.length, loaded.labels.length);
+            eventPublisher.publishEvent(new ModelReloadedEvent(loaded.version));
+            return true;
+        } catch (IOException | RuntimeException e) {
+            logger.error("로컬 추천 모델 로딩 실패 - 경로: {}", modelDir.toAbsolutePath(), e);
+            return false;
+        }
+    }
+
+    /**
+     * 사용자 정보로 추천 (Flask /recommend 응답과 같은 형식)
+     */
+    public FlaskResponse recommend(UserInfo userInfo) {
+        Model current = model;
+        if (current == null) {
+            throw new IllegalStateException("로컬 추천 모델이 로딩되지 않았습니다.");
+        }
+        Scratch buffers = scratch.get();
+        buffers.ensureCapacity(current);
+        encode(current, userInfo, buffers.input);
+        return recommend(current, buffers.input, buffers);
+    }
+
+    /**
+     * 현재 로딩된 모델 스냅샷 (없으면 null)
+     */
+    Model snapshot() {
+        return model;
+    }
+
+    /**
+     * 여러 입력을 한 번에 추론 (프로필 테이블 사전 계산용)
+     * 가중치 행 하나를 모든 입력 행에 적용한 뒤 다음 행으로 넘어가므로 행 단위 반복보다 캐시 효율이 좋습니다.
+     * @param inputs 모델 컬럼 순서의 원-핫 벡터 rows개를 이어 붙인 배열
+     * @return 행별 Top 3 라벨 (pack 형식, toResponse로 변환)
+     */
+    int[] recommendBatch(Model current, float[] inputs, int rows) {
+        float[] in = inputs;
+        int inSize = current.inputSize;
+        int layers = current.weights.length;
+
+        for (int l = 0; l < layers; l++) {
+            float[] w = current.weights[l];
+            float[] bias = current.biases[l];
+            int outSize = bias.length;
+            float[] out = new float[rows * outSize];
+
+            for (int r = 0; r < rows; r++) {
+                System.arraycopy(bias, 0, out, r * outSize, outSize);
+            }
+            for (int i = 0; i < inSize; i++) {
+                int row = i * outSize;
+                for (int r = 0; r < rows; r++) {
+                    float x = in[r * inSize + i];
+                    if (x == 0f) {
+                        continue;
+                    }
+                    int base = r * outSize;
+                    for (int j = 0; j < outSize; j++) {
+                        out[base + j] += x * w[row + j];
+                    }
+                }
+            }
+
+            byte activation = current.activations[l];
+            if (activation == ACTIVATION_RELU) {
+                for (int j = 0; j < out.length; j++) {
+                    if (out[j] < 0f) {
+                        out[j] = 0f;
+                    }
+                }
+            } else if (activation == ACTIVATION_SOFTMAX && l < layers - 1) {
+                for (int r = 0; r < rows; r++) {
+                    softmax(out, r * outSize, outSize);
+                }
+            }
+
+            in = out;
+            inSize = outSize;
+        }
+
+        Scratch buffers = scratch.get();
+        int[] packed = new int[rows];
+        for (int r = 0; r < rows; r++) {
+            packed[r] = selectTop(current, in, r * inSize, buffers);
+        }
+        return packed;
+    }
+
+    /**
+     * pack 형식의 Top 3 라벨을 Flask /recommend 응답 형식으로 변환
+     */
+    static FlaskResponse toResponse(Model current, int packed) {
+        FlaskResponse response = new FlaskResponse();
+        List<Recommendation> recommendations = new ArrayList<>(MAX_RECOMMENDATIONS);
+        for (int k = 0; k < MAX_RECOMMENDATIONS; k++) {
+            int slot = (packed >>> (k * 8)) & 0xFF;
+            if (slot == 0) {
+                break;
+            }
+            int index = slot - 1;
+            recommendations.add(new Recommendation(current.labels[index], current.priceMin[index], current.priceMax[index]));
+        }
+        response.setStatus(recommendations.isEmpty() ? "no_recommendation" : "success");
+        response.setRecommendations(recommendations);
+        return response;
+    }
+
+    private FlaskResponse recommend(Model current, float[] input, Scratch buffers) {
+        float[] scores = forward(current, input, buffers);
+        return toResponse(current, selectTop(current, scores, 0, buffers));
+    }
+
+    /**
+     * Top 5 선택 후 "선택안함"을 제외하고 최대 3개
+     * @return 라벨 인덱스+1을 8비트씩 채운 값 (0 = 빈 칸)
+     */
+    private static int selectTop(Model current, float[] scores, int offset, Scratch buffers) {
+        int[] topIndices = buffers.topIndices;
+        float[] topScores = buffers.topScores;
+        int count = 0;
+        for (int i = 0; i < current.labels.length; i++) {
+            float score = scores[offset + i];
+            if (count < TOP_K) {
+                count++;
+            } else if (score <= topScores[TOP_K - 1]) {
+                continue;
+            }
+            int position = count - 1;
+            while (position > 0 && topScores[position - 1] < score) {
+                topScores[position] = topScores[position - 1];
+                topIndices[position] = topIndices[position - 1];
+                position--;
+            }
+            topScores[position] = score;
+            topIndices[position] = i;
+        }
+
+        int packed = 0;
+        int selected = 0;
+        for (int k = 0; k < count && selected < MAX_RECOMMENDATIONS; k++) {
+            int index = topIndices[k];
+            if (index == current.noChoiceIndex) {
+                continue;
+            }
+            packed |= (index + 1) << (selected * 8);
+            selected++;
+        }
+        return packed;
+    }
+
+    /**
+     * 순전파 - 마지막 레이어의 softmax는 순위에 영향이 없으므로 생략하고 logit을 반환
+     */
+    private float[] forward(Model current, float[] input, Scratch buffers) {
+        float[] in = input;
+        float[] out = buffers.a;
+        int inSize = current.inputSize;
+        int layers = current.weights.length;
+
+        for (int l = 0; l < layers; l++) {
+            float[] w = current.weights[l];
+            float[] bias = current.biases[l];
+            int outSize = bias.length;
+
+            System.arraycopy(bias, 0, out, 0, outSize);
+            for (int i = 0; i < inSize; i++) {
+                float x = in[i];
+                if (x == 0f) {
+                    continue;
+                }
+                int row = i * outSize;
+                for (int j = 0; j < outSize; j++) {
+                    out[j] += x * w[row + j];
+                }
+            }
+
+            byte activation = current.activations[l];
+            if (activation == ACTIVATION_RELU) {
+                for (int j = 0; j < outSize; j++) {
+                    if (out[j] < 0f) {
+                        out[j] = 0f;
+                    }
+                }
+            } else if (activation == ACTIVATION_SOFTMAX && l < layers - 1) {
+                softmax(out, 0, outSize);
+            }
+
+            in = out;
+            out = (out == buffers.a) ? buffers.b : buffers.a;
+            inSize = outSize;
+        }
+        return in;
+    }
+
+    private static void softmax(float[] values, int offset, int size) {
+        float max = Float.NEGATIVE_INFINITY;
+        for (int j = offset; j < offset + size; j++) {
+            max = Math.max(max, values[j]);
+        }
+        float sum = 0f;
+        for (int j = offset; j < offset + size; j++) {
+            values[j] = (float) Math.exp(values[j] - max);
+            sum += values[j];
+        }
+        for (int j = offset; j < offset + size; j++) {
+            values[j] /= sum;
+        }
+    }
+
+    /**
+     * UserInfo → 모델 입력 원-핫 벡터 (app.py의 컬럼 매핑과 동일)
+     */
+    static void encode(Model current, UserInfo userInfo, float[] input) {
+        Arrays.fill(input, 0, current.inputSize, 0f);
+        setColumn(current, input, "성별_" + userInfo.getGender(), userInfo.getGender());
+        setColumn(current, input, "나이대_" + userInfo.getAgeGroup(), userInfo.getAgeGroup());
+        setColumn(current, input, "지역_" + userInfo.getRegion(), userInfo.getRegion());
+        setColumn(current, input, "선호카테고리_" + userInfo.getPrefCategory(), userInfo.getPrefCategory());
+        if (userInfo.getFavCategories() != null) {
+            for (String category : userInfo.getFavCategories()) {
+                setColumn(current, input, category, category);
+            }
+        }
+    }
+
+    private static void setColumn(Model current, float[] input, String column, String value) {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        Integer index = current.columnIndex.get(column);
+        if (index != null) {
+            input[index] = 1f;
+        }
+    }
+
+    private Model load(Path weightsPath, Path metaPath) throws IOException {
+        JsonNode meta = objectMapper.readTree(metaPath.toFile());
+
+        String[] columns = toStringArray(meta.get("columns"));
+        String[] labels = toStringArray(meta.get("labels"));
+        Map<String, Integer> columnIndex = new HashMap<>();
+        for (int i = 0; i < columns.length; i++) {
+            columnIndex.put(columns[i], i);
+        }
+
+        // 가격 정보가 없는 음식은 0원으로 표시
+        int[] priceMin = new int[labels.length];
+        int[] priceMax = new int[labels.length];
+        JsonNode priceMap = meta.get("price_map");
+        int noChoiceIndex = -1;
+        for (int i = 0; i < labels.length; i++) {
+            JsonNode price = priceMap != null ? priceMap.get(labels[i]) : null;
+            if (price != null && price.size() == 2) {
+                priceMin[i] = price.get(0).asInt();
+                priceMax[i] = price.get(1).asInt();
+            }
+            if (NO_CHOICE_LABEL.equals(labels[i])) {
+                noChoiceIndex = i;
+            }
+        }
+
+        try (InputStream stream = Files.newInputStream(weightsPath);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(stream))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("모델 파일 형식이 올바르지 않습니다: " + weightsPath);
+            }
+            int layerCount = in.readInt();
+            float[][] weights = new float[layerCount][];
+            float[][] biases = new float[layerCount][];
+            byte[] activations = new byte[layerCount];
+            int maxWidth = 0;
+            int expectedInput = columns.length;
+
+            for (int l = 0; l < layerCount; l++) {
+                int inSize = in.readInt();
+                int outSize = in.readInt();
+                activations[l] = in.readByte();
+                if (inSize != expectedInput) {
+                    throw new IOException("레이어 " + l + " 입력 크기 불일치: " + inSize + " != " + expectedInput);
+                }
+                weights[l] = readFloats(in, inSize * outSize);
+                biases[l] = readFloats(in, outSize);
+                maxWidth = Math.max(maxWidth, outSize);
+                expectedInput = outSize;
+            }
+            if (labels.length > 0xFE) {
+                throw new IOException("라벨 수가 너무 많습니다: " + labels.length);
+            }
+            if (expectedInput != labels.length) {
+                throw new IOException("출력 크기와 라벨 수 불일치: " + expectedInput + " != " + labels.length);
+            }
+
+            String version = meta.hasNonNull("model_version") ? meta.get("model_version").asText() : "local";
+            return new Model(version, columns, columnIndex, labels, priceMin, priceMax, noChoiceIndex,
+                    weights, biases, activations, maxWidth);
+        }
+    }
+
+    private static float[] readFloats(DataInputStream in, int count) throws IOException {
+        float[] values = new float[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = in.readFloat();
+        }
+        return values;
+    }
+
+    private static String[] toStringArray(JsonNode node) {
+        if (node == null || !node.isArray()) {
+            return new String[0];
+        }
+        String[] values = new String[node.size()];
+        Iterator<JsonNode> elements = node.elements();
+        for (int i = 0; elements.hasNext(); i++) {
+            values[i] = elements.next().asText();
+        }
+        return values;
+    }
+
+    /**
+     * 새 모델 로딩 완료 이벤트
+     */
+    public static final class ModelReloadedEvent {
+        private final String version;
+
+        public ModelReloadedEvent(String version) {
+            this.version = version;
+        }
+
+        public String getVersion() { return version; }
+    }
+
+    /**
+     * 로딩된 모델 (불변)
+     */
+    static final class Model {
+        final String version;
+        final String[] columns;
+        final Map<String, Integer> columnIndex;
+        final String[] labels;
+        final int[] priceMin;
+        final int[] priceMax;
+        final int noChoiceIndex;
+        final float[][] weights; // 레이어별 [입력][출력] 행 우선 배열
+        final float[][] biases;
+        final byte[] activations;
+        final int inputSize;
+        final int maxWidth;
+
+        Model(String version, String[] columns, Map<String, Integer> columnIndex, String[] labels,
+              int[] priceMin, int[] priceMax, int noChoiceIndex,
+              float[][] weights, float[][] biases, byte[] activations, int maxWidth) {
+            this.version = version;
+            this.columns = columns;
+            this.columnIndex = columnIndex;
+            this.labels = labels;
+            this.priceMin = priceMin;
+            this.priceMax = priceMax;
+            this.noChoiceIndex = noChoiceIndex;
+            this.weights = weights;
+            this.biases = biases;
+            this.activations = activations;
+            this.inputSize = columns.length;
+            this.maxWidth = maxWidth;
+        }
+    }
+
+    /**
+     * 스레드별 작업 버퍼 (모델 크기가 커지면 다시 할당)
+     */
+    private static final class Scratch {
+        private float[] input = new float[0];
+        private float[] a = new float[0];
+        private float[] b = new float[0];
+        private final int[] topIndices = new int[TOP_K];
+        private final float[] topScores = new float[TOP_K];
+
+        private void ensureCapacity(Model current) {
+            if (input.length < current.inputSize) {
+                input = new float[current.inputSize];
+            }
+            if (a.length < current.maxWidth) {
+                a = new float[current.maxWidth];
+                b = new float[current.maxWidth];
+            }
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.chatfood.service;
+
+import net.logstash.logback.argument.StructuredArguments;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 요청 추적 요약 로그 (요청당 1줄)
+ * 텍스트 로그에는 스팬 트리를, JSON 로그에는 같은 내용을 "spans" 필드로 남겨
+ * 느린 요청을 로그 한 건으로 진단할 수 있게 합니다.
+ * 예) POST /chat 1532ms success {gpt_chat +3ms 1210ms success {openai.chat_completions +4ms 1205ms success}, ...}
+ */
+@Component
+public class LoggingSpanExporter implements SpanExporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoggingSpanExporter.class);
+
+    private final long slowRequestMillis;
+
+    public LoggingSpanExporter(@Value("${tracing.log.slow-request-ms:2000}") long slowRequestMillis) {
+        this.slowRequestMillis = slowRequestMillis;
+    }
+
+    @Override
+    public void export(RequestTrace trace) {
+        RequestTrace.Span root = trace.getRoot();
+        List<RequestTrace.Span> spans = trace.getSpans();
+
+        Map<RequestTrace.Span, List<RequestTrace.Span>> children = new HashMap<>();
+        for (RequestTrace.Span span : spans) {
+            children.computeIfAbsent(span.getParent(), parent -> new ArrayList<>()).add(span);
+        }
+        StringBuilder tree = new StringBuilder();
+        appendChildren(tree, root, children);
+        if (trace.getDroppedSpans() > 0) {
+            tree.append(" (+").append(trace.getDroppedSpans()).append(" spans dropped)");
+        }
+
+        List<Map<String, Object>> fields = new ArrayList<>(spans.size());
+        for (RequestTrace.Span span : spans) {
+            Map<String, Object> field = new LinkedHashMap<>();
+            field.put("name", span.getName());
+            field.put("spanId", span.getSpanId());
+            field.put("parentSpanId", span.getParent().getSpanId());
+            field.put("offsetMs", span.getOffsetMillis());
+            field.put("durationMs", span.getDurationMillis());
+            field.put("outcome", span.getOutcome());
+            fields.add(field);
+        }
+
+        // 요약 로그는 내보내는 스레드의 MDC와 관계없이 항상 해당 요청의 requestId를 남기도록 직접 설정
+        String previousRequestId = MDC.get("requestId");
+        MDC.put("requestId", trace.getRequestId());
+        try {
+            boolean slow = root.getDurationMillis() >= slowRequestMillis;
+            String format = slow ? "느린 요청 추적 - {} {}ms {}{}" : "요청 추적 - {} {}ms {}{}";
+            Object[] arguments = {
+                    root.getName(), root.getDurationMillis(), root.getOutcome(), tree,
+                    StructuredArguments.keyValue("traceId", trace.getTraceId()),
+                    StructuredArguments.keyValue("spans", fields)
+            };
+            if (slow) {
+                logger.warn(format, arguments);
+            } else {
+                logger.info(format, arguments);
+            }
+        } finally {
+            if (previousRequestId != null) {
+                MDC.put("requestId", previousRequestId);
+            } else {
+                MDC.remove("requestId");
+            }
+        }
+    }
+
+    private static void appendChildren(StringBuilder tree, RequestTrace.Span parent,
+                                       Map<RequestTrace.Span, List<RequestTrace.Span>> children) {
+        List<RequestTrace.Span> spans = children.get(parent);
+        if (spans == null) {
+            return;
+        }
+        tree.append(" {");
+        for (int i = 0; i < spans.size(); i++) {
+            RequestTrace.Span span = spans.get(i);
+            if (i > 0) {
+                tree.append(", ");
+            }
+            tree.append(span.getName())
+                    .append(" +").append(span.getOffsetMillis()).append("ms ")
+                    .append(span.getDurationMillis()).append("ms ")
+                    .append(span.getOutcome());
+            appendChildren(tree, span, children);
+        }
+        tree.append('}');
+    }
+}
@@ -0,0 +1,157 @@
+package com.chatfood.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * OTLP/HTTP(JSON) 추적 내보내기
+ * tracing.otlp.endpoint가 설정된 경우에만 등록됩니다. (예: OpenTelemetry Collector의 http://host:4318/v1/traces)
+ * 끝난 요청은 큐에만 넣고, 주기적으로 모아서 한 번에 전송합니다.
+ * - 큐가 가득 차면 새 요청 추적은 버림 (요청 처리를 막지 않음)
+ */
+@Component
+@ConditionalOnProperty(name = "tracing.otlp.endpoint")
+public class OtlpSpanExporter implements SpanExporter, MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(OtlpSpanExporter.class);
+
+    // OTLP SpanKind / StatusCode
+    private static final int KIND_INTERNAL = 1;
+    private static final int KIND_SERVER = 2;
+    private static final int STATUS_OK = 1;
+    private static final int STATUS_ERROR = 2;
+
+    // 한 번에 보낼 최대 요청 추적 수
+    private static final int MAX_BATCH = 256;
+
+    private final WebClient webClient;
+    private final String serviceName;
+    private final int maxQueue;
+
+    private final ConcurrentLinkedQueue<RequestTrace> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private final AtomicLong exported = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    public OtlpSpanExporter(WebClient.Builder builder,
+                            @Value("${tracing.otlp.endpoint}") String endpoint,
+                            @Value("${tracing.otlp.service-name:chatfood}") String serviceName,
+                            @Value("${tracing.otlp.max-queue:2048}") int maxQueue) {
+        this.webClient = builder.clone().baseUrl(endpoint).build();
+        this.serviceName = serviceName;
+        this.maxQueue = maxQueue;
+        logger.info("OTLP 추적 내보내기 활성화 - 엔드포인트: {}", endpoint);
+    }
+
+    @Override
+    public void export(RequestTrace trace) {
+        if (queued.incrementAndGet() > maxQueue) {
+            queued.decrementAndGet();
+            dropped.incrementAndGet();
+            return;
+        }
+        queue.add(trace);
+    }
+
+    @Scheduled(fixedDelayString = "${tracing.otlp.flush-interval-ms:5000}")
+    public void flush() {
+        List<RequestTrace> batch = new ArrayList<>();
+        RequestTrace trace;
+        while (batch.size() < MAX_BATCH && (trace = queue.poll()) != null) {
+            queued.decrementAndGet();
+            batch.add(trace);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        webClient.post()
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(toRequest(batch))
+                .retrieve()
+                .toBodilessEntity()
+                .timeout(Duration.ofSeconds(5))
+                .subscribe(
+                        response -> exported.addAndGet(batch.size()),
+                        error -> {
+                            dropped.addAndGet(batch.size());
+                            logger.warn("OTLP 추적 전송 실패 - 요청 수: {}, 원인: {}", batch.size(), error.getMessage());
+                        });
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("tracing.otlp.exported", exported, AtomicLong::get)
+                .description("OTLP로 전송한 요청 추적 수")
+                .register(registry);
+        FunctionCounter.builder("tracing.otlp.dropped", dropped, AtomicLong::get)
+                .description("큐가 가득 차거나 전송 실패로 버린 요청 추적 수")
+                .register(registry);
+    }
+
+    /**
+     * ExportTraceServiceRequest (OTLP JSON 인코딩)
+     */
+    private Map<String, Object> toRequest(List<RequestTrace> traces) {
+        List<Map<String, Object>> spans = new ArrayList<>();
+        for (RequestTrace trace : traces) {
+            spans.add(toSpan(trace, trace.getRoot(), KIND_SERVER));
+            for (RequestTrace.Span span : trace.getSpans()) {
+                if (span.isEnded()) {
+                    spans.add(toSpan(trace, span, KIND_INTERNAL));
+                }
+            }
+        }
+
+        Map<String, Object> resource = Map.of("attributes", List.of(attribute("service.name", serviceName)));
+        Map<String, Object> scopeSpans = Map.of(
+                "scope", Map.of("name", "com.chatfood"),
+                "spans", spans);
+        return Map.of("resourceSpans", List.of(Map.of(
+                "resource", resource,
+                "scopeSpans", List.of(scopeSpans))));
+    }
+
+    private static Map<String, Object> toSpan(RequestTrace trace, RequestTrace.Span span, int kind) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("traceId", trace.getTraceId());
+        result.put("spanId", span.getSpanId());
+        if (span.getParent() != null) {
+            result.put("parentSpanId", span.getParent().getSpanId());
+        }
+        result.put("name", span.getName());
+        result.put("kind", kind);
+        // 64비트 정수는 JSON 인코딩에서 문자열로 전달
+        result.put("startTimeUnixNano", Long.toString(trace.toEpochNanos(span.getStartNanos())));
+        result.put("endTimeUnixNano", Long.toString(trace.toEpochNanos(span.getEndNanos())));
+        result.put("attributes", List.of(
+                attribute("chatfood.request_id", trace.getRequestId()),
+                attribute("chatfood.outcome", span.getOutcome())));
+        result.put("status", Map.of("code", StageMetrics.OUTCOME_SUCCESS.equals(span.getOutcome())
+                || StageMetrics.OUTCOME_EMPTY.equals(span.getOutcome()) ? STATUS_OK : STATUS_ERROR));
+        return result;
+    }
+
+    private static Map<String, Object> attribute(String key, String value) {
+        return Map.of("key", key, "value", Map.of("stringValue", value != null ? value : ""));
+    }
+}
@@ -0,0 +1,265 @@
+package com.chatfood.service;
+
+import com.chatfood.dto.FlaskResponse;
+import com.chatfood.dto.UserInfo;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 프로필 조합별 추천 결과 사전 계산 테이블
+ * 모델 입력은 성별/나이대/지역/선호카테고리 원-핫과 좋아하는카테고리 멀티-핫뿐이므로
+ * 가능한 모든 조합(각 항목의 "값 없음" 포함)을 일괄 추론해 두고 요청 시 배열 조회로 답합니다.
+ * - 키: ((성별 * 나이대 수 + 나이대) * 지역 수 + 지역) * 선호카테고리 수 + 선호카테고리, 하위 비트는 좋아하는카테고리 마스크
+ * - 값: Top 3 라벨 인덱스를 8비트씩 채운 int
+ * - 로컬 모델이 다시 로딩되면 새 테이블을 만들어 교체
+ */
+@Component
+public class ProfileRecommendationTable implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProfileRecommendationTable.class);
+
+    private static final String GENDER_PREFIX = "성별_";
+    private static final String AGE_GROUP_PREFIX = "나이대_";
+    private static final String REGION_PREFIX = "지역_";
+    private static final String PREF_CATEGORY_PREFIX = "선호카테고리_";
+
+    // 한 번에 추론할 프로필 수
+    private static final int BATCH_SIZE = 1024;
+    // 테이블 최대 크기 (모델 컬럼이 예상보다 많아 조합이 폭발하는 경우 사전 계산하지 않음)
+    private static final int MAX_TABLE_SIZE = 1 << 22;
+
+    private final LocalRecommendationModel localModel;
+
+    // 현재 테이블 (불변, 아직 없으면 null)
+    private volatile Table table;
+    // 테이블 생성은 수 초 걸릴 수 있어 synchronized 대신 ReentrantLock 사용 (가상 스레드 pinning 방지)
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    public ProfileRecommendationTable(LocalRecommendationModel localModel) {
+        this.localModel = localModel;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuildAsync();
+    }
+
+    @EventListener
+    public void onModelReloaded(LocalRecommendationModel.ModelReloadedEvent event) {
+        rebuildAsync();
+    }
+
+    /**
+     * 사전 계산된 추천 결과 조회
+     * @return 테이블이 현재 모델로 만들어져 있으면 추천 결과, 아니면 null
+     */
+    public FlaskResponse lookup(UserInfo userInfo) {
+        Table current = table;
+        if (current == null || current.model != localModel.snapshot()) {
+            return null;
+        }
+        return LocalRecommendationModel.toResponse(current.model, current.packed[current.keyOf(userInfo)]);
+    }
+
+    public int size() {
+        Table current = table;
+        return current != null ? current.packed.length : 0;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("recommendation.table.size", this, ProfileRecommendationTable::size)
+                .register(registry);
+    }
+
+    private void rebuildAsync() {
+        Mono.fromRunnable(this::rebuild)
+                .subscribeOn(Schedulers.boundedElastic())
+                .subscribe(
+                        ignored -> { },
+                        error -> logger.error("추천 테이블 생성 실패", error));
+    }
+
+    void rebuild() {
+        rebuildLock.lock();
+        try {
+            rebuildLocked();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private void rebuildLocked() {
+        LocalRecommendationModel.Model model = localModel.snapshot();
+        if (model == null || (table != null && table.model == model)) {
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        Table built = build(model);
+        if (built == null) {
+            return;
+        }
+        table = built;
+        logger.info("추천 테이블 생성 완료 - 모델 버전: {}, 프로필 조합: {}, 소요: {}ms",
+                   model.version, built.packed.length, System.currentTimeMillis() - start);
+    }
+
+    private Table build(LocalRecommendationModel.Model model) {
+        Map<String, Integer> genders = new HashMap<>();
+        Map<String, Integer> ageGroups = new HashMap<>();
+        Map<String, Integer> regions = new HashMap<>();
+        Map<String, Integer> prefCategories = new HashMap<>();
+        List<Integer> genderColumns = new ArrayList<>();
+        List<Integer> ageGroupColumns = new ArrayList<>();
+        List<Integer> regionColumns = new ArrayList<>();
+        List<Integer> prefCategoryColumns = new ArrayList<>();
+        Map<String, Integer> favCategoryBits = new HashMap<>();
+        List<Integer> favCategoryColumns = new ArrayList<>();
+
+        for (int column = 0; column < model.columns.length; column++) {
+            String name = model.columns[column];
+            if (!addDomainValue(name, GENDER_PREFIX, column, genders, genderColumns)
+                    && !addDomainValue(name, AGE_GROUP_PREFIX, column, ageGroups, ageGroupColumns)
+                    && !addDomainValue(name, REGION_PREFIX, column, regions, regionColumns)
+                    && !addDomainValue(name, PREF_CATEGORY_PREFIX, column, prefCategories, prefCategoryColumns)) {
+                // 접두사 없는 컬럼은 좋아하는카테고리 (멀티-핫)
+                favCategoryBits.put(name, favCategoryColumns.size());
+                favCategoryColumns.add(column);
+            }
+        }
+
+        int favBits = favCategoryColumns.size();
+        long total = (long) (genders.size() + 1) * (ageGroups.size() + 1) * (regions.size() + 1)
+                * (prefCategories.size() + 1) << favBits;
+        if (total > MAX_TABLE_SIZE) {
+            logger.warn("프로필 조합이 너무 많아 추천 테이블을 만들지 않습니다 - 조합 수: {}", total);
+            return null;
+        }
+
+        int size = (int) total;
+        int inputSize = model.inputSize;
+        int[] packed = new int[size];
+        float[] inputs = new float[BATCH_SIZE * inputSize];
+
+        for (int batchStart = 0; batchStart < size; batchStart += BATCH_SIZE) {
+            int rows = Math.min(BATCH_SIZE, size - batchStart);
+            Arrays.fill(inputs, 0f);
+            for (int r = 0; r < rows; r++) {
+                int key = batchStart + r;
+                int offset = r * inputSize;
+
+                int favMask = key & ((1 << favBits) - 1);
+                for (int bit = 0; bit < favCategoryColumns.size(); bit++) {
+                    if ((favMask & (1 << bit)) != 0) {
+                        inputs[offset + favCategoryColumns.get(bit)] = 1f;
+                    }
+                }
+                int rest = key >>> favBits;
+                rest = setDomainColumn(inputs, offset, rest, prefCategoryColumns);
+                rest = setDomainColumn(inputs, offset, rest, regionColumns);
+                rest = setDomainColumn(inputs, offset, rest, ageGroupColumns);
+                setDomainColumn(inputs, offset, rest, genderColumns);
+            }
+            int[] results = localModel.recommendBatch(model, inputs, rows);
+            System.arraycopy(results, 0, packed, batchStart, rows);
+        }
+
+        return new Table(model, genders, ageGroups, regions, prefCategories, favCategoryBits, packed);
+    }
+
+    private static boolean addDomainValue(String column, String prefix, int index,
+                                          Map<String, Integer> values, List<Integer> columns) {
+        if (!column.startsWith(prefix)) {
+            return false;
+        }
+        // 0은 "값 없음"이므로 1부터 부여
+        values.put(column.substring(prefix.length()), columns.size() + 1);
+        columns.add(index);
+        return true;
+    }
+
+    /**
+     * 키의 해당 자리 값을 원-핫으로 채우고 남은 상위 자리를 반환
+     */
+    private static int setDomainColumn(float[] inputs, int offset, int rest, List<Integer> columns) {
+        int radix = columns.size() + 1;
+        int value = rest % radix;
+        if (value > 0) {
+            inputs[offset + columns.get(value - 1)] = 1f;
+        }
+        return rest / radix;
+    }
+
+    /**
+     * 한 모델 버전에 대한 테이블
+     */
+    private static final class Table {
+        private final LocalRecommendationModel.Model model;
+        private final Map<String, Integer> genders;
+        private final Map<String, Integer> ageGroups;
+        private final Map<String, Integer> regions;
+        private final Map<String, Integer> prefCategories;
+        private final Map<String, Integer> favCategoryBits;
+        private final int favBits;
+        private final int[] packed;
+
+        private Table(LocalRecommendationModel.Model model,
+                      Map<String, Integer> genders, Map<String, Integer> ageGroups,
+                      Map<String, Integer> regions, Map<String, Integer> prefCategories,
+                      Map<String, Integer> favCategoryBits, int[] packed) {
+            this.model = model;
+            this.genders = genders;
+            this.ageGroups = ageGroups;
+            this.regions = regions;
+            this.prefCategories = prefCategories;
+            this.favCategoryBits = favCategoryBits;
+            this.favBits = favCategoryBits.size();
+            this.packed = packed;
+        }
+
+        /**
+         * UserInfo → 테이블 인덱스 (모델 컬럼에 없는 값은 "값 없음"으로 처리, 모델 입력과 동일)
+         */
+        private int keyOf(UserInfo userInfo) {
+            int key = indexOf(genders, userInfo.getGender());
+            key = key * (ageGroups.size() + 1) + indexOf(ageGroups, userInfo.getAgeGroup());
+            key = key * (regions.size() + 1) + indexOf(regions, userInfo.getRegion());
+            key = key * (prefCategories.size() + 1) + indexOf(prefCategories, userInfo.getPrefCategory());
+
+            int favMaskValue = 0;
+            if (userInfo.getFavCategories() != null) {
+                for (String category : userInfo.getFavCategories()) {
+                    Integer bit = category != null ? favCategoryBits.get(category) : null;
+                    if (bit != null) {
+                        favMaskValue |= 1 << bit;
+                    }
+                }
+            }
+            return (key << favBits) | favMaskValue;
+        }
+
+        private static int indexOf(Map<String, Integer> values, String value) {
+            if (value == null) {
+                return 0;
+            }
+            Integer index = values.get(value);
+            return index != null ? index : 0;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.chatfood.service;
+
+import com.chatfood.dto.FlaskResponse;
+import com.chatfood.dto.UserInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Flask /recommend 요청 마이크로 배칭
+ * 동시에 들어온 추천 요청을 최대 maxDelay 동안 또는 maxBatchSize개까지 모아 한 번의 배치 요청으로 보내고,
+ * 결과를 기다리는 호출자들에게 나눠 줍니다.
+ * - 같은 배치 안의 같은 프로필(RecommendationCache.keyOf 기준)은 한 번만 보냄
+ * - 이미 전송된 같은 프로필 요청은 RecommendationCache의 single-flight가 합쳐 줌
+ */
+public class RecommendationBatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecommendationBatcher.class);
+
+    private final Function<List<UserInfo>, Mono<List<FlaskResponse>>> sender;
+    private final int maxBatchSize;
+    private final long maxDelayMillis;
+
+    // 다음 배치로 보낼 요청 (프로필 키 → 대기 중인 호출자)
+    private final LinkedHashMap<String, Pending> pending = new LinkedHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private Disposable scheduledFlush;
+
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong batchedProfiles = new AtomicLong();
+    private final AtomicLong deduplicated = new AtomicLong();
+
+    /**
+     * @param sender 프로필 목록을 한 번에 보내고 같은 순서의 결과 목록을 돌려주는 함수
+     */
+    public RecommendationBatcher(Function<List<UserInfo>, Mono<List<FlaskResponse>>> sender,
+                                 int maxBatchSize, long maxDelayMillis) {
+        this.sender = sender;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.maxDelayMillis = Math.max(0, maxDelayMillis);
+    }
+
+    /**
+     * 추천 요청을 다음 배치에 추가
+     */
+    public Mono<FlaskResponse> submit(UserInfo userInfo) {
+        return Mono.defer(() -> {
+            String key = RecommendationCache.keyOf(userInfo);
+            List<Pending> fullBatch = null;
+            Pending entry;
+
+            lock.lock();
+            try {
+                entry = pending.get(key);
+                if (entry != null) {
+                    deduplicated.incrementAndGet();
+                } else {
+                    entry = new Pending(userInfo);
+                    pending.put(key, entry);
+                    if (pending.size() >= maxBatchSize) {
+                        fullBatch = drain();
+                    } else if (pending.size() == 1) {
+                        // 배치의 첫 요청이 들어온 시점부터 maxDelay 후에 전송
+                        scheduledFlush = Schedulers.parallel().schedule(this::flush, maxDelayMillis, TimeUnit.MILLISECONDS);
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            if (fullBatch != null) {
+                send(fullBatch);
+            }
+            return entry.sink.asMono();
+        });
+    }
+
+    public long getBatches() {
+        return batches.get();
+    }
+
+    public long getBatchedProfiles() {
+        return batchedProfiles.get();
+    }
+
+    public long getDeduplicated() {
+        return deduplicated.get();
+    }
+
+    private void flush() {
+        List<Pending> batch = null;
+        lock.lock();
+        try {
+            if (!pending.isEmpty()) {
+                batch = drain();
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (batch != null) {
+            send(batch);
+        }
+    }
+
+    // lock을 잡은 상태에서 호출
+    private List<Pending> drain() {
+        if (scheduledFlush != null) {
+            scheduledFlush.dispose();
+            scheduledFlush = null;
+        }
+        List<Pending> batch = new ArrayList<>(pending.values());
+        pending.clear();
+        return batch;
+    }
+
+    private void send(List<Pending> batch) {
+        batches.incrementAndGet();
+        batchedProfiles.addAndGet(batch.size());
+
+        List<UserInfo> profiles = new ArrayList<>(batch.size());
+        for (Pending entry : batch) {
+            profiles.add(entry.userInfo);
+        }
+
+        sender.apply(profiles)
+                .defaultIfEmpty(List.of())
+                .subscribe(
+                        results -> {
+                            if (results.size() != batch.size()) {
+                                logger.warn("추천 배치 응답 수 불일치 - 요청: {}, 응답: {}", batch.size(), results.size());
+                            }
+                            for (int i = 0; i < batch.size(); i++) {
+                                Sinks.One<FlaskResponse> sink = batch.get(i).sink;
+                                if (i < results.size() && results.get(i) != null) {
+                                    sink.tryEmitValue(results.get(i));
+                                } else {
+                                    sink.tryEmitError(new IllegalStateException("추천 배치 응답에 결과가 없습니다."));
+                                }
+                            }
+                        },
+                        error -> {
+                            for (Pending entry : batch) {
+                                entry.sink.tryEmitError(error);
+                            }
+                        });
+    }
+
+    private static final class Pending {
+        private final UserInfo userInfo;
+        private final Sinks.One<FlaskResponse> sink = Sinks.one();
+
+        private Pending(UserInfo userInfo) {
+            this.userInfo = userInfo;
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.chatfood.service;
+
+import com.chatfood.dto.FlaskResponse;
+import com.chatfood.dto.UserInfo;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Python AI 추천 결과 캐시
+ * 모델 입력은 성별/나이대/지역/선호카테고리/좋아하는카테고리 원-핫뿐이므로
+ * 이 값들(이름 제외, 좋아하는카테고리 정렬)을 키로 결과를 재사용합니다.
+ * - 최대 항목 수를 넘으면 LRU 제거
+ * - 모델 버전이 바뀌면 전체 무효화
+ * - refresh-after가 지난 항목은 캐시 값을 바로 반환하고 백그라운드에서 갱신 (refresh-ahead)
+ */
+@Component
+public class RecommendationCache implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecommendationCache.class);
+
+    private final int maxEntries;
+    private final long refreshAfterMillis;
+    private final long expireAfterMillis;
+
+    // 접근 순서(access-order) LinkedHashMap: 맨 앞이 가장 오래 사용하지 않은 항목
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // 키별 진행 중인 Flask 호출 (같은 프로필 중복 호출 방지)
+    private final Map<String, Mono<FlaskResponse>> inFlight = new ConcurrentHashMap<>();
+
+    // Flask 헬스체크로 확인한 현재 모델 버전 (알 수 없으면 null)
+    private volatile String modelVersion;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong refreshes = new AtomicLong();
+
+    public RecommendationCache(@Value("${recommendation.cache.max-entries:20000}") int maxEntries,
+                               @Value("${recommendation.cache.refresh-after-minutes:30}") long refreshAfterMinutes,
+                               @Value("${recommendation.cache.expire-after-minutes:360}") long expireAfterMinutes) {
+        this.maxEntries = maxEntries;
+        this.refreshAfterMillis = refreshAfterMinutes * 60_000L;
+        this.expireAfterMillis = expireAfterMinutes * 60_000L;
+    }
+
+    /**
+     * 캐시 조회, 없으면 loader로 Flask 호출
+     */
+    public Mono<FlaskResponse> get(UserInfo userInfo, Function<UserInfo, Mono<FlaskResponse>> loader) {
+        return Mono.defer(() -> {
+            String key = keyOf(userInfo);
+            long now = System.currentTimeMillis();
+            Entry entry = lookup(key, now);
+
+            if (entry != null) {
+                hits.incrementAndGet();
+                if (now - entry.loadedAt > refreshAfterMillis) {
+                    // 오래된 항목은 캐시 값을 먼저 돌려주고 백그라운드에서 갱신
+                    refreshes.incrementAndGet();
+                    load(key, userInfo, loader).subscribe(
+                            response -> { },
+                            error -> logger.warn("추천 캐시 백그라운드 갱신 실패 - 키: {}, 오류: {}", key, error.getMessage()));
+                }
+                return Mono.just(entry.response);
+            }
+
+            misses.incrementAndGet();
+            return load(key, userInfo, loader);
+        });
+    }
+
+    /**
+     * 모델 버전 갱신 - 버전이 바뀌면 이전 모델의 결과를 모두 버림
+     */
+    public void onModelVersion(String version) {
+        if (version == null || version.equals(modelVersion)) {
+            return;
+        }
+        String previous = modelVersion;
+        modelVersion = version;
+        lock.lock();
+        try {
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+        logger.info("Python AI 모델 버전 변경 - {} → {}, 추천 캐시 초기화", previous, version);
+    }
+
+    public String getModelVersion() {
+        return modelVersion;
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("recommendation.cache.requests", hits, AtomicLong::get)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("recommendation.cache.requests", misses, AtomicLong::get)
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("recommendation.cache.refreshes", refreshes, AtomicLong::get)
+                .register(registry);
+        Gauge.builder("recommendation.cache.size", this, RecommendationCache::size)
+                .register(registry);
+    }
+
+    /**
+     * 프로필 특성 정규화 키 (이름 제외, 좋아하는카테고리는 정렬)
+     */
+    static String keyOf(UserInfo userInfo) {
+        List<String> favCategories = new ArrayList<>();
+        if (userInfo.getFavCategories() != null) {
+            for (String category : userInfo.getFavCategories()) {
+                if (category != null && !category.trim().isEmpty()) {
+                    favCategories.add(category.trim());
+                }
+            }
+        }
+        Collections.sort(favCategories);
+        return String.join("|",
+                normalize(userInfo.getGender()),
+                normalize(userInfo.getAgeGroup()),
+                normalize(userInfo.getRegion()),
+                normalize(userInfo.getPrefCategory()),
+                String.join(",", favCategories));
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim();
+    }
+
+    private Mono<FlaskResponse> load(String key, UserInfo userInfo, Function<UserInfo, Mono<FlaskResponse>> loader) {
+        return inFlight.computeIfAbsent(key, k -> {
+            String version = modelVersion;
+            // 결과 전달 전에 자기 자신만 제거 - 에러를 받은 쪽이 바로 다시 요청해도 실패한 호출을 재사용하지 않음
+            AtomicReference<Mono<FlaskResponse>> self = new AtomicReference<>();
+            Mono<FlaskResponse> call = loader.apply(userInfo)
+                    .doOnNext(response -> store(key, response, version))
+                    .doOnTerminate(() -> inFlight.remove(key, self.get()))
+                    .cache();
+            self.set(call);
+            return call;
+        });
+    }
+
+    private Entry lookup(String key, long now) {
+        lock.lock();
+        try {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (!Objects.equals(entry.modelVersion, modelVersion) || now - entry.loadedAt > expireAfterMillis) {
+                entries.remove(key);
+                return null;
+            }
+            return entry;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void store(String key, FlaskResponse response, String version) {
+        if (response.getRecommendations() == null) {
+            return;
+        }
+        lock.lock();
+        try {
+            entries.put(key, new Entry(response, version, System.currentTimeMillis()));
+            while (entries.size() > maxEntries) {
+                String eldest = entries.keySet().iterator().next();
+                entries.remove(eldest);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static final class Entry {
+        private final FlaskResponse response;
+        private final String modelVersion;
+        private final long loadedAt;
+
+        private Entry(FlaskResponse response, String modelVersion, long loadedAt) {
+            this.response = response;
+            this.modelVersion = modelVersion;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
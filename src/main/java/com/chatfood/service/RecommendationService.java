@@ -1,53 +1,227 @@
 package com.chatfood.service;
 
+import com.chatfood.config.ResilienceConfig;
+import com.chatfood.dto.FlaskBatchResponse;
 import com.chatfood.dto.FlaskResponse;
 import com.chatfood.dto.UserInfo;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
 
 @Service
-public class RecommendationService {
+public class RecommendationService implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecommendationService.class);
+
+    private static final String ENGINE_LOCAL = "local";
+    private static final String ENGINE_REMOTE = "remote";
 
     private final WebClient webClient;
+    private final RecommendationCache recommendationCache;
+    private final LocalRecommendationModel localModel;
+    private final ProfileRecommendationTable profileTable;
+    private final StageMetrics stageMetrics;
+    private final RequestTracer tracer;
+    private final String engine;
+    // 동시 요청을 /recommend/batch 한 번으로 묶는 배처 (비활성화 시 null)
+    private final RecommendationBatcher batcher;
+    // Flask 서버에 /recommend/batch가 없으면(구버전) 건별 요청으로 전환
+    private volatile boolean batchEndpointAvailable = true;
+
+    // Flask 호출 보호: 동시 호출 제한, 요청별 타임아웃, 서킷 브레이커, 전역 재시도 예산, 지터 백오프
+    private final ConcurrencyLimiter concurrencyLimiter;
+    private final CircuitBreaker circuitBreaker;
+    private final RetryBudget retryBudget;
+    private final Duration clientTimeout;
+    private final int maxRetries;
 
-    // 서비스가 생성될 때 WebClient를 초기화합니다.
-    // Python Flask 서버의 주소를 가리킵니다.
-    public RecommendationService(@Value("${python.ai.server.url:http://127.0.0.1:5000}") String pythonAiUrl) {
-        System.out.println("🔗 Python AI 서버 URL: " + pythonAiUrl);
-        this.webClient = WebClient.create(pythonAiUrl);
+    // Python Flask 서버를 가리키는 WebClient는 HttpClientConfig에서 전용 연결 풀과 함께 만들어 주입합니다.
+    public RecommendationService(@Qualifier("pythonAiWebClient") WebClient webClient,
+                                 RecommendationCache recommendationCache,
+                                 LocalRecommendationModel localModel,
+                                 ProfileRecommendationTable profileTable,
+                                 StageMetrics stageMetrics,
+                                 RequestTracer tracer,
+                                 @Value("${recommendation.engine:auto}") String engine,
+                                 @Value("${recommendation.batch.enabled:true}") boolean batchEnabled,
+                                 @Value("${recommendation.batch.max-size:32}") int batchMaxSize,
+                                 @Value("${recommendation.batch.max-delay-ms:5}") long batchMaxDelayMillis,
+                                 @Qualifier("pythonAiConcurrencyLimiter") ConcurrencyLimiter concurrencyLimiter,
+                                 @Qualifier("pythonAiCircuitBreaker") CircuitBreaker circuitBreaker,
+                                 @Qualifier("pythonAiRetryBudget") RetryBudget retryBudget,
+                                 @Value("${recommendation.client.timeout-ms:3000}") long clientTimeoutMillis,
+                                 @Value("${recommendation.client.max-retries:2}") int maxRetries) {
+        this.webClient = webClient;
+        this.recommendationCache = recommendationCache;
+        this.localModel = localModel;
+        this.profileTable = profileTable;
+        this.stageMetrics = stageMetrics;
+        this.tracer = tracer;
+        this.engine = engine.trim().toLowerCase();
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.circuitBreaker = circuitBreaker;
+        this.retryBudget = retryBudget;
+        this.clientTimeout = Duration.ofMillis(clientTimeoutMillis);
+        this.maxRetries = maxRetries;
+        this.batcher = batchEnabled
+                ? new RecommendationBatcher(this::requestBatchRecommendations, batchMaxSize, batchMaxDelayMillis)
+                : null;
+        if (ENGINE_LOCAL.equals(this.engine) && !localModel.isAvailable()) {
+            logger.warn("recommendation.engine=local 이지만 로컬 모델이 없어 모델 파일이 생길 때까지 Python AI 서버를 사용합니다.");
+        }
     }
 
     // Python AI 서버 헬스체크
     public Mono<String> healthCheck() {
-        return this.webClient.get()
+        Mono<String> call = this.webClient.get()
                 .uri("/")
                 .retrieve()
                 .bodyToMono(String.class)
-                .timeout(java.time.Duration.ofSeconds(10))
-                .doOnSuccess(response -> {
-                    System.out.println("✅ Python AI 서버 헬스체크 성공: " + response);
+                .timeout(java.time.Duration.ofSeconds(10));
+        return stageMetrics.time(StageMetrics.FLASK_HEALTH, call)
+                .doOnSuccess(response -> logger.debug("Python AI 서버 헬스체크 성공: {}", response))
+                .doOnError(error -> logger.warn("Python AI 서버 헬스체크 실패: {}", error.getMessage()));
+    }
+
+    // 사용자 정보로 추천 결과를 가져옵니다.
+    // 로컬 모델이 로딩되어 있으면 사전 계산 테이블을 조회하거나(테이블 생성 전이면) JVM 안에서 바로 계산하고,
+    // 아니면 Flask 서버에 요청합니다(프로필 특성별 캐시 사용).
+    // 요청 추적에는 어느 경로로 답했는지 스팬 이름(recommendation.table/local/remote)으로 남깁니다.
+    public Mono<FlaskResponse> getRecommendations(UserInfo userInfo) {
+        if (useLocalModel()) {
+            FlaskResponse precomputed = profileTable.lookup(userInfo);
+            if (precomputed != null) {
+                return tracer.span("recommendation.table", Mono.just(precomputed));
+            }
+            return tracer.span("recommendation.local", Mono.fromCallable(() -> localModel.recommend(userInfo)))
+                    .onErrorResume(error -> {
+                        logger.warn("로컬 추천 모델 추론 실패, Python AI 서버로 대체: {}", error.getMessage());
+                        return remoteRecommendations(userInfo);
+                    });
+        }
+        return remoteRecommendations(userInfo);
+    }
+
+    // 추천 캐시를 거쳐 Flask 서버에 요청 (캐시 적중 시 하위 flask_recommend 스팬 없음)
+    private Mono<FlaskResponse> remoteRecommendations(UserInfo userInfo) {
+        return tracer.span("recommendation.remote", recommendationCache.get(userInfo, this::requestRecommendations));
+    }
+
+    // recommendation.engine: auto(로컬 모델이 있으면 사용), local(로컬 우선), remote(항상 Flask)
+    // remote라도 Flask 서킷이 열려 있으면 로컬 모델로 바로 대체합니다.
+    private boolean useLocalModel() {
+        if (!localModel.isAvailable()) {
+            return false;
+        }
+        return !ENGINE_REMOTE.equals(engine) || !circuitBreaker.isCallPermitted();
+    }
+
+    public CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    // 주기적으로 헬스체크 응답의 모델 버전을 확인하여, 바뀌면 추천 캐시를 무효화합니다.
+    @Scheduled(fixedDelayString = "${recommendation.cache.model-version-check-interval-ms:60000}")
+    public void refreshModelVersion() {
+        Mono<Map<String, Object>> call = this.webClient.get()
+                .uri("/")
+                .retrieve()
+                .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {})
+                .timeout(java.time.Duration.ofSeconds(10));
+        stageMetrics.time(StageMetrics.FLASK_HEALTH, call)
+                .subscribe(
+                        health -> {
+                            Object version = health.get("model_version");
+                            if (version != null) {
+                                recommendationCache.onModelVersion(version.toString());
+                            }
+                        },
+                        error -> logger.warn("Python AI 모델 버전 확인 실패: {}", error.getMessage()));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (batcher == null) {
+            return;
+        }
+        FunctionCounter.builder("recommendation.batch.requests", batcher, RecommendationBatcher::getBatches)
+                .description("Flask /recommend/batch 호출 수")
+                .register(registry);
+        FunctionCounter.builder("recommendation.batch.profiles", batcher, RecommendationBatcher::getBatchedProfiles)
+                .description("배치로 보낸 프로필 수")
+                .register(registry);
+        FunctionCounter.builder("recommendation.batch.deduplicated", batcher, RecommendationBatcher::getDeduplicated)
+                .description("같은 배치 안에서 합쳐진 중복 프로필 요청 수")
+                .register(registry);
+    }
+
+    // Flask 서버에 추천을 요청합니다. 배치가 켜져 있으면 동시 요청과 묶어서 보냅니다.
+    private Mono<FlaskResponse> requestRecommendations(UserInfo userInfo) {
+        if (batcher != null && batchEndpointAvailable) {
+            return batcher.submit(userInfo);
+        }
+        return requestSingleRecommendation(userInfo);
+    }
+
+    // 여러 사용자 정보를 /recommend/batch로 한 번에 보내고, 요청 순서대로 결과를 받아옵니다.
+    private Mono<List<FlaskResponse>> requestBatchRecommendations(List<UserInfo> profiles) {
+        Mono<List<FlaskResponse>> call = this.webClient.post()
+                .uri("/recommend/batch")
+                .bodyValue(Map.of("profiles", profiles))
+                .retrieve()
+                .bodyToMono(FlaskBatchResponse.class)
+                .map(FlaskBatchResponse::getResults);
+        return stageMetrics.time(StageMetrics.FLASK_RECOMMEND_BATCH, resilient(call))
+                .doOnSuccess(results -> logger.debug("Python AI 배치 추천 성공 - 프로필 수: {}", profiles.size()))
+                .onErrorResume(WebClientResponseException.NotFound.class, error -> {
+                    logger.warn("Python AI 서버에 /recommend/batch가 없어 건별 요청으로 전환합니다.");
+                    batchEndpointAvailable = false;
+                    return Flux.fromIterable(profiles)
+                            .flatMapSequential(this::requestSingleRecommendation)
+                            .collectList();
                 })
-                .doOnError(error -> {
-                    System.err.println("❌ Python AI 서버 헬스체크 실패: " + error.getMessage());
-                });
+                .doOnError(error -> logger.warn("Python AI 서버 배치 요청 실패: {}", error.getMessage()));
     }
 
     // 사용자 정보를 Flask 서버로 보내고 추천 결과를 받아옵니다.
-    public Mono<FlaskResponse> getRecommendations(UserInfo userInfo) {
-        return this.webClient.post() // POST 방식으로 요청
+    private Mono<FlaskResponse> requestSingleRecommendation(UserInfo userInfo) {
+        Mono<FlaskResponse> call = this.webClient.post() // POST 방식으로 요청
                 .uri("/recommend")   // /recommend 경로로
                 .bodyValue(userInfo) // 요청 본문에 userInfo 객체를 JSON으로 담아서
                 .retrieve()          // 응답을 받아
-                .bodyToMono(FlaskResponse.class) // FlaskResponse 객체로 변환
-                .timeout(java.time.Duration.ofSeconds(30)) // 30초 타임아웃
-                .retry(3) // 3번 재시도
-                .doOnSuccess(response -> {
-                    System.out.println("✅ Python AI 서버 응답 성공: " + response);
-                })
-                .doOnError(error -> {
-                    System.err.println("❌ Python AI 서버 연결 실패: " + error.getMessage());
-                });
+                .bodyToMono(FlaskResponse.class); // FlaskResponse 객체로 변환
+        return stageMetrics.time(StageMetrics.FLASK_RECOMMEND, resilient(call))
+                .doOnSuccess(response -> logger.debug("Python AI 서버 응답 성공: {}", response))
+                .doOnError(error -> logger.warn("Python AI 서버 연결 실패: {}", error.getMessage()));
+    }
+
+    // Flask 호출 한 번에 동시 호출 제한, 타임아웃, 서킷 브레이커를 적용하고, 서버 장애일 때만 재시도 예산 안에서 지터 백오프로 재시도합니다.
+    // 서킷이 열려 있거나 동시 호출 제한 대기열이 가득 차면 재시도 없이 바로 끝나 호출자가 즉시 대체 응답을 사용합니다.
+    private <T> Mono<T> resilient(Mono<T> call) {
+        return Mono.defer(() -> {
+            retryBudget.onRequest();
+            return concurrencyLimiter.limit(circuitBreaker.protect(call.timeout(clientTimeout)))
+                    .retryWhen(Retry.backoff(maxRetries, Duration.ofMillis(100))
+                            .maxBackoff(Duration.ofSeconds(1))
+                            .jitter(0.5)
+                            .filter(error -> ResilienceConfig.isServerFailure(error) && retryBudget.tryRetry())
+                            .onRetryExhaustedThrow((spec, signal) -> signal.failure()));
+        });
     }
 }
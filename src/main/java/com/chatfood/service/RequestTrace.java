@@ -0,0 +1,158 @@
+package com.chatfood.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 요청 1건의 추적 정보 (루트 스팬 + 하위 스팬)
+ * 스팬은 여러 Reactor 스레드에서 열리고 닫히므로 동시 추가가 가능한 큐에 보관합니다.
+ * - traceId/spanId는 OTLP 형식(16바이트/8바이트 hex)
+ * - 스팬 수가 MAX_SPANS를 넘으면 이후 스팬은 기록하지 않음 (droppedSpans로 집계)
+ */
+public final class RequestTrace {
+
+    private static final int MAX_SPANS = 64;
+
+    private final String requestId;
+    private final String traceId;
+    private final long startEpochMillis;
+    private final long startNanos;
+    private final Span root;
+
+    private final ConcurrentLinkedQueue<Span> spans = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger spanCount = new AtomicInteger();
+    private final AtomicInteger droppedSpans = new AtomicInteger();
+
+    public RequestTrace(String name, String requestId) {
+        this.requestId = requestId;
+        this.traceId = randomHex(2);
+        this.startEpochMillis = System.currentTimeMillis();
+        this.startNanos = System.nanoTime();
+        this.root = new Span(name, null, startNanos);
+    }
+
+    /**
+     * 하위 스팬 시작 (parent가 null이면 루트의 자식)
+     */
+    public Span startSpan(String name, Span parent) {
+        Span span = new Span(name, parent != null ? parent : root, System.nanoTime());
+        if (spanCount.incrementAndGet() <= MAX_SPANS) {
+            spans.add(span);
+        } else {
+            droppedSpans.incrementAndGet();
+        }
+        return span;
+    }
+
+    public String getRequestId() {
+        return requestId;
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    public Span getRoot() {
+        return root;
+    }
+
+    /**
+     * 루트를 제외한 기록된 스팬 (시작 순서)
+     */
+    public List<Span> getSpans() {
+        List<Span> result = new ArrayList<>(spans);
+        result.sort((a, b) -> Long.compare(a.startNanos, b.startNanos));
+        return result;
+    }
+
+    public int getDroppedSpans() {
+        return droppedSpans.get();
+    }
+
+    /**
+     * System.nanoTime 값 → Unix epoch 나노초 (OTLP 타임스탬프)
+     */
+    public long toEpochNanos(long nanos) {
+        return startEpochMillis * 1_000_000L + (nanos - startNanos);
+    }
+
+    private static String randomHex(int longs) {
+        StringBuilder hex = new StringBuilder(longs * 16);
+        for (int i = 0; i < longs; i++) {
+            hex.append(String.format("%016x", ThreadLocalRandom.current().nextLong()));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * 추적 구간 하나 (처음 한 번의 end 결과만 기록)
+     */
+    public final class Span {
+        private final String name;
+        private final String spanId = randomHex(1);
+        private final Span parent;
+        private final long startNanos;
+        private final AtomicBoolean ended = new AtomicBoolean();
+        private volatile long endNanos;
+        private volatile String outcome;
+
+        private Span(String name, Span parent, long startNanos) {
+            this.name = name;
+            this.parent = parent;
+            this.startNanos = startNanos;
+        }
+
+        public void end(String outcome) {
+            if (ended.compareAndSet(false, true)) {
+                this.endNanos = System.nanoTime();
+                this.outcome = outcome;
+            }
+        }
+
+        public boolean isEnded() {
+            return ended.get();
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getSpanId() {
+            return spanId;
+        }
+
+        public Span getParent() {
+            return parent;
+        }
+
+        public long getStartNanos() {
+            return startNanos;
+        }
+
+        public long getEndNanos() {
+            return endNanos;
+        }
+
+        /**
+         * 요청 시작부터 이 스팬 시작까지 (ms)
+         */
+        public long getOffsetMillis() {
+            return (startNanos - RequestTrace.this.startNanos) / 1_000_000L;
+        }
+
+        /**
+         * 소요 시간 (ms, 아직 끝나지 않았으면 -1)
+         */
+        public long getDurationMillis() {
+            return isEnded() ? (endNanos - startNanos) / 1_000_000L : -1;
+        }
+
+        public String getOutcome() {
+            return isEnded() ? outcome : "unfinished";
+        }
+    }
+}
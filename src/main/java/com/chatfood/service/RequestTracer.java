@@ -0,0 +1,115 @@
+package com.chatfood.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * 요청 단위 경량 추적
+ * 컨트롤러가 trace()로 요청 전체를 감싸면 RequestTrace가 Reactor Context에 실려
+ * 스레드가 바뀌어도 span()으로 감싼 하위 호출(원격 호출, DB 조회)이 같은 요청의 스팬으로 기록됩니다.
+ * 요청이 끝나면 등록된 SpanExporter들(요약 로그, OTLP)로 내보냅니다.
+ */
+@Component
+public class RequestTracer {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestTracer.class);
+
+    private static final String TRACE_KEY = RequestTrace.class.getName();
+    private static final String SPAN_KEY = RequestTrace.Span.class.getName();
+
+    private final List<SpanExporter> exporters;
+    private final boolean enabled;
+
+    public RequestTracer(List<SpanExporter> exporters,
+                         @Value("${tracing.enabled:true}") boolean enabled) {
+        this.exporters = exporters;
+        this.enabled = enabled;
+    }
+
+    /**
+     * 요청 전체를 루트 스팬으로 추적
+     */
+    public <T> Mono<T> trace(String name, String requestId, Mono<T> call) {
+        if (!enabled) {
+            return call;
+        }
+        return Mono.defer(() -> {
+            RequestTrace trace = new RequestTrace(name, requestId);
+            return call
+                    .doOnSuccess(value -> finish(trace, value != null ? StageMetrics.OUTCOME_SUCCESS : StageMetrics.OUTCOME_EMPTY))
+                    .doOnError(error -> finish(trace, StageMetrics.outcomeOf(error)))
+                    .doOnCancel(() -> finish(trace, StageMetrics.OUTCOME_CANCELLED))
+                    .contextWrite(context -> context.put(TRACE_KEY, trace).put(SPAN_KEY, trace.getRoot()));
+        });
+    }
+
+    /**
+     * 스트리밍 요청 전체를 루트 스팬으로 추적
+     */
+    public <T> Flux<T> trace(String name, String requestId, Flux<T> call) {
+        if (!enabled) {
+            return call;
+        }
+        return Flux.defer(() -> {
+            RequestTrace trace = new RequestTrace(name, requestId);
+            return call
+                    .doOnComplete(() -> finish(trace, StageMetrics.OUTCOME_SUCCESS))
+                    .doOnError(error -> finish(trace, StageMetrics.outcomeOf(error)))
+                    .doOnCancel(() -> finish(trace, StageMetrics.OUTCOME_CANCELLED))
+                    .contextWrite(context -> context.put(TRACE_KEY, trace).put(SPAN_KEY, trace.getRoot()));
+        });
+    }
+
+    /**
+     * 현재 요청의 하위 스팬으로 호출을 추적 (추적 중인 요청이 아니면 그대로 실행)
+     */
+    public <T> Mono<T> span(String name, Mono<T> call) {
+        return Mono.deferContextual(context -> {
+            RequestTrace trace = context.getOrDefault(TRACE_KEY, null);
+            if (trace == null) {
+                return call;
+            }
+            RequestTrace.Span span = trace.startSpan(name, context.getOrDefault(SPAN_KEY, null));
+            return call
+                    .doOnSuccess(value -> span.end(value != null ? StageMetrics.OUTCOME_SUCCESS : StageMetrics.OUTCOME_EMPTY))
+                    .doOnError(error -> span.end(StageMetrics.outcomeOf(error)))
+                    .doOnCancel(() -> span.end(StageMetrics.OUTCOME_CANCELLED))
+                    .contextWrite(inner -> inner.put(SPAN_KEY, span));
+        });
+    }
+
+    /**
+     * 현재 요청의 하위 스팬으로 스트리밍 호출을 추적
+     */
+    public <T> Flux<T> span(String name, Flux<T> call) {
+        return Flux.deferContextual(context -> {
+            RequestTrace trace = context.getOrDefault(TRACE_KEY, null);
+            if (trace == null) {
+                return call;
+            }
+            RequestTrace.Span span = trace.startSpan(name, context.getOrDefault(SPAN_KEY, null));
+            return call
+                    .doOnComplete(() -> span.end(StageMetrics.OUTCOME_SUCCESS))
+                    .doOnError(error -> span.end(StageMetrics.outcomeOf(error)))
+                    .doOnCancel(() -> span.end(StageMetrics.OUTCOME_CANCELLED))
+                    .contextWrite(inner -> inner.put(SPAN_KEY, span));
+        });
+    }
+
+    private void finish(RequestTrace trace, String outcome) {
+        trace.getRoot().end(outcome);
+        for (SpanExporter exporter : exporters) {
+            try {
+                exporter.export(trace);
+            } catch (RuntimeException e) {
+                logger.warn("요청 추적 내보내기 실패 - {}: {}", exporter.getClass().getSimpleName(), e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.chatfood.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 재시도 예산
+ * 호출마다 ratio만큼 재시도 토큰을 적립하고, 재시도할 때 1개씩 사용합니다.
+ * 서버가 죽었을 때 모든 요청이 재시도를 반복해 부하가 몇 배로 늘어나는 것을 막습니다.
+ * - 최대 적립량: maxTokens
+ * - 요청이 적을 때도 초당 minRetriesPerSecond개까지는 재시도 허용
+ */
+public class RetryBudget implements MeterBinder {
+
+    private final String name;
+    private final double ratio;
+    private final double maxTokens;
+    private final double minRetriesPerSecond;
+
+    private double tokens;
+    private long lastRefillAt = System.currentTimeMillis();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final AtomicLong retries = new AtomicLong();
+    private final AtomicLong exhausted = new AtomicLong();
+
+    public RetryBudget(String name, double ratio, double maxTokens, double minRetriesPerSecond) {
+        this.name = name;
+        this.ratio = ratio;
+        this.maxTokens = maxTokens;
+        this.minRetriesPerSecond = minRetriesPerSecond;
+        this.tokens = maxTokens;
+    }
+
+    /**
+     * 최초 호출 1건 기록 (재시도 토큰 적립)
+     */
+    public void onRequest() {
+        lock.lock();
+        try {
+            tokens = Math.min(maxTokens, tokens + ratio);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 재시도 1회 허용 여부 (허용하면 토큰 1개 사용)
+     */
+    public boolean tryRetry() {
+        lock.lock();
+        try {
+            long now = System.currentTimeMillis();
+            tokens = Math.min(maxTokens, tokens + (now - lastRefillAt) / 1000.0 * minRetriesPerSecond);
+            lastRefillAt = now;
+            if (tokens >= 1.0) {
+                tokens -= 1.0;
+                retries.incrementAndGet();
+                return true;
+            }
+            exhausted.incrementAndGet();
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("retry.budget.retries", retries, AtomicLong::get)
+                .tag("name", name)
+                .register(registry);
+        FunctionCounter.builder("retry.budget.exhausted", exhausted, AtomicLong::get)
+                .description("예산이 없어 재시도하지 않은 횟수")
+                .tag("name", name)
+                .register(registry);
+    }
+}
@@ -0,0 +1,10 @@
+package com.chatfood.service;
+
+/**
+ * 끝난 요청 추적을 내보내는 대상
+ * 요청이 끝난 스레드(Netty 이벤트 루프일 수 있음)에서 호출되므로 블로킹 I/O 없이 바로 반환해야 합니다.
+ */
+public interface SpanExporter {
+
+    void export(RequestTrace trace);
+}
@@ -0,0 +1,128 @@
+package com.chatfood.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * 대화 파이프라인 단계별 지연 시간 측정
+ * 단계(stage)와 결과(outcome) 태그를 붙인 chat.pipeline.stage 타이머로 기록하며,
+ * p50/p95/p99와 히스토그램 버킷을 /actuator/prometheus로 노출합니다.
+ * 비동기 단계는 같은 이름의 요청 추적 스팬으로도 기록합니다. (RequestTracer)
+ * - outcome: success, empty, error, timeout, circuit_open, rejected, cancelled
+ */
+@Component
+public class StageMetrics {
+
+    public static final String METRIC_NAME = "chat.pipeline.stage";
+
+    // 파이프라인 단계
+    public static final String DB_PROFILE = "db_profile";
+    public static final String DB_CONVERSATION_LOAD = "db_conversation_load";
+    public static final String DB_CONVERSATION_WRITE = "db_conversation_write";
+    public static final String FLASK_HEALTH = "flask_health";
+    public static final String FLASK_RECOMMEND = "flask_recommend";
+    public static final String FLASK_RECOMMEND_BATCH = "flask_recommend_batch";
+    public static final String GPT_CHAT = "gpt_chat";
+    public static final String GPT_CHAT_STREAM = "gpt_chat_stream";
+    public static final String GPT_EXTRACTION = "gpt_extraction";
+    public static final String RESPONSE_ASSEMBLY = "response_assembly";
+
+    static final String OUTCOME_SUCCESS = "success";
+    static final String OUTCOME_EMPTY = "empty";
+    static final String OUTCOME_ERROR = "error";
+    static final String OUTCOME_TIMEOUT = "timeout";
+    static final String OUTCOME_CIRCUIT_OPEN = "circuit_open";
+    static final String OUTCOME_REJECTED = "rejected";
+    static final String OUTCOME_CANCELLED = "cancelled";
+
+    private final MeterRegistry registry;
+    private final RequestTracer tracer;
+
+    // 단계/결과별 타이머 (요청마다 빌더로 조회하지 않도록 보관)
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public StageMetrics(MeterRegistry registry, RequestTracer tracer) {
+        this.registry = registry;
+        this.tracer = tracer;
+    }
+
+    /**
+     * 구독 시점부터 완료/에러/취소까지의 시간을 기록
+     */
+    public <T> Mono<T> time(String stage, Mono<T> call) {
+        return tracer.span(stage, Mono.defer(() -> {
+            long start = System.nanoTime();
+            return call
+                    .doOnSuccess(value -> record(stage, value != null ? OUTCOME_SUCCESS : OUTCOME_EMPTY, start))
+                    .doOnError(error -> record(stage, outcomeOf(error), start))
+                    .doOnCancel(() -> record(stage, OUTCOME_CANCELLED, start));
+        }));
+    }
+
+    /**
+     * 스트리밍 호출의 구독부터 마지막 요소까지의 시간을 기록
+     */
+    public <T> Flux<T> time(String stage, Flux<T> call) {
+        return tracer.span(stage, Flux.defer(() -> {
+            long start = System.nanoTime();
+            return call
+                    .doOnComplete(() -> record(stage, OUTCOME_SUCCESS, start))
+                    .doOnError(error -> record(stage, outcomeOf(error), start))
+                    .doOnCancel(() -> record(stage, OUTCOME_CANCELLED, start));
+        }));
+    }
+
+    /**
+     * 동기 단계의 실행 시간을 기록
+     */
+    public <T> T time(String stage, Supplier<T> step) {
+        long start = System.nanoTime();
+        try {
+            T result = step.get();
+            record(stage, OUTCOME_SUCCESS, start);
+            return result;
+        } catch (RuntimeException e) {
+            record(stage, outcomeOf(e), start);
+            throw e;
+        }
+    }
+
+    private void record(String stage, String outcome, long start) {
+        timer(stage, outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer timer(String stage, String outcome) {
+        return timers.computeIfAbsent(stage + '|' + outcome, key -> Timer.builder(METRIC_NAME)
+                .description("대화 파이프라인 단계별 소요 시간")
+                .tag("stage", stage)
+                .tag("outcome", outcome)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(30))
+                .register(registry));
+    }
+
+    static String outcomeOf(Throwable error) {
+        if (error instanceof TimeoutException) {
+            return OUTCOME_TIMEOUT;
+        }
+        if (error instanceof CircuitBreaker.CallNotPermittedException) {
+            return OUTCOME_CIRCUIT_OPEN;
+        }
+        if (error instanceof ConcurrencyLimiter.LimitExceededException) {
+            return OUTCOME_REJECTED;
+        }
+        return OUTCOME_ERROR;
+    }
+}
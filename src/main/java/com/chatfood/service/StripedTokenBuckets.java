@@ -0,0 +1,95 @@
+package com.chatfood.service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 키(세션 ID, 클라이언트 IP)별 토큰 버킷 묶음
+ * 키 해시로 나눈 stripe마다 락과 접근 순서(access-order) LinkedHashMap을 따로 두어 서로 다른 키의 요청끼리 거의 경합하지 않습니다.
+ * 락은 버킷을 찾거나 만드는 동안만 잡고, 토큰 계산은 TokenBucket의 CAS로 락 밖에서 합니다.
+ * stripe마다 최대 키 수를 넘으면 가장 오래 쓰지 않은 키부터 버리므로, 키를 계속 바꾸는 클라이언트가 있어도 메모리가 늘지 않습니다.
+ * (버려진 키는 다음 요청에 가득 찬 버킷으로 다시 시작)
+ */
+public class StripedTokenBuckets {
+
+    private final double ratePerSecond;
+    private final int burst;
+    private final Stripe[] stripes;
+    private final int maxKeysPerStripe;
+
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * @param stripes stripe 수 (2의 거듭제곱으로 올림)
+     * @param maxKeys 전체 최대 키 수 (stripe마다 maxKeys / stripes개)
+     */
+    public StripedTokenBuckets(double ratePerSecond, int burst, int stripes, int maxKeys) {
+        this.ratePerSecond = ratePerSecond;
+        this.burst = burst;
+        int count = stripes <= 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            this.stripes[i] = new Stripe();
+        }
+        this.maxKeysPerStripe = Math.max(1, maxKeys / count);
+    }
+
+    /**
+     * 키의 버킷 (없으면 가득 찬 버킷으로 생성)
+     */
+    public TokenBucket bucket(String key, long nowNanos) {
+        Stripe stripe = stripeFor(key);
+        stripe.lock.lock();
+        try {
+            TokenBucket bucket = stripe.buckets.get(key);
+            if (bucket == null) {
+                bucket = new TokenBucket(ratePerSecond, burst, nowNanos);
+                stripe.buckets.put(key, bucket);
+                Iterator<Map.Entry<String, TokenBucket>> iterator = stripe.buckets.entrySet().iterator();
+                while (stripe.buckets.size() > maxKeysPerStripe && iterator.hasNext()) {
+                    iterator.next();
+                    iterator.remove();
+                    evictions.incrementAndGet();
+                }
+            }
+            return bucket;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * 추적 중인 키 수
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                size += stripe.buckets.size();
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    private Stripe stripeFor(String key) {
+        int hash = key.hashCode();
+        // 하위 비트만 쓰므로 상위 비트를 섞어 고르게 분산
+        hash ^= hash >>> 16;
+        return stripes[hash & (stripes.length - 1)];
+    }
+
+    private static final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<String, TokenBucket> buckets = new LinkedHashMap<>(64, 0.75f, true);
+    }
+}
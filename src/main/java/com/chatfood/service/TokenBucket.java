@@ -0,0 +1,66 @@
+package com.chatfood.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 락 없는 토큰 버킷
+ * 토큰 수 대신 "버킷이 다시 가득 차는 시각"(나노초) 하나만 AtomicLong으로 들고 CAS로 갱신합니다 (GCRA와 같은 계산).
+ * - 초당 ratePerSecond개씩 차고 최대 burst개까지 쌓임
+ * - 가득 차는 시각이 현재보다 burst개 분량 이상 앞서면 토큰이 없는 상태
+ * 요청마다 락을 잡지 않으므로 전역 버킷처럼 모든 요청이 같이 쓰는 곳에도 경합이 적습니다.
+ */
+public class TokenBucket {
+
+    private final long intervalNanos;
+    private final int burst;
+    private final long burstNanos;
+
+    // 버킷이 가득 차는 시각 (이 시각 이하이면 가득 찬 상태)
+    private final AtomicLong fullAt;
+
+    public TokenBucket(double ratePerSecond, int burst, long nowNanos) {
+        this.intervalNanos = Math.max(1L, (long) (1_000_000_000L / ratePerSecond));
+        this.burst = Math.max(1, burst);
+        this.burstNanos = intervalNanos * this.burst;
+        this.fullAt = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * 토큰 1개 사용
+     * @param reserveTokens 사용 후에도 남아 있어야 하는 토큰 수 (우선순위가 낮은 요청에 예비분을 남길 때)
+     * @return 허용하면 0, 아니면 토큰이 찰 때까지 기다려야 하는 시간(나노초)
+     */
+    public long tryAcquire(long nowNanos, double reserveTokens) {
+        long limit = burstNanos - (long) (reserveTokens * intervalNanos);
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, nowNanos) + intervalNanos;
+            long debt = next - nowNanos;
+            if (debt > limit) {
+                return debt - limit;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * 사용한 토큰 1개 반환 (뒤 단계에서 거절되어 실제로 처리하지 않은 요청)
+     */
+    public void refund() {
+        fullAt.addAndGet(-intervalNanos);
+    }
+
+    /**
+     * 남은 토큰 비율 (0.0 ~ 1.0)
+     */
+    public double fillRatio(long nowNanos) {
+        long debt = Math.max(0L, fullAt.get() - nowNanos);
+        return Math.max(0.0, (double) (burstNanos - debt) / burstNanos);
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+}
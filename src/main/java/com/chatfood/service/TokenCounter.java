@@ -0,0 +1,46 @@
+package com.chatfood.service;
+
+/**
+ * GPT 토큰 수 근사 계산기
+ * 실제 토크나이저 없이 요청 전에 예산을 확인하기 위한 용도입니다.
+ * - 한글/기타 비 ASCII 문자: 문자당 1토큰
+ * - ASCII 영문/숫자/기호: 4자당 1토큰
+ * - 메시지마다 역할/구분자 오버헤드 4토큰
+ */
+public final class TokenCounter {
+
+    // 메시지 하나당 붙는 역할/구분자 토큰
+    public static final int MESSAGE_OVERHEAD = 4;
+
+    private TokenCounter() {
+    }
+
+    /**
+     * 문자열의 근사 토큰 수
+     */
+    public static int estimate(String text) {
+        if (text == null || text.isEmpty()) {
+            return 0;
+        }
+        int nonAscii = 0;
+        int ascii = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                if (!Character.isWhitespace(c)) {
+                    ascii++;
+                }
+            } else {
+                nonAscii++;
+            }
+        }
+        return nonAscii + (ascii + 3) / 4;
+    }
+
+    /**
+     * 메시지 하나(본문 + 오버헤드)의 근사 토큰 수
+     */
+    public static int estimateMessage(String content) {
+        return estimate(content) + MESSAGE_OVERHEAD;
+    }
+}
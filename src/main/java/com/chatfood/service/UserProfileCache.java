@@ -0,0 +1,166 @@
+package com.chatfood.service;
+
+import com.chatfood.dto.UserProfile;
+import com.chatfood.repository.UserRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 사용자 프로필 캐시 (이메일 → UserProfile)
+ * 대화/추천 요청마다 users 테이블을 조회하지 않도록 비밀번호를 제외한 불변 프로필만 보관합니다.
+ * - 없으면 DB에서 읽어 저장 (read-through, 같은 이메일 동시 조회는 한 번만)
+ * - LRU + TTL 만료
+ * - 회원가입이 커밋된 뒤 UserService가 invalidate 호출
+ */
+@Component
+public class UserProfileCache implements MeterBinder {
+
+    private final UserRepository userRepository;
+    private final StageMetrics stageMetrics;
+    private final ConcurrencyLimiter databaseLimiter;
+    private final int maxEntries;
+    private final long ttlMillis;
+
+    // 접근 순서(access-order) LinkedHashMap: 맨 앞이 가장 오래 사용하지 않은 항목
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // 이메일별 진행 중인 DB 조회
+    private final Map<String, Mono<UserProfile>> inFlight = new ConcurrentHashMap<>();
+
+    // invalidate 횟수 - 조회 도중 무효화되면 오래된 프로필을 저장하지 않기 위해 사용
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public UserProfileCache(UserRepository userRepository,
+                            StageMetrics stageMetrics,
+                            @Qualifier("databaseConcurrencyLimiter") ConcurrencyLimiter databaseLimiter,
+                            @Value("${user.profile.cache.max-entries:10000}") int maxEntries,
+                            @Value("${user.profile.cache.ttl-minutes:30}") long ttlMinutes) {
+        this.userRepository = userRepository;
+        this.stageMetrics = stageMetrics;
+        this.databaseLimiter = databaseLimiter;
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlMinutes * 60_000L;
+    }
+
+    /**
+     * 이메일로 프로필 조회 (사용자가 없으면 empty)
+     * JPA 호출은 블로킹이므로 캐시에 없을 때만 boundedElastic 스케줄러에서 조회하며,
+     * 동시 조회 수는 DB 연결 풀 크기 안으로 제한합니다 (가상 스레드 모드에서도 Hikari 대기로 스레드가 쌓이지 않도록).
+     */
+    public Mono<UserProfile> get(String email) {
+        return Mono.defer(() -> {
+            UserProfile cached = lookup(email);
+            if (cached != null) {
+                hits.incrementAndGet();
+                return Mono.just(cached);
+            }
+            misses.incrementAndGet();
+            return inFlight.computeIfAbsent(email, key -> {
+                long generation = invalidations.get();
+                Mono<UserProfile> query = Mono.fromCallable(() -> userRepository.findProfileByEmail(key).orElse(null))
+                        .subscribeOn(Schedulers.boundedElastic());
+                // invalidate 후 새로 시작된 조회는 지우지 않도록 자기 자신일 때만 제거 (결과 전달 전에 제거해 에러 후 재요청은 새로 조회)
+                AtomicReference<Mono<UserProfile>> self = new AtomicReference<>();
+                Mono<UserProfile> call = stageMetrics.time(StageMetrics.DB_PROFILE, databaseLimiter.limit(query))
+                        .doOnNext(profile -> store(key, profile, generation))
+                        .doOnTerminate(() -> inFlight.remove(key, self.get()))
+                        .cache();
+                self.set(call);
+                return call;
+            });
+        });
+    }
+
+    /**
+     * 프로필 변경 시 캐시에서 제거
+     */
+    public void invalidate(String email) {
+        lock.lock();
+        try {
+            invalidations.incrementAndGet();
+            entries.remove(email);
+            inFlight.remove(email);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("user.profile.cache.requests", hits, AtomicLong::get)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("user.profile.cache.requests", misses, AtomicLong::get)
+                .tag("result", "miss")
+                .register(registry);
+        Gauge.builder("user.profile.cache.size", this, UserProfileCache::size)
+                .register(registry);
+    }
+
+    private UserProfile lookup(String email) {
+        lock.lock();
+        try {
+            Entry entry = entries.get(email);
+            if (entry != null && System.currentTimeMillis() - entry.loadedAt > ttlMillis) {
+                entries.remove(email);
+                return null;
+            }
+            return entry != null ? entry.profile : null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void store(String email, UserProfile profile, long generation) {
+        lock.lock();
+        try {
+            if (invalidations.get() != generation) {
+                return;
+            }
+            entries.put(email, new Entry(profile, System.currentTimeMillis()));
+            while (entries.size() > maxEntries) {
+                String eldest = entries.keySet().iterator().next();
+                entries.remove(eldest);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static final class Entry {
+        private final UserProfile profile;
+        private final long loadedAt;
+
+        private Entry(UserProfile profile, long loadedAt) {
+            this.profile = profile;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -1,10 +1,15 @@
 package com.chatfood.service;
 
+import com.chatfood.dto.SessionProfile;
+import com.chatfood.dto.UserProfile;
 import com.chatfood.entity.User;
 import com.chatfood.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import reactor.core.publisher.Mono;
 
 import java.util.Optional;
 
@@ -16,6 +21,7 @@ import java.util.Optional;
 public class UserService {
 
     private final UserRepository userRepository;
+    private final UserProfileCache userProfileCache;
 
     /**
      * 회원가입
@@ -33,7 +39,9 @@ public class UserService {
         // TODO: 비밀번호 암호화 (나중에 Spring Security 추가 시)
         // user.setPassword(passwordEncoder.encode(user.getPassword()));
         
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        invalidateProfileAfterCommit(savedUser.getEmail());
+        return savedUser;
     }
 
     /**
@@ -64,4 +72,39 @@ public class UserService {
     public Optional<User> findById(Long id) {
         return userRepository.findById(id);
     }
+
+    /**
+     * 로그인 세션에 저장할 프로필 스냅샷 생성
+     * @param user 로그인한 사용자
+     * @return 프롬프트용 문자열과 추천 요청 정보를 미리 만들어 둔 스냅샷
+     */
+    public SessionProfile createSessionProfile(User user) {
+        UserProfile profile = new UserProfile(user.getName(), user.getGender(), user.getAge(),
+                user.getRegion(), user.getOftenCategory(), user.getLikeCategory());
+        return SessionProfile.of(user.getEmail(), profile);
+    }
+
+    /**
+     * 이메일로 프로필 스냅샷 조회 (스냅샷 없이 이메일만 있는 세션용, 프로필 캐시 사용)
+     * @param email 이메일
+     * @return 프로필 스냅샷 (사용자가 없으면 empty)
+     */
+    public Mono<SessionProfile> loadSessionProfile(String email) {
+        return userProfileCache.get(email)
+                .map(profile -> SessionProfile.of(email, profile));
+    }
+
+    // 커밋 전에 무효화하면 그 사이 다른 요청이 이전 행을 다시 읽어 TTL 동안 캐시하므로 커밋된 뒤에 무효화
+    private void invalidateProfileAfterCommit(String email) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            userProfileCache.invalidate(email);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                userProfileCache.invalidate(email);
+            }
+        });
+    }
 }
@@ -0,0 +1,113 @@
+package com.chatfood.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.AppenderBase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DroppingAsyncAppenderTest {
+
+    private final LoggerContext loggerContext = new LoggerContext();
+    private final Logger logger = loggerContext.getLogger("com.chatfood.test");
+
+    // 작업 스레드가 첫 이벤트를 쓰는 중에 멈춰 있도록 막는 appender
+    private final CountDownLatch writing = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private DroppingAsyncAppender appender;
+
+    @BeforeEach
+    void setUp() {
+        // 이벤트를 큐에 넣을 때 MDC를 복사하므로 독립 컨텍스트에도 어댑터 필요
+        loggerContext.setMDCAdapter(new LogbackMDCAdapter());
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (appender != null) {
+            appender.stop();
+        }
+    }
+
+    @Test
+    void fullQueueWithNeverBlockCountsOneDropPerLostEvent() throws InterruptedException {
+        appender = start("drop-never-block", 0);
+        fillQueue();
+
+        for (int i = 0; i < 3; i++) {
+            appender.doAppend(event(Level.WARN));
+        }
+        appender.doAppend(event(Level.ERROR));
+
+        assertThat(dropped("drop-never-block")).isEqualTo(4);
+    }
+
+    @Test
+    void eventsDiscardedByThresholdAreCountedOnce() throws InterruptedException {
+        appender = start("drop-threshold", 1);
+        fillQueue();
+
+        // INFO는 임계치로, WARN은 큐가 가득 차서 버려짐 - 어느 쪽이든 한 번씩만 셈
+        appender.doAppend(event(Level.INFO));
+        appender.doAppend(event(Level.DEBUG));
+        appender.doAppend(event(Level.WARN));
+
+        assertThat(dropped("drop-threshold")).isEqualTo(3);
+    }
+
+    private DroppingAsyncAppender start(String name, int discardingThreshold) {
+        AppenderBase<ILoggingEvent> blocking = new AppenderBase<>() {
+            @Override
+            protected void append(ILoggingEvent event) {
+                writing.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        blocking.setContext(loggerContext);
+        blocking.start();
+
+        DroppingAsyncAppender async = new DroppingAsyncAppender();
+        async.setContext(loggerContext);
+        async.setName(name);
+        async.setQueueSize(2);
+        async.setDiscardingThreshold(discardingThreshold);
+        async.setNeverBlock(true);
+        async.setMaxFlushTime(100);
+        async.addAppender(blocking);
+        async.start();
+        return async;
+    }
+
+    // 작업 스레드가 첫 이벤트에서 멈춘 뒤 큐(2칸)를 WARN으로 채움
+    private void fillQueue() throws InterruptedException {
+        appender.doAppend(event(Level.WARN));
+        assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+        appender.doAppend(event(Level.WARN));
+        appender.doAppend(event(Level.WARN));
+        assertThat(appender.getRemainingCapacity()).isZero();
+        assertThat(dropped(appender.getName())).isZero();
+    }
+
+    private LoggingEvent event(Level level) {
+        return new LoggingEvent(Logger.class.getName(), logger, level, "msg", null, null);
+    }
+
+    private static long dropped(String name) {
+        return DroppingAsyncAppender.droppedCounts().get(name).get();
+    }
+}
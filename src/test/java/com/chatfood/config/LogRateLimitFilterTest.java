@@ -0,0 +1,64 @@
+package com.chatfood.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LogRateLimitFilterTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    private final LoggerContext loggerContext = new LoggerContext();
+    private final Logger logger = loggerContext.getLogger("com.chatfood.noisy");
+    private final LogRateLimitFilter filter = new LogRateLimitFilter();
+
+    @BeforeEach
+    void setUp() {
+        logger.setLevel(Level.DEBUG);
+        filter.setContext(loggerContext);
+        filter.setMaxEventsPerSecond(3);
+        filter.start();
+    }
+
+    @Test
+    void deniesInfoOverLimitButNeverWarnOrError() {
+        long limitedBefore = LogRateLimitFilter.limitedCount().get();
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(filter.decide(logger, Level.INFO, "msg", NOW)).isEqualTo(FilterReply.NEUTRAL);
+        }
+        assertThat(filter.decide(logger, Level.INFO, "msg", NOW + 1)).isEqualTo(FilterReply.DENY);
+        assertThat(filter.decide(logger, Level.DEBUG, "msg", NOW + 2)).isEqualTo(FilterReply.DENY);
+        // 같은 구간에서 한도를 넘어도 WARN/ERROR는 통과
+        assertThat(filter.decide(logger, Level.WARN, "msg", NOW + 3)).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(filter.decide(logger, Level.ERROR, "msg", NOW + 4)).isEqualTo(FilterReply.NEUTRAL);
+
+        assertThat(LogRateLimitFilter.limitedCount().get() - limitedBefore).isEqualTo(2);
+    }
+
+    @Test
+    void limitResetsInNextSecondAndIsPerLogger() {
+        for (int i = 0; i < 3; i++) {
+            filter.decide(logger, Level.INFO, "msg", NOW);
+        }
+        assertThat(filter.decide(logger, Level.INFO, "msg", NOW)).isEqualTo(FilterReply.DENY);
+        assertThat(filter.decide(loggerContext.getLogger("com.chatfood.quiet"), Level.INFO, "msg", NOW))
+                .isEqualTo(FilterReply.NEUTRAL);
+        assertThat(filter.decide(logger, Level.INFO, "msg", NOW + 1000)).isEqualTo(FilterReply.NEUTRAL);
+    }
+
+    @Test
+    void disabledEventsAreNotCounted() {
+        logger.setLevel(Level.WARN);
+        for (int i = 0; i < 10; i++) {
+            assertThat(filter.decide(logger, Level.INFO, "msg", NOW)).isEqualTo(FilterReply.NEUTRAL);
+        }
+        logger.setLevel(Level.DEBUG);
+        assertThat(filter.decide(logger, Level.INFO, "msg", NOW)).isEqualTo(FilterReply.NEUTRAL);
+    }
+}
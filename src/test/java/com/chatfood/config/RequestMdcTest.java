@@ -0,0 +1,71 @@
+package com.chatfood.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestMdcTest {
+
+    @AfterEach
+    void clearMdc() {
+        MDC.clear();
+    }
+
+    @Test
+    void errorLogOnAnotherThreadSeesRequestId() {
+        AtomicReference<String> inErrorLog = new AtomicReference<>();
+        AtomicReference<String> inFallback = new AtomicReference<>("unset");
+
+        String result = Mono.fromCallable(() -> {
+                    throw new IllegalStateException("boom");
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(Object::toString)
+                .doOnEach(RequestMdc.onError(e -> inErrorLog.set(MDC.get(RequestMdc.REQUEST_ID))))
+                .onErrorResume(e -> {
+                    inFallback.set(MDC.get(RequestMdc.REQUEST_ID));
+                    return Mono.just("fallback");
+                })
+                .contextWrite(RequestMdc.requestId("req-1"))
+                .block();
+
+        assertThat(result).isEqualTo("fallback");
+        assertThat(inErrorLog.get()).isEqualTo("req-1");
+        // 로그 지점 밖에서는 MDC를 건드리지 않음
+        assertThat(inFallback.get()).isNull();
+        assertThat(MDC.get(RequestMdc.REQUEST_ID)).isNull();
+    }
+
+    @Test
+    void deferContextualRestoresPreviousValue() {
+        AtomicReference<String> seen = new AtomicReference<>();
+        MDC.put(RequestMdc.REQUEST_ID, "outer");
+
+        Mono.deferContextual(ctx -> {
+                    RequestMdc.run(ctx, () -> seen.set(MDC.get(RequestMdc.REQUEST_ID)));
+                    return Mono.just("ok");
+                })
+                .contextWrite(RequestMdc.requestId("req-2"))
+                .block();
+
+        assertThat(seen.get()).isEqualTo("req-2");
+        assertThat(MDC.get(RequestMdc.REQUEST_ID)).isEqualTo("outer");
+    }
+
+    @Test
+    void pipelinesWithoutRequestIdAreLeftAlone() {
+        AtomicReference<String> seen = new AtomicReference<>("unset");
+
+        Mono.fromCallable(() -> "ok")
+                .doOnEach(RequestMdc.onNext(v -> seen.set(MDC.get(RequestMdc.REQUEST_ID))))
+                .block();
+
+        assertThat(seen.get()).isNull();
+    }
+}
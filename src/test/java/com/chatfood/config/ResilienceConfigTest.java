@@ -0,0 +1,46 @@
+package com.chatfood.config;
+
+import com.chatfood.service.CircuitBreaker;
+import com.chatfood.service.ConcurrencyLimiter;
+import com.fasterxml.jackson.core.JsonParseException;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Exceptions;
+
+import java.net.ConnectException;
+import java.net.URI;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResilienceConfigTest {
+
+    @Test
+    void countsOutageSignalsAsServerFailures() {
+        assertThat(ResilienceConfig.isServerFailure(response(503))).isTrue();
+        assertThat(ResilienceConfig.isServerFailure(response(429))).isTrue();
+        assertThat(ResilienceConfig.isServerFailure(new TimeoutException())).isTrue();
+        assertThat(ResilienceConfig.isServerFailure(new WebClientRequestException(
+                new ConnectException("refused"), HttpMethod.POST, URI.create("http://localhost"), new HttpHeaders()))).isTrue();
+        assertThat(ResilienceConfig.isServerFailure(Exceptions.retryExhausted("retries", new TimeoutException()))).isTrue();
+    }
+
+    @Test
+    void ignoresClientErrorsLocalBugsAndCallsThatWereNeverMade() {
+        assertThat(ResilienceConfig.isServerFailure(response(400))).isFalse();
+        assertThat(ResilienceConfig.isServerFailure(new NullPointerException())).isFalse();
+        assertThat(ResilienceConfig.isServerFailure(new IllegalStateException("bug"))).isFalse();
+        assertThat(ResilienceConfig.isServerFailure(
+                new DecodingException("JSON decoding error", new JsonParseException(null, "bad json")))).isFalse();
+        assertThat(ResilienceConfig.isServerFailure(new CircuitBreaker.CallNotPermittedException("openAi"))).isFalse();
+        assertThat(ResilienceConfig.isServerFailure(new ConcurrencyLimiter.LimitExceededException("openAi", "full"))).isFalse();
+    }
+
+    private static WebClientResponseException response(int status) {
+        return WebClientResponseException.create(status, "status " + status, new HttpHeaders(), new byte[0], null);
+    }
+}
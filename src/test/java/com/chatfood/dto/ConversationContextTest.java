@@ -0,0 +1,80 @@
+package com.chatfood.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConversationContextTest {
+
+    @Test
+    void concurrentTurnsCompactionAndSizeEstimatesKeepHistoryConsistent() throws Exception {
+        ConversationContext context = new ConversationContext("session", "user@example.com");
+        context.setMaxHistorySize(10);
+        int writers = 4;
+        int turnsPerWriter = 2_000;
+
+        ExecutorService executor = Executors.newFixedThreadPool(writers + 2);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int w = 0; w < writers; w++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < turnsPerWriter; i++) {
+                        context.addTurn("질문" + i, "답변" + i);
+                    }
+                    return null;
+                }));
+            }
+            // 압축처럼 잠금을 잡고 오래된 메시지를 빼는 쪽
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < turnsPerWriter; i++) {
+                    context.historyLock().lock();
+                    try {
+                        ConversationHistory history = context.getConversationHistory();
+                        if (history.size() > 4) {
+                            history.removeOldest();
+                        }
+                    } finally {
+                        context.historyLock().unlock();
+                    }
+                }
+                return null;
+            }));
+            // 저장소가 메모리 추정치를 갱신하는 쪽
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < turnsPerWriter; i++) {
+                    assertThat(context.estimateSizeInBytes()).isPositive();
+                }
+                return null;
+            }));
+
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(context.getConversationTurn()).isEqualTo(writers * turnsPerWriter * 2);
+        ConversationHistory history = context.getConversationHistory();
+        assertThat(history.size()).isBetween(1, 10);
+        // 한 턴의 사용자 메시지와 AI 답변은 항상 붙어 있음
+        for (int i = 0; i + 1 < history.size(); i++) {
+            if (history.role(i) == ConversationHistory.ROLE_USER) {
+                assertThat(history.role(i + 1)).isEqualTo(ConversationHistory.ROLE_ASSISTANT);
+                assertThat(history.text(i + 1).substring(2)).isEqualTo(history.text(i).substring(2));
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.chatfood.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConversationHistoryTest {
+
+    @Test
+    void overwritesOldestMessageWhenFull() {
+        ConversationHistory history = new ConversationHistory(3);
+        for (int i = 0; i < 12; i++) {
+            history.add(i % 2 == 0 ? ConversationHistory.ROLE_USER : ConversationHistory.ROLE_ASSISTANT, "m" + i, i);
+        }
+
+        assertThat(history.size()).isEqualTo(3);
+        assertThat(texts(history)).containsExactly("m9", "m10", "m11");
+        assertThat(history.role(0)).isEqualTo(ConversationHistory.ROLE_ASSISTANT);
+        assertThat(history.timestamp(2)).isEqualTo(11L);
+    }
+
+    @Test
+    void removeOldestKeepsOrderAcrossWrapAround() {
+        ConversationHistory history = new ConversationHistory(4);
+        for (int i = 0; i < 6; i++) {
+            history.add(ConversationHistory.ROLE_USER, "m" + i, i);
+        }
+        history.removeOldest();
+        history.add(ConversationHistory.ROLE_ASSISTANT, "m6", 6);
+
+        assertThat(texts(history)).containsExactly("m3", "m4", "m5", "m6");
+    }
+
+    @Test
+    void roundTripsThroughBinaryFormat() {
+        ConversationHistory history = new ConversationHistory(40);
+        history.add(ConversationHistory.ROLE_USER, "국물이 있는걸로", 1_700_000_000_000L);
+        history.add(ConversationHistory.ROLE_ASSISTANT, "김치찌개, 냉면, 우동 중에 어떤 게 좋으실까요?", 1_700_000_001_000L);
+
+        ConversationHistory restored = ConversationHistory.fromByteArray(history.toByteArray());
+
+        assertThat(restored.capacity()).isEqualTo(40);
+        assertThat(texts(restored)).containsExactly("국물이 있는걸로", "김치찌개, 냉면, 우동 중에 어떤 게 좋으실까요?");
+        assertThat(restored.role(1)).isEqualTo(ConversationHistory.ROLE_ASSISTANT);
+        assertThat(restored.timestamp(0)).isEqualTo(1_700_000_000_000L);
+    }
+
+    @Test
+    void rejectsUnknownFormatVersion() {
+        byte[] bytes = new ConversationHistory(2).toByteArray();
+        bytes[0] = 99;
+
+        assertThatThrownBy(() -> ConversationHistory.fromByteArray(bytes))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static List<String> texts(ConversationHistory history) {
+        List<String> texts = new ArrayList<>();
+        history.forEach((role, text, timestamp) -> texts.add(text));
+        return texts;
+    }
+}
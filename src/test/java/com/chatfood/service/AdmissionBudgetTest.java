@@ -0,0 +1,61 @@
+package com.chatfood.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdmissionBudgetTest {
+
+    // 테스트 동안 토큰이 다시 차지 않도록 아주 느린 속도
+    private static final double SLOW_RATE = 0.001;
+
+    @Test
+    void sessionTokenIsRefundedWhenIpBudgetRejects() {
+        StripedTokenBuckets sessions = new StripedTokenBuckets(SLOW_RATE, 2, 4, 100);
+        StripedTokenBuckets ips = new StripedTokenBuckets(SLOW_RATE, 1, 4, 100);
+        AdmissionBudget budget = new AdmissionBudget("test", sessions, ips, new TokenBucket(SLOW_RATE, 100, 0), 0);
+
+        assertThat(budget.tryAdmit("s1", "10.0.0.1", 0)).isZero();
+        assertThat(budget.tryAdmit("s1", "10.0.0.1", 0)).isPositive();
+
+        // IP 단계에서 거절된 요청의 세션 토큰은 돌려받았으므로 다른 IP에서는 한 번 더 허용
+        assertThat(budget.tryAdmit("s1", "10.0.0.2", 0)).isZero();
+        assertThat(budget.tryAdmit("s1", "10.0.0.3", 0)).isPositive();
+    }
+
+    @Test
+    void sessionAndIpTokensAreRefundedWhenGlobalBudgetRejects() {
+        StripedTokenBuckets sessions = new StripedTokenBuckets(SLOW_RATE, 1, 4, 100);
+        StripedTokenBuckets ips = new StripedTokenBuckets(SLOW_RATE, 1, 4, 100);
+        AdmissionBudget budget = new AdmissionBudget("test", sessions, ips, new TokenBucket(SLOW_RATE, 1, 0), 0);
+
+        assertThat(budget.tryAdmit("s1", "10.0.0.1", 0)).isZero();
+        assertThat(budget.tryAdmit("s2", "10.0.0.2", 0)).isPositive();
+
+        assertThat(sessions.bucket("s2", 0).tryAcquire(0, 0)).isZero();
+        assertThat(ips.bucket("10.0.0.2", 0).tryAcquire(0, 0)).isZero();
+    }
+
+    @Test
+    void heavyClientCannotUseGlobalReserve() {
+        StripedTokenBuckets sessions = new StripedTokenBuckets(SLOW_RATE, 10, 4, 100);
+        StripedTokenBuckets ips = new StripedTokenBuckets(SLOW_RATE, 4, 4, 100);
+        // 전역 10개 중 마지막 2개는 예비분
+        AdmissionBudget budget = new AdmissionBudget("test", sessions, ips, new TokenBucket(SLOW_RATE, 10, 0), 0.2);
+
+        // 자기 IP 버킷을 절반 넘게 쓴 클라이언트 (세 번째 요청부터 heavy)
+        for (int i = 0; i < 3; i++) {
+            assertThat(budget.tryAdmit(null, "heavy", 0)).isZero();
+        }
+        // 일반 클라이언트들이 전역 버킷을 예비분만 남기고 사용 (10 - 3 - 5 = 2)
+        for (int i = 0; i < 5; i++) {
+            assertThat(budget.tryAdmit(null, "light-" + i, 0)).isZero();
+        }
+
+        assertThat(budget.tryAdmit(null, "heavy", 0)).isPositive();
+        // 예비분은 일반 클라이언트에게 남아 있음
+        assertThat(budget.tryAdmit(null, "light-new-1", 0)).isZero();
+        assertThat(budget.tryAdmit(null, "light-new-2", 0)).isZero();
+        assertThat(budget.tryAdmit(null, "light-new-3", 0)).isPositive();
+    }
+}
@@ -0,0 +1,115 @@
+package com.chatfood.service;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CircuitBreakerTest {
+
+    @Test
+    void staysClosedUntilMinimumCallsThenOpensAndRejectsWithoutCalling() {
+        CircuitBreaker breaker = new CircuitBreaker("test", 50, 10, 4, 60_000, 1, e -> true);
+
+        for (int i = 0; i < 3; i++) {
+            fail(breaker);
+        }
+        // 실패율 100%여도 최소 호출 수(4) 미만이면 계산하지 않음
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.getFailureRate()).isZero();
+
+        fail(breaker);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        AtomicInteger subscriptions = new AtomicInteger();
+        Mono<String> call = Mono.fromCallable(() -> {
+            subscriptions.incrementAndGet();
+            return "ok";
+        });
+        assertThatThrownBy(() -> breaker.protect(call).block())
+                .isInstanceOf(CircuitBreaker.CallNotPermittedException.class);
+        assertThat(subscriptions).hasValue(0);
+        assertThat(breaker.getNotPermittedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void opensOnlyWhenFailureRateReachesThreshold() {
+        CircuitBreaker breaker = new CircuitBreaker("test", 50, 4, 4, 60_000, 1, e -> true);
+
+        succeed(breaker);
+        succeed(breaker);
+        succeed(breaker);
+        fail(breaker);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.getFailureRate()).isEqualTo(25.0);
+
+        // 윈도우가 밀려 최근 4건 중 2건 실패 = 50%
+        fail(breaker);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void errorsNotRecordedAsFailuresDoNotOpen() {
+        CircuitBreaker breaker = new CircuitBreaker("test", 50, 4, 2, 60_000, 1,
+                e -> !(e instanceof IllegalArgumentException));
+
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> breaker.protect(Mono.error(new IllegalArgumentException("bad request"))).block())
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.getFailureRate()).isZero();
+    }
+
+    @Test
+    void halfOpenClosesAfterSuccessfulTrialCalls() throws InterruptedException {
+        CircuitBreaker breaker = new CircuitBreaker("test", 50, 2, 2, 200, 2, e -> true);
+        fail(breaker);
+        fail(breaker);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        Thread.sleep(300);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+
+        succeed(breaker);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        succeed(breaker);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+        // CLOSED로 돌아오면 윈도우도 새로 시작
+        fail(breaker);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void halfOpenFailureReopensAndLimitsTrialCalls() throws InterruptedException {
+        CircuitBreaker breaker = new CircuitBreaker("test", 50, 2, 2, 200, 1, e -> true);
+        fail(breaker);
+        fail(breaker);
+        Thread.sleep(300);
+
+        // 시험 호출 1건이 진행 중이면 그 외 호출은 거절
+        Mono<String> pending = breaker.protect(Mono.never());
+        var subscription = pending.subscribe();
+        assertThatThrownBy(() -> breaker.protect(Mono.just("ok")).block())
+                .isInstanceOf(CircuitBreaker.CallNotPermittedException.class);
+
+        // 취소된 시험 호출은 허용 수를 돌려줌
+        subscription.dispose();
+        fail(breaker);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    private static void succeed(CircuitBreaker breaker) {
+        assertThat(breaker.protect(Mono.just("ok")).block()).isEqualTo("ok");
+    }
+
+    private static void fail(CircuitBreaker breaker) {
+        assertThatThrownBy(() -> breaker.protect(Mono.error(new IllegalStateException("server down"))).block())
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
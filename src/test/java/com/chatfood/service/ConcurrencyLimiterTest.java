@@ -0,0 +1,74 @@
+package com.chatfood.service;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConcurrencyLimiterTest {
+
+    @Test
+    void permitIsReleasedWhenCallFails() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("test", 1, 0, 1_000);
+
+        assertThatThrownBy(() -> limiter.limit(Mono.error(new IllegalStateException("boom"))).block())
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(limiter.getInFlight()).isZero();
+        assertThat(limiter.limit(Mono.just("ok")).block()).isEqualTo("ok");
+    }
+
+    @Test
+    void permitIsReleasedWhenCallIsCancelled() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("test", 1, 0, 1_000);
+        Disposable running = limiter.limit(Mono.never()).subscribe();
+        assertThat(limiter.getInFlight()).isEqualTo(1);
+
+        running.dispose();
+
+        assertThat(limiter.getInFlight()).isZero();
+        assertThat(limiter.limit(Mono.just("ok")).block()).isEqualTo("ok");
+    }
+
+    @Test
+    void rejectsImmediatelyWhenQueueIsFullAndGrantsQueuedCallOnRelease() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("test", 1, 1, 10_000);
+        Disposable running = limiter.limit(Mono.never()).subscribe();
+        AtomicReference<String> queuedResult = new AtomicReference<>();
+        limiter.limit(Mono.just("queued")).subscribe(queuedResult::set);
+        assertThat(limiter.getQueued()).isEqualTo(1);
+
+        assertThatThrownBy(() -> limiter.limit(Mono.just("ok")).block())
+                .isInstanceOf(ConcurrencyLimiter.LimitExceededException.class)
+                .hasMessageContaining("대기열이 가득 찼습니다");
+
+        running.dispose();
+
+        assertThat(queuedResult).hasValue("queued");
+        assertThat(limiter.getQueued()).isZero();
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void cancelledOrTimedOutWaitersLeaveTheQueue() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("test", 1, 2, 50);
+        Disposable running = limiter.limit(Mono.never()).subscribe();
+
+        Disposable queued = limiter.limit(Mono.just("queued")).subscribe();
+        assertThat(limiter.getQueued()).isEqualTo(1);
+        queued.dispose();
+        assertThat(limiter.getQueued()).isZero();
+
+        assertThatThrownBy(() -> limiter.limit(Mono.just("late")).block())
+                .isInstanceOf(ConcurrencyLimiter.LimitExceededException.class)
+                .hasMessageContaining("50ms");
+        assertThat(limiter.getQueued()).isZero();
+
+        running.dispose();
+        assertThat(limiter.limit(Mono.just("ok")).block()).isEqualTo("ok");
+    }
+}
@@ -0,0 +1,47 @@
+package com.chatfood.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FoodNameExtractorTest {
+
+    private final FoodNameExtractor extractor = new FoodNameExtractor();
+
+    @Test
+    void extractsFoodsInOrderOfAppearance() {
+        List<String> foods = extractor.extract("국물이 시원한 음식들이에요! 김치찌개, 냉면, 우동 중에 어떤 게 좋으실까요?");
+
+        assertThat(foods).containsExactly("김치찌개", "냉면", "우동");
+    }
+
+    @Test
+    void prefersLongestMatchAndRemovesDuplicates() {
+        List<String> foods = extractor.extract("돌솥비빔밥이랑 김치볶음밥, 그리고 또 돌솥비빔밥");
+
+        assertThat(foods).containsExactly("돌솥비빔밥", "김치볶음밥");
+    }
+
+    @Test
+    void ignoresConditionalEndingThatLooksLikeRamyeon() {
+        assertThat(extractor.extract("한식이라면 김치찌개 어때요")).containsExactly("김치찌개");
+        assertThat(extractor.extract("점심이라면 가볍게 먹을 수 있는 걸로 골라 볼게요")).isEmpty();
+        assertThat(extractor.extract("매운 게 좋다면 라면, 짬뽕도 좋아요")).containsExactly("라면", "짬뽕");
+        assertThat(extractor.extract("야식이라면 (라면)이 최고죠")).containsExactly("라면");
+    }
+
+    @Test
+    void returnsEmptyListWhenNothingMatches() {
+        assertThat(extractor.extract("오늘 기분은 어떠세요?")).isEmpty();
+        assertThat(extractor.extract(null)).isEmpty();
+    }
+
+    @Test
+    void worksWithCustomLexicon() {
+        FoodNameExtractor custom = new FoodNameExtractor(List.of("he", "she", "his", "hers"));
+
+        assertThat(custom.extract("ushers his")).containsExactly("she", "his");
+    }
+}
@@ -0,0 +1,156 @@
+package com.chatfood.service;
+
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GptResponseCacheTest {
+
+    private static final GPTConversationService.GPTMessage SYSTEM =
+            new GPTConversationService.GPTMessage("system", "프로필: 매운 음식 선호");
+
+    @Test
+    void keyNormalizesCurrentMessageAndHashesEarlierMessages() {
+        String key = GptResponseCache.keyOf(conversation(SYSTEM, "김치찌개 추천해줘!"));
+
+        assertThat(GptResponseCache.keyOf(conversation(SYSTEM, "  김치찌개추천해줘 ")))
+                .isEqualTo(key);
+        assertThat(GptResponseCache.keyOf(List.of(new GPTConversationService.GPTMessage("user", "Ｐｉｚｚａ"))))
+                .isEqualTo(GptResponseCache.keyOf(List.of(new GPTConversationService.GPTMessage("user", "pizza?"))));
+
+        // 이전 메시지(프로필/대화)가 다르면 같은 질문이라도 다른 키
+        assertThat(GptResponseCache.keyOf(conversation(
+                new GPTConversationService.GPTMessage("system", "프로필: 채식"), "김치찌개 추천해줘!")))
+                .isNotEqualTo(key);
+        assertThat(GptResponseCache.keyOf(conversation(
+                new GPTConversationService.GPTMessage("user", SYSTEM.getContent()), "김치찌개 추천해줘!")))
+                .isNotEqualTo(key);
+        assertThat(key).matches("김치찌개추천해줘\\|[0-9a-f]{64}");
+    }
+
+    @Test
+    void cachesResponsesUntilTtlExpires() throws InterruptedException {
+        GptResponseCache cache = new GptResponseCache(10, 0);
+        AtomicInteger loads = new AtomicInteger();
+        List<GPTConversationService.GPTMessage> messages = conversation(SYSTEM, "점심 뭐 먹지");
+
+        assertThat(cache.get(messages, () -> load(loads, "비빔밥")).block()).isEqualTo("비빔밥");
+        Thread.sleep(5);
+        assertThat(cache.get(messages, () -> load(loads, "제육볶음")).block()).isEqualTo("제육볶음");
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedEntry() {
+        GptResponseCache cache = new GptResponseCache(2, 10);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(conversation(SYSTEM, "a"), () -> load(loads, "A")).block();
+        cache.get(conversation(SYSTEM, "b"), () -> load(loads, "B")).block();
+        // a를 다시 사용해 b가 가장 오래 사용하지 않은 항목이 됨
+        cache.get(conversation(SYSTEM, "a"), () -> load(loads, "A2")).block();
+        cache.get(conversation(SYSTEM, "c"), () -> load(loads, "C")).block();
+        assertThat(loads).hasValue(3);
+        assertThat(cache.size()).isEqualTo(2);
+
+        assertThat(cache.get(conversation(SYSTEM, "a"), () -> load(loads, "A3")).block()).isEqualTo("A");
+        assertThat(cache.get(conversation(SYSTEM, "b"), () -> load(loads, "B2")).block()).isEqualTo("B2");
+        assertThat(loads).hasValue(4);
+    }
+
+    @Test
+    void concurrentRequestsShareOneCall() {
+        GptResponseCache cache = new GptResponseCache(10, 10);
+        AtomicInteger loads = new AtomicInteger();
+        Sinks.One<String> gpt = Sinks.one();
+        List<GPTConversationService.GPTMessage> messages = conversation(SYSTEM, "저녁 추천");
+
+        AtomicReference<String> first = new AtomicReference<>();
+        AtomicReference<String> second = new AtomicReference<>();
+        cache.get(messages, () -> {
+            loads.incrementAndGet();
+            return gpt.asMono();
+        }).subscribe(first::set);
+        cache.get(messages, () -> load(loads, "다른 호출")).subscribe(second::set);
+
+        gpt.tryEmitValue("삼겹살");
+
+        assertThat(loads).hasValue(1);
+        assertThat(first).hasValue("삼겹살");
+        assertThat(second).hasValue("삼겹살");
+        assertThat(cache.getMisses()).isEqualTo(1);
+        assertThat(cache.getHitRatio()).isEqualTo(0.5);
+    }
+
+    @RepeatedTest(20)
+    void errorsAreSharedByWaitersButNotCached() {
+        GptResponseCache cache = new GptResponseCache(10, 10);
+        AtomicInteger loads = new AtomicInteger();
+        Sinks.One<String> gpt = Sinks.one();
+        List<GPTConversationService.GPTMessage> messages = conversation(SYSTEM, "야식 추천");
+
+        AtomicReference<Throwable> firstError = new AtomicReference<>();
+        AtomicReference<Throwable> secondError = new AtomicReference<>();
+        cache.get(messages, () -> {
+            loads.incrementAndGet();
+            return gpt.asMono();
+        }).subscribe(value -> { }, firstError::set);
+        cache.get(messages, () -> load(loads, "다른 호출")).subscribe(value -> { }, secondError::set);
+
+        gpt.tryEmitError(new IllegalStateException("GPT 오류"));
+        assertThat(firstError.get()).hasMessage("GPT 오류");
+        assertThat(secondError.get()).hasMessage("GPT 오류");
+
+        // 에러 직후 같은 키로 다시 요청하면 실패한 호출을 재사용하지 않고 새로 호출
+        assertThat(cache.get(messages, () -> load(loads, "치킨")).block()).isEqualTo("치킨");
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void retryInsideErrorHandlerStartsNewCall() {
+        GptResponseCache cache = new GptResponseCache(10, 10);
+        AtomicInteger loads = new AtomicInteger();
+        List<GPTConversationService.GPTMessage> messages = conversation(SYSTEM, "간식 추천");
+
+        String result = cache.get(messages, () -> {
+                    loads.incrementAndGet();
+                    return Mono.<String>error(new IllegalStateException("GPT 오류"));
+                })
+                .onErrorResume(e -> cache.get(messages, () -> load(loads, "떡볶이")))
+                .block();
+
+        assertThat(result).isEqualTo("떡볶이");
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void emptyResponseIsNotCached() {
+        GptResponseCache cache = new GptResponseCache(10, 10);
+        List<GPTConversationService.GPTMessage> messages = conversation(SYSTEM, "아무거나");
+
+        assertThat(cache.get(messages, Mono::empty).block()).isNull();
+
+        assertThat(cache.size()).isZero();
+    }
+
+    private static Mono<String> load(AtomicInteger loads, String response) {
+        return Mono.fromSupplier(() -> {
+            loads.incrementAndGet();
+            return response;
+        });
+    }
+
+    private static List<GPTConversationService.GPTMessage> conversation(GPTConversationService.GPTMessage system,
+                                                                       String current) {
+        return List.of(system, new GPTConversationService.GPTMessage("user", current));
+    }
+}
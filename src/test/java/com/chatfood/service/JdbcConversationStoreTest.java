@@ -0,0 +1,121 @@
+package com.chatfood.service;
+
+import com.chatfood.dto.ConversationContext;
+import com.chatfood.dto.ConversationHistory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 같은 H2 DB를 보는 저장소 두 개로 인스턴스 두 대를 흉내 냄
+ */
+class JdbcConversationStoreTest {
+
+    private static final String SESSION = "session-1";
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private StageMetrics stageMetrics;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        stageMetrics = new StageMetrics(new SimpleMeterRegistry(), new RequestTracer(List.of(), false));
+    }
+
+    @Test
+    void historyRoundTripsThroughDatabaseUnchanged() {
+        JdbcConversationStore writer = newStore();
+        ConversationContext context = writer.getOrCreate(SESSION, "user@example.com").block();
+        writer.appendTurn(context, "매운 거 먹고 싶어 🌶️", "김치찌개 어떠세요?\n두 번째 줄").block();
+        writer.appendTurn(context, "x".repeat(5_000), "").block();
+
+        ConversationContext loaded = newStore().getOrCreate(SESSION, "user@example.com").block();
+
+        ConversationHistory expected = context.getConversationHistory();
+        ConversationHistory actual = loaded.getConversationHistory();
+        assertThat(actual.size()).isEqualTo(4);
+        assertThat(actual.role(0)).isEqualTo(ConversationHistory.ROLE_USER);
+        assertThat(actual.role(1)).isEqualTo(ConversationHistory.ROLE_ASSISTANT);
+        // 역할/본문/시각이 모두 같으면 바이너리 직렬화 결과도 같음
+        assertThat(actual.toByteArray()).isEqualTo(expected.toByteArray());
+        assertThat(loaded.getUserId()).isEqualTo("user@example.com");
+    }
+
+    @Test
+    void staleNearCacheIsRefreshedInPlace() {
+        JdbcConversationStore first = newStore();
+        JdbcConversationStore second = newStore();
+        ConversationContext mine = first.getOrCreate(SESSION, null).block();
+        first.appendTurn(mine, "질문1", "답변1").block();
+
+        // 다른 인스턴스가 같은 세션에 턴을 추가
+        ConversationContext other = second.getOrCreate(SESSION, null).block();
+        assertThat(other.getConversationHistory().size()).isEqualTo(2);
+        second.appendTurn(other, "질문2", "답변2").block();
+
+        ConversationContext refreshed = first.getOrCreate(SESSION, null).block();
+
+        assertThat(refreshed).isSameAs(mine);
+        assertThat(texts(refreshed)).containsExactly("질문1", "답변1", "질문2", "답변2");
+    }
+
+    @Test
+    void versionConflictReappliesTurnOnLatestState() {
+        JdbcConversationStore first = newStore();
+        JdbcConversationStore second = newStore();
+        ConversationContext mine = first.getOrCreate(SESSION, null).block();
+        ConversationContext other = second.getOrCreate(SESSION, null).block();
+
+        second.appendTurn(other, "질문1", "답변1").block();
+        // first는 아직 버전 1을 보고 있음 - 조건부 UPDATE가 실패하고 다시 읽어 그 위에 추가
+        first.appendTurn(mine, "질문2", "답변2").block();
+
+        assertThat(texts(mine)).containsExactly("질문1", "답변1", "질문2", "답변2");
+        assertThat(texts(newStore().getOrCreate(SESSION, null).block()))
+                .containsExactly("질문1", "답변1", "질문2", "답변2");
+    }
+
+    @Test
+    void failedWriteIsSavedWithNextTurn() {
+        JdbcConversationStore store = newStore();
+        ConversationContext context = store.getOrCreate(SESSION, null).block();
+
+        jdbcTemplate.execute("ALTER TABLE chat_turn RENAME TO chat_turn_offline");
+        store.appendTurn(context, "질문1", "답변1").block();
+        jdbcTemplate.execute("ALTER TABLE chat_turn_offline RENAME TO chat_turn");
+
+        assertThat(texts(newStore().getOrCreate(SESSION, null).block())).isEmpty();
+
+        store.appendTurn(context, "질문2", "답변2").block();
+
+        assertThat(texts(newStore().getOrCreate(SESSION, null).block()))
+                .containsExactly("질문1", "답변1", "질문2", "답변2");
+    }
+
+    private JdbcConversationStore newStore() {
+        return new JdbcConversationStore(jdbcTemplate, transactionTemplate,
+                new ConcurrencyLimiter("database", 4, 100, 5_000), stageMetrics, 100, 30, 40);
+    }
+
+    private static List<String> texts(ConversationContext context) {
+        ConversationHistory history = context.getConversationHistory();
+        String[] texts = new String[history.size()];
+        for (int i = 0; i < history.size(); i++) {
+            texts[i] = history.text(i);
+        }
+        return List.of(texts);
+    }
+}
@@ -0,0 +1,164 @@
+package com.chatfood.service;
+
+import com.chatfood.dto.FlaskResponse;
+import com.chatfood.dto.Recommendation;
+import com.chatfood.dto.UserInfo;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class LocalRecommendationModelTest {
+
+    // foodchat/export_model_for_java.py로 내보낸 실제 모델 (없으면 골든 비교 테스트는 건너뜀)
+    private static final Path EXPORTED_MODEL_DIR = Paths.get("foodchat", "java_model");
+    private static final String GOLDEN_FILE = "food_model_golden.json";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void matchesKerasOutputsForExportedModel() throws IOException {
+        Path golden = EXPORTED_MODEL_DIR.resolve(GOLDEN_FILE);
+        assumeTrue(Files.isRegularFile(golden), "내보낸 모델의 골든 파일이 없습니다: " + golden.toAbsolutePath());
+
+        LocalRecommendationModel model = new LocalRecommendationModel(EXPORTED_MODEL_DIR.toString(), event -> { });
+        JsonNode expected = objectMapper.readTree(golden.toFile());
+        assertThat(model.isAvailable()).isTrue();
+        assertThat(model.getModelVersion()).isEqualTo(expected.get("model_version").asText());
+
+        for (JsonNode testCase : expected.get("cases")) {
+            UserInfo profile = objectMapper.treeToValue(testCase.get("profile"), UserInfo.class);
+            List<String> foods = new ArrayList<>();
+            testCase.get("foods").forEach(food -> foods.add(food.asText()));
+
+            assertThat(foodNames(model.recommend(profile)))
+                    .as("프로필 %s", testCase.get("profile"))
+                    .isEqualTo(foods);
+        }
+    }
+
+    @Test
+    void recommendsTopThreeExcludingNoChoice(@TempDir Path dir) throws IOException {
+        LocalRecommendationModel model = tinyModel(dir);
+
+        // h0 = 1 + 0.5 + 2 = 3.5, h1 = 0.5 → 선택안함 17.5, 김치찌개 10.5, 비빔밥 7, 초밥 4.05
+        FlaskResponse korean = model.recommend(profile("남성", "한식"));
+        assertThat(korean.getStatus()).isEqualTo("success");
+        assertThat(foodNames(korean)).containsExactly("김치찌개", "비빔밥", "초밥");
+        assertThat(korean.getRecommendations().get(0).getPriceMin()).isEqualTo(8000);
+        assertThat(korean.getRecommendations().get(0).getPriceMax()).isEqualTo(10000);
+        // 가격 정보가 없는 음식은 0원
+        assertThat(korean.getRecommendations().get(1).getPriceMax()).isZero();
+
+        // h0 = 0.5, h1 = 1 + 0.5 + 2 = 3.5 → 짜장면 10.5, 파스타 7, 초밥 4.05, 선택안함 2.5
+        UserInfo chinese = profile("여성", null);
+        chinese.setFavCategories(List.of("중식"));
+        assertThat(foodNames(model.recommend(chinese))).containsExactly("짜장면", "파스타", "초밥");
+    }
+
+    @Test
+    void unknownValuesAreIgnoredLikeFlask(@TempDir Path dir) throws IOException {
+        LocalRecommendationModel model = tinyModel(dir);
+        UserInfo known = profile("남성", "한식");
+        UserInfo withUnknown = profile("남성", "한식");
+        withUnknown.setRegion("부산");
+        withUnknown.setFavCategories(List.of("없는카테고리"));
+
+        assertThat(foodNames(model.recommend(withUnknown))).isEqualTo(foodNames(model.recommend(known)));
+    }
+
+    @Test
+    void batchInferenceMatchesSingleInference(@TempDir Path dir) throws IOException {
+        LocalRecommendationModel model = tinyModel(dir);
+        LocalRecommendationModel.Model snapshot = model.snapshot();
+        UserInfo[] profiles = {profile("남성", "한식"), profile("여성", null), profile(null, "한식")};
+        profiles[1].setFavCategories(List.of("중식", "양식"));
+        profiles[2].setRegion("서울");
+
+        float[] inputs = new float[profiles.length * snapshot.inputSize];
+        float[] row = new float[snapshot.inputSize];
+        for (int r = 0; r < profiles.length; r++) {
+            LocalRecommendationModel.encode(snapshot, profiles[r], row);
+            System.arraycopy(row, 0, inputs, r * snapshot.inputSize, snapshot.inputSize);
+        }
+        int[] packed = model.recommendBatch(snapshot, inputs, profiles.length);
+
+        for (int r = 0; r < profiles.length; r++) {
+            assertThat(foodNames(LocalRecommendationModel.toResponse(snapshot, packed[r])))
+                    .isEqualTo(foodNames(model.recommend(profiles[r])));
+        }
+    }
+
+    /**
+     * 손으로 계산할 수 있는 작은 모델 (7 → relu 2 → softmax 6)
+     * h0은 한식 신호, h1은 중식/양식 신호이고 지역_서울은 둘 다 낮춤
+     */
+    private LocalRecommendationModel tinyModel(Path dir) throws IOException {
+        String[] columns = {"성별_남성", "성별_여성", "나이대_20대", "지역_서울", "선호카테고리_한식", "중식", "양식"};
+        float[][] hidden = {{1, 0}, {0, 1}, {0.5f, 0.5f}, {-2, -2}, {2, 0}, {0, 2}, {0, 1}};
+        //                    김치찌개 짜장면 선택안함 파스타 비빔밥 초밥
+        float[][] output = {{3, 0, 5, 0, 2, 1}, {0, 3, 0, 2, 0, 1}};
+        float[] outputBias = {0, 0, 0, 0, 0, 0.05f};
+
+        try (OutputStream stream = Files.newOutputStream(dir.resolve(LocalRecommendationModel.WEIGHTS_FILE));
+             DataOutputStream out = new DataOutputStream(stream)) {
+            out.writeInt(0x43464D31);
+            out.writeInt(2);
+            writeLayer(out, hidden, new float[2], 1);
+            writeLayer(out, output, outputBias, 2);
+        }
+        String meta = "{\"model_version\":\"tiny\","
+                + "\"columns\":" + objectMapper.writeValueAsString(columns) + ","
+                + "\"labels\":[\"김치찌개\",\"짜장면\",\"선택안함\",\"파스타\",\"비빔밥\",\"초밥\"],"
+                + "\"price_map\":{\"김치찌개\":[8000,10000],\"짜장면\":[7000,9000]}}";
+        Files.writeString(dir.resolve(LocalRecommendationModel.META_FILE), meta, StandardCharsets.UTF_8);
+
+        LocalRecommendationModel model = new LocalRecommendationModel(dir.toString(), event -> { });
+        assertThat(model.getModelVersion()).isEqualTo("tiny");
+        return model;
+    }
+
+    private static void writeLayer(DataOutputStream out, float[][] weights, float[] bias, int activation)
+            throws IOException {
+        out.writeInt(weights.length);
+        out.writeInt(bias.length);
+        out.writeByte(activation);
+        for (float[] row : weights) {
+            for (float weight : row) {
+                out.writeFloat(weight);
+            }
+        }
+        for (float value : bias) {
+            out.writeFloat(value);
+        }
+    }
+
+    private static UserInfo profile(String gender, String prefCategory) {
+        UserInfo userInfo = new UserInfo();
+        userInfo.setGender(gender);
+        userInfo.setAgeGroup("20대");
+        userInfo.setPrefCategory(prefCategory);
+        return userInfo;
+    }
+
+    private static List<String> foodNames(FlaskResponse response) {
+        List<String> names = new ArrayList<>();
+        for (Recommendation recommendation : response.getRecommendations()) {
+            names.add(recommendation.getFoodName());
+        }
+        return names;
+    }
+}
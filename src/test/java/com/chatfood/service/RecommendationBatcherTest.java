@@ -0,0 +1,123 @@
+package com.chatfood.service;
+
+import com.chatfood.dto.FlaskResponse;
+import com.chatfood.dto.UserInfo;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RecommendationBatcherTest {
+
+    private final List<List<UserInfo>> sentBatches = new CopyOnWriteArrayList<>();
+
+    @Test
+    void flushesAsSoonAsBatchIsFull() {
+        RecommendationBatcher batcher = new RecommendationBatcher(this::echoRegions, 3, 60_000);
+        List<AtomicReference<FlaskResponse>> results = new ArrayList<>();
+
+        for (String region : List.of("서울", "부산")) {
+            AtomicReference<FlaskResponse> result = new AtomicReference<>();
+            batcher.submit(profile(region)).subscribe(result::set);
+            results.add(result);
+        }
+        assertThat(sentBatches).isEmpty();
+
+        AtomicReference<FlaskResponse> last = new AtomicReference<>();
+        batcher.submit(profile("대구")).subscribe(last::set);
+        results.add(last);
+
+        assertThat(sentBatches).hasSize(1);
+        assertThat(sentBatches.get(0)).extracting(UserInfo::getRegion).containsExactly("서울", "부산", "대구");
+        // 호출자마다 자기 프로필 순서의 결과를 받음
+        assertThat(results).extracting(result -> result.get().getStatus()).containsExactly("서울", "부산", "대구");
+        assertThat(batcher.getBatches()).isEqualTo(1);
+        assertThat(batcher.getBatchedProfiles()).isEqualTo(3);
+    }
+
+    @Test
+    void flushesPartialBatchAfterMaxDelay() {
+        RecommendationBatcher batcher = new RecommendationBatcher(this::echoRegions, 10, 50);
+
+        Mono<FlaskResponse> first = batcher.submit(profile("서울")).cache();
+        first.subscribe();
+        FlaskResponse second = batcher.submit(profile("부산")).block(Duration.ofSeconds(5));
+
+        assertThat(second.getStatus()).isEqualTo("부산");
+        assertThat(first.block(Duration.ofSeconds(5)).getStatus()).isEqualTo("서울");
+        assertThat(sentBatches).hasSize(1);
+        assertThat(sentBatches.get(0)).hasSize(2);
+    }
+
+    @Test
+    void sameProfileInOneBatchIsSentOnce() {
+        RecommendationBatcher batcher = new RecommendationBatcher(this::echoRegions, 2, 60_000);
+        AtomicReference<FlaskResponse> first = new AtomicReference<>();
+        AtomicReference<FlaskResponse> duplicate = new AtomicReference<>();
+
+        batcher.submit(profile("서울")).subscribe(first::set);
+        batcher.submit(profile("서울")).subscribe(duplicate::set);
+        batcher.submit(profile("부산")).subscribe();
+
+        assertThat(sentBatches).hasSize(1);
+        assertThat(sentBatches.get(0)).extracting(UserInfo::getRegion).containsExactly("서울", "부산");
+        assertThat(duplicate.get()).isSameAs(first.get());
+        assertThat(batcher.getDeduplicated()).isEqualTo(1);
+    }
+
+    @Test
+    void batchErrorIsDeliveredToEveryWaiter() {
+        RecommendationBatcher batcher = new RecommendationBatcher(
+                profiles -> Mono.error(new IllegalStateException("Flask 오류")), 3, 60_000);
+        List<AtomicReference<Throwable>> errors = new ArrayList<>();
+
+        for (String region : List.of("서울", "부산", "대구")) {
+            AtomicReference<Throwable> error = new AtomicReference<>();
+            batcher.submit(profile(region)).subscribe(value -> { }, error::set);
+            errors.add(error);
+        }
+
+        assertThat(errors).allSatisfy(error -> assertThat(error.get()).hasMessage("Flask 오류"));
+    }
+
+    @Test
+    void missingResultsFailOnlyTheirOwnWaiters() {
+        RecommendationBatcher batcher = new RecommendationBatcher(
+                profiles -> echoRegions(profiles).map(results -> results.subList(0, 1)), 2, 60_000);
+        AtomicReference<FlaskResponse> first = new AtomicReference<>();
+
+        batcher.submit(profile("서울")).subscribe(first::set);
+        Mono<FlaskResponse> second = batcher.submit(profile("부산"));
+
+        assertThatThrownBy(second::block).isInstanceOf(IllegalStateException.class);
+        assertThat(first.get().getStatus()).isEqualTo("서울");
+    }
+
+    // 지역을 status에 담아 요청 순서대로 돌려주는 가짜 Flask 배치 API
+    private Mono<List<FlaskResponse>> echoRegions(List<UserInfo> profiles) {
+        sentBatches.add(profiles);
+        List<FlaskResponse> results = new ArrayList<>();
+        for (UserInfo profile : profiles) {
+            FlaskResponse response = new FlaskResponse();
+            response.setStatus(profile.getRegion());
+            results.add(response);
+        }
+        return Mono.just(results);
+    }
+
+    private static UserInfo profile(String region) {
+        UserInfo userInfo = new UserInfo();
+        userInfo.setGender("F");
+        userInfo.setAgeGroup("20대");
+        userInfo.setRegion(region);
+        userInfo.setPrefCategory("한식");
+        return userInfo;
+    }
+}
@@ -0,0 +1,36 @@
+package com.chatfood.service;
+
+import com.chatfood.dto.FlaskResponse;
+import com.chatfood.dto.UserInfo;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecommendationCacheTest {
+
+    @Test
+    void failedLoadIsNotReusedByImmediateRetry() {
+        RecommendationCache cache = new RecommendationCache(100, 30, 360);
+        UserInfo profile = new UserInfo();
+        profile.setRegion("서울");
+        AtomicInteger loads = new AtomicInteger();
+
+        FlaskResponse response = cache.get(profile, info -> {
+                    loads.incrementAndGet();
+                    return Mono.<FlaskResponse>error(new IllegalStateException("Flask 오류"));
+                })
+                .onErrorResume(e -> cache.get(profile, info -> {
+                    loads.incrementAndGet();
+                    FlaskResponse ok = new FlaskResponse();
+                    ok.setStatus("success");
+                    return Mono.just(ok);
+                }))
+                .block();
+
+        assertThat(response.getStatus()).isEqualTo("success");
+        assertThat(loads).hasValue(2);
+    }
+}
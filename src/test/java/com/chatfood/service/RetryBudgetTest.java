@@ -0,0 +1,47 @@
+package com.chatfood.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RetryBudgetTest {
+
+    @Test
+    void retriesAreLimitedToEarnedTokens() {
+        RetryBudget budget = new RetryBudget("test", 0.5, 2, 0);
+
+        // 처음에는 최대 적립량만큼 가득 차 있음
+        assertThat(budget.tryRetry()).isTrue();
+        assertThat(budget.tryRetry()).isTrue();
+        assertThat(budget.tryRetry()).isFalse();
+
+        // 호출 2건마다 재시도 1회
+        budget.onRequest();
+        assertThat(budget.tryRetry()).isFalse();
+        budget.onRequest();
+        assertThat(budget.tryRetry()).isTrue();
+        assertThat(budget.tryRetry()).isFalse();
+    }
+
+    @Test
+    void tokensAreCappedAtMaximum() {
+        RetryBudget budget = new RetryBudget("test", 0.5, 2, 0);
+        for (int i = 0; i < 100; i++) {
+            budget.onRequest();
+        }
+
+        assertThat(budget.tryRetry()).isTrue();
+        assertThat(budget.tryRetry()).isTrue();
+        assertThat(budget.tryRetry()).isFalse();
+    }
+
+    @Test
+    void minimumRetryRateRefillsWithoutRequests() throws InterruptedException {
+        RetryBudget budget = new RetryBudget("test", 0, 1, 100);
+        assertThat(budget.tryRetry()).isTrue();
+
+        Thread.sleep(50);
+
+        assertThat(budget.tryRetry()).isTrue();
+    }
+}
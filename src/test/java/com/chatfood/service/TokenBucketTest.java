@@ -0,0 +1,50 @@
+package com.chatfood.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void allowsBurstThenReportsWaitUntilNextToken() {
+        TokenBucket bucket = new TokenBucket(1, 3, 0);
+
+        assertThat(bucket.tryAcquire(0, 0)).isZero();
+        assertThat(bucket.tryAcquire(0, 0)).isZero();
+        assertThat(bucket.tryAcquire(0, 0)).isZero();
+        assertThat(bucket.tryAcquire(0, 0)).isEqualTo(SECOND);
+
+        assertThat(bucket.tryAcquire(SECOND, 0)).isZero();
+        assertThat(bucket.fillRatio(SECOND)).isZero();
+    }
+
+    @Test
+    void reserveIsLeftForRequestsThatDoNotAskForIt() {
+        TokenBucket bucket = new TokenBucket(10, 10, 0);
+
+        int admittedWithReserve = 0;
+        for (int i = 0; i < 10; i++) {
+            if (bucket.tryAcquire(0, 2) == 0) {
+                admittedWithReserve++;
+            }
+        }
+
+        assertThat(admittedWithReserve).isEqualTo(8);
+        assertThat(bucket.tryAcquire(0, 0)).isZero();
+        assertThat(bucket.tryAcquire(0, 0)).isZero();
+        assertThat(bucket.tryAcquire(0, 0)).isPositive();
+    }
+
+    @Test
+    void refundReturnsToken() {
+        TokenBucket bucket = new TokenBucket(1, 1, 0);
+
+        assertThat(bucket.tryAcquire(0, 0)).isZero();
+        bucket.refund();
+
+        assertThat(bucket.tryAcquire(0, 0)).isZero();
+    }
+}
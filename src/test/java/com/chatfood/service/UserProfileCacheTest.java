@@ -0,0 +1,93 @@
+package com.chatfood.service;
+
+import com.chatfood.dto.UserProfile;
+import com.chatfood.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UserProfileCacheTest {
+
+    private static final String EMAIL = "user@example.com";
+
+    @Test
+    void finishingStaleQueryDoesNotDropNewerInFlightQuery() throws Exception {
+        UserRepository repository = mock(UserRepository.class);
+        // 조회마다 자기 결과를 기다리는 future를 등록 - 어느 스레드가 먼저 도착하든 future는 그 조회에 묶임
+        BlockingQueue<CompletableFuture<Optional<UserProfile>>> started = new LinkedBlockingQueue<>();
+        AtomicInteger queries = new AtomicInteger();
+        when(repository.findProfileByEmail(EMAIL)).thenAnswer(invocation -> {
+            queries.incrementAndGet();
+            CompletableFuture<Optional<UserProfile>> result = new CompletableFuture<>();
+            started.add(result);
+            return result.get(5, TimeUnit.SECONDS);
+        });
+        UserProfileCache cache = newCache(repository);
+
+        Mono<UserProfile> first = cache.get(EMAIL).cache();
+        first.subscribe();
+        CompletableFuture<Optional<UserProfile>> firstQuery = nextQuery(started);
+        // 조회 도중 프로필이 바뀌면 진행 중인 조회를 버리고 다음 요청은 새로 조회
+        cache.invalidate(EMAIL);
+        Mono<UserProfile> second = cache.get(EMAIL).cache();
+        second.subscribe();
+        CompletableFuture<Optional<UserProfile>> secondQuery = nextQuery(started);
+
+        firstQuery.complete(Optional.empty());
+        first.block(Duration.ofSeconds(5));
+
+        // 먼저 끝난 예전 조회가 새 조회를 지우지 않았으므로 같은 조회에 합쳐짐
+        Mono<UserProfile> third = cache.get(EMAIL).cache();
+        third.subscribe();
+        secondQuery.complete(Optional.empty());
+        second.block(Duration.ofSeconds(5));
+        third.block(Duration.ofSeconds(5));
+
+        assertThat(queries).hasValue(2);
+        assertThat(started).isEmpty();
+    }
+
+    @Test
+    void failedQueryIsNotReusedByImmediateRetry() {
+        UserRepository repository = mock(UserRepository.class);
+        AtomicInteger queries = new AtomicInteger();
+        when(repository.findProfileByEmail(EMAIL)).thenAnswer(invocation -> {
+            if (queries.incrementAndGet() == 1) {
+                throw new IllegalStateException("DB 오류");
+            }
+            return Optional.empty();
+        });
+        UserProfileCache cache = newCache(repository);
+
+        cache.get(EMAIL)
+                .onErrorResume(e -> cache.get(EMAIL))
+                .block(Duration.ofSeconds(5));
+
+        assertThat(queries).hasValue(2);
+    }
+
+    private static CompletableFuture<Optional<UserProfile>> nextQuery(
+            BlockingQueue<CompletableFuture<Optional<UserProfile>>> started) throws InterruptedException {
+        CompletableFuture<Optional<UserProfile>> query = started.poll(5, TimeUnit.SECONDS);
+        assertThat(query).as("DB 조회가 시작되지 않았습니다").isNotNull();
+        return query;
+    }
+
+    private static UserProfileCache newCache(UserRepository repository) {
+        StageMetrics stageMetrics = new StageMetrics(new SimpleMeterRegistry(), new RequestTracer(List.of(), false));
+        return new UserProfileCache(repository, stageMetrics, new ConcurrencyLimiter("database", 4, 10, 5_000), 100, 30);
+    }
+}
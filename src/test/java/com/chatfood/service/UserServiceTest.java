@@ -0,0 +1,49 @@
+package com.chatfood.service;
+
+import com.chatfood.entity.User;
+import com.chatfood.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserServiceTest {
+
+    private static final String EMAIL = "user@example.com";
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final UserProfileCache userProfileCache = mock(UserProfileCache.class);
+    private final UserService userService = new UserService(userRepository, userProfileCache);
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void profileCacheIsInvalidatedOnlyAfterCommit() {
+        User user = new User();
+        user.setEmail(EMAIL);
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.empty());
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        TransactionSynchronizationManager.initSynchronization();
+
+        userService.registerUser(user);
+
+        // 커밋 전에는 무효화하지 않음 (다른 요청이 이전 상태를 다시 캐시할 수 있으므로)
+        verify(userProfileCache, never()).invalidate(EMAIL);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(userProfileCache).invalidate(EMAIL);
+    }
+}